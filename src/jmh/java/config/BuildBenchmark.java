@@ -0,0 +1,43 @@
+package config;
+
+import exception.IllegalAnnotationException;
+import iface.IConsole;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the time it takes a {@link Builder} to process the {@link SyntheticControllers} of each size, in each
+ * {@link BindingMode}.<br>
+ * The controllers are instantiated outside of the measurement, and passed to {@link Builder#build(java.util.Set)},
+ * so that neither scanning the class path nor instantiating the controllers is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BuildBenchmark {
+
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    private SyntheticControllers.Size size;
+
+    @Param({"REGEX", "STRUCTURAL"})
+    private BindingMode bindingMode;
+
+    private final IConsole console = new IConsole() {
+        @Override
+        public void println(String text) { }
+
+        @Override
+        public void printerr(String text) { }
+
+        @Override
+        public String read() {
+            return null;
+        }
+    };
+
+    @Benchmark
+    public Builder build() throws IllegalAnnotationException {
+        return new Builder(console).bindingMode(bindingMode).build(size.controllers());
+    }
+}
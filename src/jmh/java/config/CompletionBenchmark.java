@@ -0,0 +1,63 @@
+package config;
+
+import exception.IllegalAnnotationException;
+import iface.IConsole;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the latency of completing a partially typed line through the {@link CompletionIndex} of a configuration
+ * built from the {@link SyntheticControllers} of each size.<br>
+ * The <code>command</code> benchmark completes a partial command keyword, which most commands of the controller
+ * start with, whereas the <code>argument</code> benchmark completes the next argument keyword of a command whose
+ * first argument has been typed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CompletionBenchmark {
+
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    private SyntheticControllers.Size size;
+
+    private CompletionIndex completions;
+
+    private String partialCommand;
+
+    private String partialArgument;
+
+    @Setup
+    public void setup() throws IllegalAnnotationException {
+        IConsole console = new IConsole() {
+            @Override
+            public void println(String text) { }
+
+            @Override
+            public void printerr(String text) { }
+
+            @Override
+            public String read() {
+                return null;
+            }
+        };
+        completions = new Builder(console)
+                .build(size.controllers())
+                .configuration()
+                .completions();
+        String[] tokens = size.input().split(" ");
+        partialCommand = tokens[0] + " cmd";
+        partialArgument = tokens[0] + " " + tokens[1] + " " + tokens[2] + " " + tokens[3] + " ";
+    }
+
+    @Benchmark
+    public List<String> command() {
+        return completions.complete(partialCommand);
+    }
+
+    @Benchmark
+    public List<String> argument() {
+        return completions.complete(partialArgument);
+    }
+}
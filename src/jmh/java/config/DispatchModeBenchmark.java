@@ -0,0 +1,50 @@
+package config;
+
+import iface.IReflection;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the {@link DispatchMode#REGEX} and {@link DispatchMode#TRIE} dispatch modes of a
+ * {@link ReflectionMap} populated with synthetic commands spread over one hundred controllers.<br>
+ * The input matches the most recently registered command.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DispatchModeBenchmark {
+
+    @Param({"100", "1000", "10000", "50000"})
+    private int commands;
+
+    @Param({"REGEX", "TRIE"})
+    private DispatchMode dispatchMode;
+
+    private ReflectionMap map;
+
+    private String input;
+
+    @Setup
+    public void setup() {
+        IReflection reflection = in -> { };
+        map = new ReflectionMap();
+        map.dispatchMode(dispatchMode);
+
+        map.beginBatch();
+        for (int i = 0; i < commands; i++) {
+            String controller = "controller" + (i % 100);
+            String command = "command" + i;
+            map.put("^" + controller + "\\s" + command + "((\\sarg\\s\\S*))$",
+                    new String[]{controller, command}, reflection);
+        }
+        map.endBatch();
+        int last = commands - 1;
+        input = "controller" + (last % 100) + " command" + last + " arg value";
+    }
+
+    @Benchmark
+    public IReflection match() {
+        return map.match(input);
+    }
+}
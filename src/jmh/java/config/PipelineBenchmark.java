@@ -0,0 +1,86 @@
+package config;
+
+import exception.IllegalAnnotationException;
+import iface.IConsole;
+import iface.IReflection;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the latency of dispatching a single line of input through a configuration built from the
+ * {@link SyntheticControllers} of each size, in every combination of {@link DispatchMode} and {@link BindingMode}.
+ * <br>
+ * The <code>match</code> benchmark only resolves the input through {@link ReflectionMap#match(String)}, whereas the
+ * <code>dispatch</code> benchmark also invokes the resolved value, which tokenizes the input, converts each
+ * argument, and invokes the annotated method, as a line read by the console would be.
+ * The <code>unrecognized</code> benchmark resolves an input which matches none of the commands.<br>
+ * Run with <code>-prof gc</code>, which the <code>jmh</code> task does by default, to report the allocation rate
+ * of each.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PipelineBenchmark {
+
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    private SyntheticControllers.Size size;
+
+    @Param({"REGEX", "TRIE"})
+    private DispatchMode dispatchMode;
+
+    @Param({"REGEX", "STRUCTURAL"})
+    private BindingMode bindingMode;
+
+    private ReflectionMap map;
+
+    private String input;
+
+    private String unrecognizedInput;
+
+    @Setup
+    public void setup() throws IllegalAnnotationException {
+        IConsole console = new IConsole() {
+            @Override
+            public void println(String text) { }
+
+            @Override
+            public void printerr(String text) { }
+
+            @Override
+            public String read() {
+                return null;
+            }
+        };
+        map = new Builder(console)
+                .dispatchMode(dispatchMode)
+                .bindingMode(bindingMode)
+                .build(size.controllers())
+                .configuration()
+                .map();
+        // the regular expression derived by the REGEX binding mode does not accept every order of more than
+        // two arguments, so the first accepted order is used.
+        input = size.inputs().stream()
+                .filter(in -> map.match(in) != null && !map.isPartialMatch(map.match(in)))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException(
+                        "no input matches the last command of the " + size + " controllers."
+                ));
+        unrecognizedInput = "unknown " + input;
+    }
+
+    @Benchmark
+    public IReflection match() {
+        return map.match(input);
+    }
+
+    @Benchmark
+    public void dispatch() {
+        map.match(input).invoke(input);
+    }
+
+    @Benchmark
+    public IReflection unrecognized() {
+        return map.match(unrecognizedInput);
+    }
+}
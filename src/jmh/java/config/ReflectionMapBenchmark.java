@@ -0,0 +1,59 @@
+package config;
+
+import iface.IReflection;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Measures the cost of dispatching a single line of input through {@link ReflectionMap#match(String)}
+ * against the number of registered commands.<br>
+ * The input always matches the most recently registered command, which is the worst case for a linear scan.
+ * The <code>compilePerCall</code> benchmark reproduces the previous implementation, which compiled every
+ * key on every call, and serves as a baseline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ReflectionMapBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int commands;
+
+    private ReflectionMap map;
+
+    private List<String> keys;
+
+    private String input;
+
+    @Setup
+    public void setup() {
+        IReflection reflection = in -> { };
+        map = new ReflectionMap();
+        keys = new ArrayList<>(commands);
+
+        map.beginBatch();
+        for (int i = 0; i < commands; i++) {
+            String key = "^bench\\scommand" + i + "((\\sarg\\s\\S*))$";
+            map.put(key, reflection);
+            keys.add(key);
+        }
+        map.endBatch();
+        input = "bench command" + (commands - 1) + " arg value";
+    }
+
+    @Benchmark
+    public IReflection precompiled() {
+        return map.match(input);
+    }
+
+    @Benchmark
+    public String compilePerCall() {
+        return keys.stream()
+                .filter(key -> Pattern.compile(key).matcher(input).matches())
+                .findFirst().orElse(null);
+    }
+}
@@ -0,0 +1,73 @@
+package config;
+
+import org.openjdk.jmh.annotations.*;
+import util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the latency of suggesting the commands nearest to a mistyped input through a {@link SuggestionIndex} of
+ * the specified number of randomly named commands, spread over fifty controllers, against the latency of comparing
+ * the input against every command.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SuggestionBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int commands;
+
+    private SuggestionIndex suggestions;
+
+    private List<String> paths;
+
+    private String input;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42L);
+        suggestions = new SuggestionIndex();
+        paths = new ArrayList<>(commands);
+
+        for (int i = 0; i < commands; i++) {
+            String[] path = {"controller" + (i % 50), word(random)};
+            suggestions.add(path);
+            paths.add(String.join(" ", path));
+        }
+        String path = paths.get(commands / 2);
+        input = path.substring(0, path.length() - 1) + " a 1";
+    }
+
+    @Benchmark
+    public List<String> suggest() {
+        return suggestions.suggest(input);
+    }
+
+    @Benchmark
+    public String bruteForce() {
+        String nearest = null;
+        int min = Integer.MAX_VALUE;
+        String[] tokens = input.split(" ");
+        String query = tokens[0] + " " + tokens[1];
+        for (String path : paths) {
+            int distance = StringUtils.editDistance(query, path);
+            if (distance < min) {
+                min = distance;
+                nearest = path;
+            }
+        }
+        return nearest;
+    }
+
+    private static String word(Random random) {
+        char[] chars = new char[4 + random.nextInt(6)];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = (char) ('a' + random.nextInt(26));
+        }
+        return new String(chars);
+    }
+}
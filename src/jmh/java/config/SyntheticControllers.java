@@ -0,0 +1,331 @@
+package config;
+
+import annotation.Arg;
+import annotation.Command;
+import annotation.Controller;
+
+import java.util.*;
+
+/**
+ * Declares synthetic {@link Controller} annotated classes of increasing size for the benchmarks of the
+ * dispatch pipeline.<br>
+ * The {@link Small} controller declares five commands with a single argument,
+ * the {@link Medium} controller declares twenty commands with three arguments, one of which is optional, and
+ * the {@link Large} controller declares twenty commands with five arguments, two of which are optional.
+ */
+public final class SyntheticControllers {
+
+    /**
+     * The sizes of the synthetic configurations, each of which includes the controllers of the smaller sizes.
+     */
+    public enum Size {
+
+        SMALL("small cmd4", "a 4"),
+
+        MEDIUM("medium cmd19", "a 19", "b text", "c true"),
+
+        LARGE("large cmd19", "a 19", "b 1234567890", "c 0.5", "d text", "e 7");
+
+        private final String command;
+
+        private final String[] args;
+
+        Size(String command, String... args) {
+            this.command = command;
+            this.args = args;
+        }
+
+        /**
+         * Returns new instances of the controllers of this size.
+         * @return the controllers.
+         */
+        public Set<Object> controllers() {
+            Set<Object> controllers = new HashSet<>();
+            controllers.add(new Small());
+            if (this != SMALL) {
+                controllers.add(new Medium());
+            }
+            if (this == LARGE) {
+                controllers.add(new Large());
+            }
+            return controllers;
+        }
+
+        /**
+         * Returns an input which matches the last command of the largest controller of this size,
+         * and specifies every one of its arguments in the order in which they are declared.
+         * @return the input.
+         */
+        public String input() {
+            return command + " " + String.join(" ", args);
+        }
+
+        /**
+         * Returns the inputs which specify every argument of the last command of the largest controller of
+         * this size, in every order, starting with the order in which they are declared.
+         * @return the inputs.
+         */
+        public List<String> inputs() {
+            List<String> inputs = new ArrayList<>();
+            permute(new ArrayList<>(Arrays.asList(args)), 0, inputs);
+            return inputs;
+        }
+
+        private void permute(List<String> args, int from, List<String> inputs) {
+            if (from == args.size()) {
+                inputs.add(command + " " + String.join(" ", args));
+                return;
+            }
+            for (int i = from; i < args.size(); i++) {
+                Collections.swap(args, from, i);
+                permute(args, from + 1, inputs);
+                Collections.swap(args, from, i);
+            }
+        }
+    }
+
+    private SyntheticControllers() { }
+
+    @Controller(keyword = "small")
+    public static class Small {
+
+        private long sink;
+
+        @Command(keyword = "cmd0")
+        public void cmd0(int a) {
+            sink += a;
+        }
+
+        @Command(keyword = "cmd1")
+        public void cmd1(int a) {
+            sink += a;
+        }
+
+        @Command(keyword = "cmd2")
+        public void cmd2(int a) {
+            sink += a;
+        }
+
+        @Command(keyword = "cmd3")
+        public void cmd3(int a) {
+            sink += a;
+        }
+
+        @Command(keyword = "cmd4")
+        public void cmd4(int a) {
+            sink += a;
+        }
+    }
+
+    @Controller(keyword = "medium")
+    public static class Medium {
+
+        private long sink;
+
+        @Command(keyword = "cmd0")
+        public void cmd0(int a, String b, @Arg(optional = true) boolean c) {
+            sink += a + b.length() + (c ? 1 : 0);
+        }
+
+        @Command(keyword = "cmd1")
+        public void cmd1(int a, String b, @Arg(optional = true) boolean c) {
+            sink += a + b.length() + (c ? 1 : 0);
+        }
+
+        @Command(keyword = "cmd2")
+        public void cmd2(int a, String b, @Arg(optional = true) boolean c) {
+            sink += a + b.length() + (c ? 1 : 0);
+        }
+
+        @Command(keyword = "cmd3")
+        public void cmd3(int a, String b, @Arg(optional = true) boolean c) {
+            sink += a + b.length() + (c ? 1 : 0);
+        }
+
+        @Command(keyword = "cmd4")
+        public void cmd4(int a, String b, @Arg(optional = true) boolean c) {
+            sink += a + b.length() + (c ? 1 : 0);
+        }
+
+        @Command(keyword = "cmd5")
+        public void cmd5(int a, String b, @Arg(optional = true) boolean c) {
+            sink += a + b.length() + (c ? 1 : 0);
+        }
+
+        @Command(keyword = "cmd6")
+        public void cmd6(int a, String b, @Arg(optional = true) boolean c) {
+            sink += a + b.length() + (c ? 1 : 0);
+        }
+
+        @Command(keyword = "cmd7")
+        public void cmd7(int a, String b, @Arg(optional = true) boolean c) {
+            sink += a + b.length() + (c ? 1 : 0);
+        }
+
+        @Command(keyword = "cmd8")
+        public void cmd8(int a, String b, @Arg(optional = true) boolean c) {
+            sink += a + b.length() + (c ? 1 : 0);
+        }
+
+        @Command(keyword = "cmd9")
+        public void cmd9(int a, String b, @Arg(optional = true) boolean c) {
+            sink += a + b.length() + (c ? 1 : 0);
+        }
+
+        @Command(keyword = "cmd10")
+        public void cmd10(int a, String b, @Arg(optional = true) boolean c) {
+            sink += a + b.length() + (c ? 1 : 0);
+        }
+
+        @Command(keyword = "cmd11")
+        public void cmd11(int a, String b, @Arg(optional = true) boolean c) {
+            sink += a + b.length() + (c ? 1 : 0);
+        }
+
+        @Command(keyword = "cmd12")
+        public void cmd12(int a, String b, @Arg(optional = true) boolean c) {
+            sink += a + b.length() + (c ? 1 : 0);
+        }
+
+        @Command(keyword = "cmd13")
+        public void cmd13(int a, String b, @Arg(optional = true) boolean c) {
+            sink += a + b.length() + (c ? 1 : 0);
+        }
+
+        @Command(keyword = "cmd14")
+        public void cmd14(int a, String b, @Arg(optional = true) boolean c) {
+            sink += a + b.length() + (c ? 1 : 0);
+        }
+
+        @Command(keyword = "cmd15")
+        public void cmd15(int a, String b, @Arg(optional = true) boolean c) {
+            sink += a + b.length() + (c ? 1 : 0);
+        }
+
+        @Command(keyword = "cmd16")
+        public void cmd16(int a, String b, @Arg(optional = true) boolean c) {
+            sink += a + b.length() + (c ? 1 : 0);
+        }
+
+        @Command(keyword = "cmd17")
+        public void cmd17(int a, String b, @Arg(optional = true) boolean c) {
+            sink += a + b.length() + (c ? 1 : 0);
+        }
+
+        @Command(keyword = "cmd18")
+        public void cmd18(int a, String b, @Arg(optional = true) boolean c) {
+            sink += a + b.length() + (c ? 1 : 0);
+        }
+
+        @Command(keyword = "cmd19")
+        public void cmd19(int a, String b, @Arg(optional = true) boolean c) {
+            sink += a + b.length() + (c ? 1 : 0);
+        }
+    }
+
+    @Controller(keyword = "large")
+    public static class Large {
+
+        private long sink;
+
+        @Command(keyword = "cmd0")
+        public void cmd0(int a, long b, double c, @Arg(optional = true) String d, @Arg(optional = true) int e) {
+            sink += a + b + (long) c + (d == null ? 0 : d.length()) + e;
+        }
+
+        @Command(keyword = "cmd1")
+        public void cmd1(int a, long b, double c, @Arg(optional = true) String d, @Arg(optional = true) int e) {
+            sink += a + b + (long) c + (d == null ? 0 : d.length()) + e;
+        }
+
+        @Command(keyword = "cmd2")
+        public void cmd2(int a, long b, double c, @Arg(optional = true) String d, @Arg(optional = true) int e) {
+            sink += a + b + (long) c + (d == null ? 0 : d.length()) + e;
+        }
+
+        @Command(keyword = "cmd3")
+        public void cmd3(int a, long b, double c, @Arg(optional = true) String d, @Arg(optional = true) int e) {
+            sink += a + b + (long) c + (d == null ? 0 : d.length()) + e;
+        }
+
+        @Command(keyword = "cmd4")
+        public void cmd4(int a, long b, double c, @Arg(optional = true) String d, @Arg(optional = true) int e) {
+            sink += a + b + (long) c + (d == null ? 0 : d.length()) + e;
+        }
+
+        @Command(keyword = "cmd5")
+        public void cmd5(int a, long b, double c, @Arg(optional = true) String d, @Arg(optional = true) int e) {
+            sink += a + b + (long) c + (d == null ? 0 : d.length()) + e;
+        }
+
+        @Command(keyword = "cmd6")
+        public void cmd6(int a, long b, double c, @Arg(optional = true) String d, @Arg(optional = true) int e) {
+            sink += a + b + (long) c + (d == null ? 0 : d.length()) + e;
+        }
+
+        @Command(keyword = "cmd7")
+        public void cmd7(int a, long b, double c, @Arg(optional = true) String d, @Arg(optional = true) int e) {
+            sink += a + b + (long) c + (d == null ? 0 : d.length()) + e;
+        }
+
+        @Command(keyword = "cmd8")
+        public void cmd8(int a, long b, double c, @Arg(optional = true) String d, @Arg(optional = true) int e) {
+            sink += a + b + (long) c + (d == null ? 0 : d.length()) + e;
+        }
+
+        @Command(keyword = "cmd9")
+        public void cmd9(int a, long b, double c, @Arg(optional = true) String d, @Arg(optional = true) int e) {
+            sink += a + b + (long) c + (d == null ? 0 : d.length()) + e;
+        }
+
+        @Command(keyword = "cmd10")
+        public void cmd10(int a, long b, double c, @Arg(optional = true) String d, @Arg(optional = true) int e) {
+            sink += a + b + (long) c + (d == null ? 0 : d.length()) + e;
+        }
+
+        @Command(keyword = "cmd11")
+        public void cmd11(int a, long b, double c, @Arg(optional = true) String d, @Arg(optional = true) int e) {
+            sink += a + b + (long) c + (d == null ? 0 : d.length()) + e;
+        }
+
+        @Command(keyword = "cmd12")
+        public void cmd12(int a, long b, double c, @Arg(optional = true) String d, @Arg(optional = true) int e) {
+            sink += a + b + (long) c + (d == null ? 0 : d.length()) + e;
+        }
+
+        @Command(keyword = "cmd13")
+        public void cmd13(int a, long b, double c, @Arg(optional = true) String d, @Arg(optional = true) int e) {
+            sink += a + b + (long) c + (d == null ? 0 : d.length()) + e;
+        }
+
+        @Command(keyword = "cmd14")
+        public void cmd14(int a, long b, double c, @Arg(optional = true) String d, @Arg(optional = true) int e) {
+            sink += a + b + (long) c + (d == null ? 0 : d.length()) + e;
+        }
+
+        @Command(keyword = "cmd15")
+        public void cmd15(int a, long b, double c, @Arg(optional = true) String d, @Arg(optional = true) int e) {
+            sink += a + b + (long) c + (d == null ? 0 : d.length()) + e;
+        }
+
+        @Command(keyword = "cmd16")
+        public void cmd16(int a, long b, double c, @Arg(optional = true) String d, @Arg(optional = true) int e) {
+            sink += a + b + (long) c + (d == null ? 0 : d.length()) + e;
+        }
+
+        @Command(keyword = "cmd17")
+        public void cmd17(int a, long b, double c, @Arg(optional = true) String d, @Arg(optional = true) int e) {
+            sink += a + b + (long) c + (d == null ? 0 : d.length()) + e;
+        }
+
+        @Command(keyword = "cmd18")
+        public void cmd18(int a, long b, double c, @Arg(optional = true) String d, @Arg(optional = true) int e) {
+            sink += a + b + (long) c + (d == null ? 0 : d.length()) + e;
+        }
+
+        @Command(keyword = "cmd19")
+        public void cmd19(int a, long b, double c, @Arg(optional = true) String d, @Arg(optional = true) int e) {
+            sink += a + b + (long) c + (d == null ? 0 : d.length()) + e;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package model;
+
+import iface.IConsole;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares printing a command's output through {@link Console}, whose {@link System#out} flushes every line, with
+ * printing it through a {@link BufferedConsole}, which flushes once the command has completed.<br>
+ * Both consoles write to the null device, so that the benchmark measures the cost of the calls, and not that of
+ * a terminal. Each operation prints the specified number of lines, and ends with an error line, which the
+ * buffered console writes after flushing its buffer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ConsoleBenchmark {
+
+    @Param({"1", "100", "10000"})
+    private int lines;
+
+    private PrintStream stdout;
+
+    private PrintStream stderr;
+
+    private FileOutputStream nullOut;
+
+    private FileOutputStream nullErr;
+
+    private IConsole console;
+
+    private BufferedConsole bufferedConsole;
+
+    @Setup
+    public void setup() throws IOException {
+        String nullDevice = System.getProperty("os.name").startsWith("Windows") ? "NUL" : "/dev/null";
+        stdout = System.out;
+        stderr = System.err;
+        nullOut = new FileOutputStream(nullDevice);
+        nullErr = new FileOutputStream(nullDevice);
+        // mirrors the System.out and System.err streams set up by the JVM, which flush on every println.
+        System.setOut(new PrintStream(new BufferedOutputStream(nullOut, 8192), true));
+        System.setErr(new PrintStream(new BufferedOutputStream(nullErr, 8192), true));
+        console = new Console();
+        bufferedConsole = new BufferedConsole(nullOut.getChannel(), nullErr.getChannel(),
+                new ByteArrayInputStream(new byte[0]), 1 << 16, 0L, TimeUnit.MILLISECONDS);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        bufferedConsole.close();
+        System.setOut(stdout);
+        System.setErr(stderr);
+        nullOut.close();
+        nullErr.close();
+    }
+
+    @Benchmark
+    public void console() {
+        print(console);
+    }
+
+    @Benchmark
+    public void bufferedConsole() {
+        print(bufferedConsole);
+    }
+
+    private void print(IConsole console) {
+        for (int i = 0; i < lines; i++) {
+            console.println("row " + i + " of the output of a command which prints many lines");
+        }
+        console.printerr("done");
+    }
+}
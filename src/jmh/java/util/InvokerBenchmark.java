@@ -0,0 +1,82 @@
+package util;
+
+import iface.IInvoker;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares invoking methods with two <code>int</code> parameters through the {@link IInvoker} created by
+ * {@link MethodUtils#toInvoker(Method)} with invoking them through {@link Method#invoke(Object, Object...)}.<br>
+ * The <code>monomorphic</code> benchmarks always invoke the same method, whereas the <code>megamorphic</code>
+ * benchmarks cycle through four methods declared by four classes, as a dispatch loop serving many commands would.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class InvokerBenchmark {
+
+    private final Object[] targets = {new A(), new B(), new C(), new D()};
+
+    private final IInvoker[] invokers = new IInvoker[targets.length];
+
+    private final IInvoker[] reflectiveInvokers = new IInvoker[targets.length];
+
+    private Object[] args;
+
+    private int next;
+
+    @Setup
+    public void setup() throws NoSuchMethodException {
+        for (int i = 0; i < targets.length; i++) {
+            Method method = targets[i].getClass().getDeclaredMethod("add", int.class, int.class);
+            method.setAccessible(true);
+            invokers[i] = MethodUtils.toInvoker(method);
+            reflectiveInvokers[i] = MethodUtils.toReflectiveInvoker(method);
+        }
+        args = new Object[]{1, 2};
+    }
+
+    @Benchmark
+    public Object monomorphicInvoker() throws Throwable {
+        return invokers[0].invoke(targets[0], args);
+    }
+
+    @Benchmark
+    public Object monomorphicReflective() throws Throwable {
+        return reflectiveInvokers[0].invoke(targets[0], args);
+    }
+
+    @Benchmark
+    public Object megamorphicInvoker() throws Throwable {
+        int i = next++ & 3;
+        return invokers[i].invoke(targets[i], args);
+    }
+
+    @Benchmark
+    public Object megamorphicReflective() throws Throwable {
+        int i = next++ & 3;
+        return reflectiveInvokers[i].invoke(targets[i], args);
+    }
+
+    public static class A {
+        private int sum;
+        private void add(int a, int b) { sum += a + b; }
+    }
+
+    public static class B {
+        private int sum;
+        private void add(int a, int b) { sum += a * b; }
+    }
+
+    public static class C {
+        private long sum;
+        private void add(int a, int b) { sum += a - b; }
+    }
+
+    public static class D {
+        private int sum;
+        private void add(int a, int b) { sum ^= a + b; }
+    }
+}
@@ -0,0 +1,58 @@
+package util;
+
+import exception.ParseException;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures converting an argument's value with {@link ObjectUtils#toObject(java.lang.reflect.Type, String)} into
+ * each of the commonly declared parameter types, and converting a value which can not be parsed, which throws.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ObjectUtilsBenchmark {
+
+    private String intValue = "1234567";
+
+    private String doubleValue = "1234.5678";
+
+    private String booleanValue = "true";
+
+    private String stringValue = "value";
+
+    private String invalidValue = "12x4567";
+
+    @Benchmark
+    public Object toInt() throws ParseException {
+        return ObjectUtils.toObject(int.class, intValue);
+    }
+
+    @Benchmark
+    public Object toDouble() throws ParseException {
+        return ObjectUtils.toObject(double.class, doubleValue);
+    }
+
+    @Benchmark
+    public Object toBoolean() throws ParseException {
+        return ObjectUtils.toObject(boolean.class, booleanValue);
+    }
+
+    @Benchmark
+    public Object toStringValue() throws ParseException {
+        return ObjectUtils.toObject(String.class, stringValue);
+    }
+
+    @Benchmark
+    public Object toIntInvalid() {
+        try
+        {
+            return ObjectUtils.toObject(int.class, invalidValue);
+        }
+        catch (ParseException ex)
+        {
+            return ex;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package util;
+
+import exception.NoSuchDelimiterException;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.LinkedList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link StringUtils#permute(LinkedList)}, which derives the regular expression of a command's arguments
+ * when it is registered, against the number of arguments, and {@link StringUtils#splitAfterFirst(String, String)},
+ * which locates the value of an argument in an input.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class StringUtilsBenchmark {
+
+    @Param({"1", "3", "5"})
+    private int args;
+
+    private LinkedList<String> patterns;
+
+    private String input;
+
+    @Setup
+    public void setup() {
+        patterns = new LinkedList<>();
+        StringBuilder input = new StringBuilder("controller command");
+
+        for (int i = 0; i < args; i++) {
+            patterns.add("\\sarg" + i + "\\s\\S*");
+            input.append(" arg").append(i).append(" value").append(i);
+        }
+        this.input = input.toString();
+    }
+
+    @Benchmark
+    public String permute() {
+        return StringUtils.permute(patterns);
+    }
+
+    @Benchmark
+    public String splitAfterFirst() throws NoSuchDelimiterException {
+        return StringUtils.splitAfterFirst(input, "arg" + (args - 1));
+    }
+}
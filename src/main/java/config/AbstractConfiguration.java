@@ -3,7 +3,10 @@ package config;
 import exception.IllegalAnnotationException;
 import iface.IConsole;
 import annotation.Controller;
+import model.CommandDefinition;
 
+import java.util.List;
+import java.util.Objects;
 import java.util.Set;
 
 /**
@@ -16,6 +19,16 @@ public abstract class AbstractConfiguration
 
     private final IConsole console;
 
+    private BindingMode bindingMode;
+
+    private final Metrics metrics;
+
+    private final CompletionIndex completions;
+
+    private final SuggestionIndex suggestions;
+
+    private final PendingCommands pending;
+
     /**
      * Constructs a new object and initializes this class's IConsole field and {@link config.ReflectionMap} field.
      * @param console class which implements the IConsole interface.
@@ -24,6 +37,15 @@ public abstract class AbstractConfiguration
     {
         this.console = console;
         this.reflectionMap = new ReflectionMap();
+        this.bindingMode = BindingMode.REGEX;
+        this.metrics = new Metrics();
+        this.completions = new CompletionIndex();
+        this.suggestions = new SuggestionIndex();
+        this.pending = new PendingCommands();
+
+        if (console != null) {
+            console.setCompleter(completions);
+        }
     }
 
     /**
@@ -44,6 +66,53 @@ public abstract class AbstractConfiguration
      */
     protected abstract void process(Set<Object> annotatedTypes) throws IllegalAnnotationException;
 
+    /**
+     * Method for processing a set of {@link Controller} annotated types, whose commands have been defined at
+     * compile time.<br>
+     * The default implementation ignores the specified definitions, and calls {@link #process(Set)}.
+     *
+     * @param annotatedTypes the set of annotated types.
+     * @param definitions the definitions of the commands of the annotated types.
+     * @throws IllegalAnnotationException in the event of an invalid set of annotations.
+     */
+    protected void process(Set<Object> annotatedTypes, List<CommandDefinition> definitions)
+            throws IllegalAnnotationException
+    {
+        process(annotatedTypes);
+    }
+
+    /**
+     * Method for registering a single {@link Controller} annotated type after the configuration has been built,
+     * replacing any previously registered type of the same name.<br>
+     * The default implementation does not support registering types after the configuration has been built.
+     *
+     * @param controller the instantiated annotated type.
+     * @throws IllegalAnnotationException in the event of an invalid set of annotations.
+     * @throws UnsupportedOperationException in the event of this configuration not supporting registration.
+     */
+    protected void register(Object controller) throws IllegalAnnotationException
+    {
+        throw new UnsupportedOperationException(
+                "this configuration does not support registering controllers after it has been built."
+        );
+    }
+
+    /**
+     * Method for unregistering the {@link Controller} annotated type with the specified name.<br>
+     * The default implementation does not support unregistering types.
+     *
+     * @param typeName the binary name of the annotated type.
+     * @return <code>true</code> if the type was registered,<br>
+     * <code>false</code> otherwise.
+     * @throws UnsupportedOperationException in the event of this configuration not supporting registration.
+     */
+    protected boolean unregister(String typeName)
+    {
+        throw new UnsupportedOperationException(
+                "this configuration does not support unregistering controllers."
+        );
+    }
+
     /**
      * Returns this class's <code>ReflectionMap</code> field.
      * @return the <code>ReflectionMap</code> field associated with this class.
@@ -61,4 +130,62 @@ public abstract class AbstractConfiguration
     {
         return console;
     }
+
+    /**
+     * Returns this class's <code>Metrics</code> field, which holds the metrics of each processed annotated method.
+     * @return the <code>Metrics</code> field associated with this class.
+     */
+    public final Metrics metrics()
+    {
+        return metrics;
+    }
+
+    /**
+     * Returns this class's <code>CompletionIndex</code> field, which completes the keywords of each processed
+     * annotated method, and which is passed to the console's {@link IConsole#setCompleter(iface.ICompleter)} method.
+     * @return the <code>CompletionIndex</code> field associated with this class.
+     */
+    public final CompletionIndex completions()
+    {
+        return completions;
+    }
+
+    /**
+     * Returns this class's <code>SuggestionIndex</code> field, which suggests the processed annotated methods
+     * nearest to an unrecognized input.
+     * @return the <code>SuggestionIndex</code> field associated with this class.
+     */
+    public final SuggestionIndex suggestions()
+    {
+        return suggestions;
+    }
+
+    /**
+     * Returns this class's <code>PendingCommands</code> field, which counts, and limits, the asynchronous annotated
+     * methods whose stages have not yet completed.
+     * @return the <code>PendingCommands</code> field associated with this class.
+     */
+    public final PendingCommands pending()
+    {
+        return pending;
+    }
+
+    /**
+     * Returns the strategy used to match the arguments of an input to the parameters of an annotated method.
+     * @return the <code>BindingMode</code> field associated with this class.
+     */
+    public final BindingMode bindingMode()
+    {
+        return bindingMode;
+    }
+
+    /**
+     * Sets the strategy used to match the arguments of an input to the parameters of an annotated method.<br>
+     * Only annotated types processed after this call are affected.
+     * @param bindingMode the binding mode.
+     */
+    final void bindingMode(BindingMode bindingMode)
+    {
+        this.bindingMode = Objects.requireNonNull(bindingMode);
+    }
 }
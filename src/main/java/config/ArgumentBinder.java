@@ -0,0 +1,198 @@
+package config;
+
+import static util.Tokenizer.regionEquals;
+import static util.Tokenizer.skipWhitespace;
+import static util.Tokenizer.tokenEnd;
+
+/**
+ * This class matches an input against the keywords of a {@link annotation.Command} annotated method without the use
+ * of regular expressions.<br>
+ * The input's leading tokens are compared to the method's keyword path, after which the remaining tokens are read
+ * as keyword/value pairs and assigned to the method's arguments, in any order, in a single linear pass.<br>
+ * Tokens are delimited the same way as by a {@link util.Tokenizer}, so values may be quoted.<br>
+ * Binding an input does not allocate; the outcome is encoded into an <code>int</code> status, which may be turned
+ * into a readable message through {@link #describe(String)}.
+ */
+final class ArgumentBinder {
+
+    /**
+     * The status returned when an input was successfully bound.
+     */
+    static final int BOUND = 0;
+
+    /**
+     * The status code returned when an input's leading tokens differ from the keyword path.
+     */
+    static final int PATH_MISMATCH = 1;
+
+    /**
+     * The status code returned when an input specifies a keyword which is not an argument of the method.
+     * The operand of the status is the offset of the keyword in the input.
+     */
+    static final int UNKNOWN_ARGUMENT = 2;
+
+    /**
+     * The status code returned when an input specifies the same argument more than once.
+     * The operand of the status is the index of the argument.
+     */
+    static final int DUPLICATE_ARGUMENT = 3;
+
+    /**
+     * The status code returned when an input specifies an argument without a value.
+     * The operand of the status is the index of the argument.
+     */
+    static final int MISSING_VALUE = 4;
+
+    /**
+     * The status code returned when an input does not specify a non-optional argument.
+     * The operand of the status is the index of the argument.
+     */
+    static final int MISSING_ARGUMENT = 5;
+
+    /**
+     * The maximum number of arguments a binder can keep track of.
+     */
+    static final int MAX_ARGUMENTS = Long.SIZE;
+
+    private static final int OPERAND_BITS = 24;
+
+    private static final int OPERAND_MASK = (1 << OPERAND_BITS) - 1;
+
+    private final String[] path;
+
+    private final String[] keywords;
+
+    private final long requiredMask;
+
+    /**
+     * Constructs a new binder for a method with the specified keyword path and argument keywords.
+     *
+     * @param path the controller and command keyword tokens of the method.
+     * @param keywords the keywords of the method's arguments, in declaration order.
+     * @param optional whether each of the method's arguments is optional, in declaration order.
+     * @throws IllegalArgumentException in the event of the method having more than {@link #MAX_ARGUMENTS} arguments.
+     */
+    ArgumentBinder(String[] path, String[] keywords, boolean[] optional) throws IllegalArgumentException {
+        if (keywords.length > MAX_ARGUMENTS) {
+            throw new IllegalArgumentException(
+                    "a binder can not bind more than " + MAX_ARGUMENTS + " arguments."
+            );
+        }
+        long requiredMask = 0L;
+        for (int i = 0; i < optional.length; i++) {
+            if (!optional[i]) {
+                requiredMask |= 1L << i;
+            }
+        }
+        this.path = path;
+        this.keywords = keywords;
+        this.requiredMask = requiredMask;
+    }
+
+    /**
+     * Binds the specified input to the keyword path and arguments of this binder.
+     *
+     * @param input the input.
+     * @return {@link #BOUND} if the input was successfully bound, otherwise a status whose code may be retrieved
+     * through {@link #code(int)} and whose operand may be retrieved through {@link #operand(int)}.
+     */
+    int bind(String input) {
+        int pos = 0;
+
+        for (String token : path) {
+            int start = skipWhitespace(input, pos);
+            pos = tokenEnd(input, start);
+            if (!regionEquals(token, input, start, pos)) {
+                return status(PATH_MISMATCH, 0);
+            }
+        }
+
+        long seen = 0L;
+        while (true) {
+            int start = skipWhitespace(input, pos);
+            if (start == input.length()) {
+                break;
+            }
+            pos = tokenEnd(input, start);
+            int index = indexOf(input, start, pos);
+
+            if (index == -1) {
+                return status(UNKNOWN_ARGUMENT, start);
+            }
+            if ((seen & (1L << index)) != 0) {
+                return status(DUPLICATE_ARGUMENT, index);
+            }
+            start = skipWhitespace(input, pos);
+            pos = tokenEnd(input, start);
+
+            if (start == pos) {
+                return status(MISSING_VALUE, index);
+            }
+            seen |= 1L << index;
+        }
+
+        long missing = requiredMask & ~seen;
+        if (missing != 0) {
+            return status(MISSING_ARGUMENT, Long.numberOfTrailingZeros(missing));
+        }
+        return BOUND;
+    }
+
+    /**
+     * Binds the specified input and returns a message describing why it could not be bound.
+     *
+     * @param input the input.
+     * @return the message, or <code>null</code> if the input was successfully bound.
+     */
+    String describe(String input) {
+        int status = bind(input);
+        int operand = operand(status);
+
+        switch (code(status)) {
+            case PATH_MISMATCH:
+                return "'" + input + "' is not recognized as an internal command.";
+            case UNKNOWN_ARGUMENT:
+                return "'" + input + "' specifies the unknown argument '" +
+                        input.substring(operand, tokenEnd(input, operand)) + "'.";
+            case DUPLICATE_ARGUMENT:
+                return "'" + input + "' specifies the argument '" + keywords[operand] + "' more than once.";
+            case MISSING_VALUE:
+                return "'" + input + "' does not specify a value for the argument '" + keywords[operand] + "'.";
+            case MISSING_ARGUMENT:
+                return "'" + input + "' is missing the argument '" + keywords[operand] + "'.";
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Returns the code of the specified status.
+     * @param status the status.
+     * @return the code.
+     */
+    static int code(int status) {
+        return status >>> OPERAND_BITS;
+    }
+
+    /**
+     * Returns the operand of the specified status.
+     * @param status the status.
+     * @return the operand.
+     */
+    static int operand(int status) {
+        return status & OPERAND_MASK;
+    }
+
+    private static int status(int code, int operand) {
+        return (code << OPERAND_BITS) | (operand & OPERAND_MASK);
+    }
+
+    private int indexOf(String input, int start, int end) {
+        for (int i = 0; i < keywords.length; i++) {
+            if (regionEquals(keywords[i], input, start, end)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
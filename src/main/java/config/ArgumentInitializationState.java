@@ -1,38 +1,80 @@
 package config;
 
 import exception.DefaultedValueException;
+import exception.NoSuchDelimiterException;
 import exception.ParseException;
 import annotation.Command;
+import util.ObjectUtils;
 
+import java.lang.reflect.Type;
 import java.util.LinkedList;
 
 /**
  * This class represents the state of a reflectively initialized argument belonging to
- * the most recently reflectively invoked {@link Command} annotated method.
+ * the most recently reflectively invoked {@link Command} annotated method.<br>
+ * The state is recorded as a set of status flags, from which the <code>Exceptions</code> describing it are only
+ * constructed once they are requested, without stack traces.<br>
+ * Objects of this class are immutable views of a {@link MethodInvocationState}.
  */
 public final class ArgumentInitializationState {
 
+    /**
+     * The status flag set when the argument's keyword, or its value, was not present in the input.
+     */
+    static final int MISSING = 1;
+
+    /**
+     * The status flag set when the argument's value could not be parsed into the argument's type.
+     */
+    static final int PARSE_FAILED = 1 << 1;
+
+    /**
+     * The status flag set when the argument was initialized with its type's default value.
+     */
+    static final int DEFAULTED = 1 << 2;
+
+    private final String name;
+
+    private final int status;
+
+    private final Type type;
+
+    private final CharSequence input;
+
+    private final int offset;
+
+    private final int length;
+
     /**
      * Any <code>Exceptions</code> thrown during the initialization of the
-     * argument are stored in this list of exceptions.
+     * argument are stored in this list of exceptions, which is constructed from the status flags on demand.
      */
-    private final LinkedList<Exception> exceptions;
+    private LinkedList<Exception> exceptions;
 
     /**
-     * Constructs a new object with an empty list of exceptions, with default list settings.
+     * Constructs a new object with no status flags, and therefore an empty list of exceptions.
      */
     protected ArgumentInitializationState() {
-        exceptions = new LinkedList<>();
+        this(null, 0, null, null, -1, -1);
     }
 
     /**
-     * Constructs a new object and initializes its list of exceptions field with default list settings,<br>
-     * and adds the specified <code>Exception</code> to the list.
+     * Constructs a new object whose state is described by the specified status flags.
      *
-     * @param ex the <code>Exception</code> to be added to this object's newly initialized exceptions list.
+     * @param name the name of the argument.
+     * @param status the status flags.
+     * @param type the type of the argument.
+     * @param input the input holding the argument's value.
+     * @param offset the offset of the value, which is only read if {@link #PARSE_FAILED} is set.
+     * @param length the length of the value, which is only read if {@link #PARSE_FAILED} is set.
      */
-    protected ArgumentInitializationState(Exception ex) {
-        exceptions = new LinkedList<>() {{add(ex);}};
+    ArgumentInitializationState(String name, int status, Type type, CharSequence input, int offset, int length) {
+        this.name = name;
+        this.status = status;
+        this.type = type;
+        this.input = input;
+        this.offset = offset;
+        this.length = length;
     }
 
     /**
@@ -46,7 +88,7 @@ public final class ArgumentInitializationState {
      */
     public final boolean wasDefaulted()
     {
-        return exceptions.stream().anyMatch(ex -> ex instanceof DefaultedValueException);
+        return (status & DEFAULTED) != 0;
     }
 
     /**
@@ -58,14 +100,31 @@ public final class ArgumentInitializationState {
      */
     public final boolean wasSuccessful()
     {
-        return exceptions.stream().noneMatch(ex -> ex instanceof ParseException);
+        return (status & PARSE_FAILED) == 0;
     }
 
     /**
-     * Returns this class's list of exceptions field.
+     * Returns this class's list of exceptions field.<br>
+     * The list is constructed from the status flags on the first call.
      * @return the list of exceptions field associated with this class.
      */
     protected final LinkedList<Exception> exceptions() {
+        if (exceptions == null) {
+            exceptions = new LinkedList<>();
+
+            if ((status & MISSING) != 0) {
+                exceptions.add(new NoSuchDelimiterException("string does not contain delimiter.", false));
+            }
+            if ((status & PARSE_FAILED) != 0) {
+                exceptions.add(new ParseException(
+                        "could not parse '" + input.subSequence(offset, offset + length) + "' into " +
+                                ObjectUtils.toDescription(type) + ".", false
+                ));
+            }
+            if ((status & DEFAULTED) != 0) {
+                exceptions.add(new DefaultedValueException("'" + name + "' was defaulted.", false));
+            }
+        }
         return exceptions;
     }
 
@@ -0,0 +1,23 @@
+package config;
+
+/**
+ * This enum declares the strategies a {@link Configuration} may use to match the {@link annotation.Arg} keywords and
+ * values of an input to the parameters of a {@link annotation.Command} annotated method.
+ */
+public enum BindingMode {
+
+    /**
+     * Every ordering of a method's arguments is enumerated into a single regular expression, which is compiled
+     * when the configuration is built and evaluated against every input.<br>
+     * The size of the regular expression grows quickly with the number of arguments.
+     */
+    REGEX,
+
+    /**
+     * The input's controller and command keywords are compared token by token, after which its keyword/value
+     * pairs are assigned to the method's arguments, in any order, in a single linear pass.<br>
+     * Inputs which specify an unknown argument or the same argument twice, or which omit a value or a
+     * non-optional argument, are rejected, and the reason is appended to the console.
+     */
+    STRUCTURAL
+}
@@ -0,0 +1,178 @@
+package config;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class records how a {@link Builder} discovered its {@link annotation.Controller} annotated classes, and how
+ * long discovering and processing them took, so that cold and warm starts may be compared.<br>
+ * When the builder was built lazily, this class also reports on the controllers whose instantiation was deferred
+ * until their first dispatch, and on the startup time this has saved so far.
+ */
+public final class BuildStatistics {
+
+    /**
+     * This enum declares the ways in which a builder may discover its controllers.
+     */
+    public enum Source {
+
+        /**
+         * The controllers were read from an {@link iface.IRegistry} generated at compile time, and, if the builder
+         * scans with registries, from the class path as well.
+         */
+        REGISTRY,
+
+        /**
+         * The controllers were read from a scan cache whose class path fingerprint was unchanged.
+         */
+        CACHE,
+
+        /**
+         * The controllers were found by scanning the class path.
+         */
+        SCAN,
+
+        /**
+         * The controllers were passed to the builder.
+         */
+        MANUAL
+    }
+
+    private final Source source;
+
+    private final int controllers;
+
+    private final long discoveryNanos;
+
+    private final long processNanos;
+
+    private final long instantiationNanos;
+
+    private final List<LazyController> deferred;
+
+    /**
+     * Constructs a new object.
+     *
+     * @param source the way in which the controllers were discovered.
+     * @param controllers the number of controllers.
+     * @param discoveryNanos the time spent discovering the controllers, in nanoseconds.
+     * @param processNanos the time spent instantiating and processing the controllers, in nanoseconds.
+     */
+    BuildStatistics(Source source, int controllers, long discoveryNanos, long processNanos) {
+        this(source, controllers, discoveryNanos, processNanos, 0L, Collections.emptyList());
+    }
+
+    /**
+     * Constructs a new object.
+     *
+     * @param source the way in which the controllers were discovered.
+     * @param controllers the number of controllers.
+     * @param discoveryNanos the time spent discovering the controllers, in nanoseconds.
+     * @param processNanos the time spent instantiating and processing the controllers, in nanoseconds.
+     * @param instantiationNanos the part of the process time spent instantiating the controllers, in nanoseconds.
+     * @param deferred the controllers whose instantiation was deferred until their first dispatch.
+     */
+    BuildStatistics(Source source, int controllers, long discoveryNanos, long processNanos,
+                    long instantiationNanos, List<LazyController> deferred) {
+        this.source = source;
+        this.controllers = controllers;
+        this.discoveryNanos = discoveryNanos;
+        this.processNanos = processNanos;
+        this.instantiationNanos = instantiationNanos;
+        this.deferred = deferred;
+    }
+
+    /**
+     * Returns this class's source field.
+     * @return the source field associated with this class.
+     */
+    public Source source() {
+        return source;
+    }
+
+    /**
+     * Returns this class's controllers field.
+     * @return the number of controllers discovered.
+     */
+    public int controllers() {
+        return controllers;
+    }
+
+    /**
+     * Returns the time spent discovering the controllers.
+     * @param unit the unit of the returned time.
+     * @return the time, in the specified unit.
+     */
+    public long discoveryTime(TimeUnit unit) {
+        return unit.convert(discoveryNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Returns the time spent instantiating and processing the controllers.
+     * @param unit the unit of the returned time.
+     * @return the time, in the specified unit.
+     */
+    public long processTime(TimeUnit unit) {
+        return unit.convert(processNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Returns the part of the process time which was spent instantiating the controllers.
+     * @param unit the unit of the returned time.
+     * @return the time, in the specified unit, which is close to zero if the builder was built lazily.
+     */
+    public long instantiationTime(TimeUnit unit) {
+        return unit.convert(instantiationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Returns the number of controllers whose instantiation was deferred until their first dispatch.
+     * @return the number of deferred controllers, which is <code>0</code> unless the builder was built lazily.
+     */
+    public int deferredControllers() {
+        return deferred.size();
+    }
+
+    /**
+     * Returns the number of deferred controllers which have since been instantiated.
+     * @return the number of deferred controllers dispatched to at least once.
+     */
+    public int instantiatedControllers() {
+        int instantiated = 0;
+        for (LazyController controller : deferred) {
+            if (controller.isInstantiated()) {
+                instantiated++;
+            }
+        }
+        return instantiated;
+    }
+
+    /**
+     * Returns the startup time saved by deferring the instantiation of controllers, which is the time that has
+     * since been spent instantiating them on their first dispatch.<br>
+     * The time is a lower bound, as the time which would have been spent instantiating the controllers which
+     * have not yet been dispatched to is not known.
+     * @param unit the unit of the returned time.
+     * @return the time, in the specified unit.
+     */
+    public long savedTime(TimeUnit unit) {
+        long nanos = 0L;
+        for (LazyController controller : deferred) {
+            nanos += controller.instantiationNanos();
+        }
+        return unit.convert(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public String toString() {
+        String s = String.format("discovered %d controllers through %s in %.1f ms, and processed them in %.1f ms",
+                controllers, source, discoveryNanos / 1e6, processNanos / 1e6);
+        if (deferred.isEmpty()) {
+            return s + ".";
+        }
+        return s + String.format(", deferring the instantiation of %d controllers, of which %d have since " +
+                "been instantiated, saving at least %.1f ms at startup.", deferred.size(),
+                instantiatedControllers(), savedTime(TimeUnit.MICROSECONDS) / 1e3);
+    }
+}
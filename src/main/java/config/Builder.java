@@ -4,21 +4,39 @@ import annotation.*;
 import exception.IllegalAnnotationException;
 import exception.NoValidConstructorException;
 import iface.IConsole;
+import iface.IReflection;
+import iface.IRegistry;
+import model.CommandDefinition;
 import org.reflections.Reflections;
 
+import java.io.IOException;
+import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.regex.Pattern;
 
 /**
  * This class when built scans for {@link Controller} annotated types, instantiates them, and
  * initiates the population of this class's {@link AbstractConfiguration} field's {@link ReflectionMap}
- * by calling it's {@link AbstractConfiguration#process(Set)} method.
+ * by calling it's {@link AbstractConfiguration#process(Set)} method.<br>
+ * If an {@link IRegistry} generated at compile time is found through a {@link ServiceLoader}, the annotated
+ * types and their commands are read from the registry, rather than scanned for and reflected over, unless the
+ * scanned types are to be added to the registered ones, see {@link #scanWithRegistries(boolean)}.
  */
 public final class Builder
 {
 
     private final AbstractConfiguration config;
 
+    private ScanCache scanCache;
+
+    private BuildStatistics statistics;
+
+    private boolean lazy;
+
+    private boolean scanWithRegistries;
+
     /**
      * Constructs a new <code>Builder</code> object and initializes its {@link Configuration} field by
      * passing the specified <code>IConsole</code> object to it's constructor.
@@ -40,7 +58,9 @@ public final class Builder
     }
 
     /**
-     * Builds the configuration by scanning the entire class path for {@link Controller} annotated classes.
+     * Builds the configuration by scanning the entire class path for {@link Controller} annotated classes,
+     * unless an {@link IRegistry} is found, in which case the registry's classes are used,
+     * or unless the classes can be read from this builder's scan cache, see {@link #scanCache(Path)}.
      *
      * @return this <code>ConfigurationBuilder</code> object.
      *
@@ -52,24 +72,13 @@ public final class Builder
      */
     public final Builder build() throws IllegalAnnotationException, NoValidConstructorException
     {
-        Set<Class<?>> types = new Reflections("").getTypesAnnotatedWith(Controller.class);
-        if (types.isEmpty()) {
-            throw new IllegalArgumentException(
-                    "no controller annotated types were found on the class path."
-            );
-        }
-        try
-        {
-            config.process(instantiate(types));
-        }
-        catch (InstantiationException | InvocationTargetException | IllegalAccessException e) {
-            e.printStackTrace();
-        }
-        return this;
+        return build("", "no controller annotated types were found on the class path.");
     }
 
     /**
-     * Builds the configuration by scanning the specified package for {@link Controller} annotated classes.
+     * Builds the configuration by scanning the specified package for {@link Controller} annotated classes,
+     * unless an {@link IRegistry} is found, in which case the registry's classes within the package are used,
+     * or unless the classes can be read from this builder's scan cache, see {@link #scanCache(Path)}.
      *
      * @return this <code>ConfigurationBuilder</code> object.
      * @param prefix a package prefix.
@@ -84,19 +93,25 @@ public final class Builder
     public final Builder build(String prefix)
             throws IllegalAnnotationException, NoValidConstructorException, NullPointerException
     {
-        Set<Class<?>> types = new Reflections(Objects.requireNonNull(prefix)).getTypesAnnotatedWith(Controller.class);
-        if (types.isEmpty()) {
-            throw new IllegalArgumentException(
-                    "no controller annotated types were found in the specified package."
-            );
-        }
-        try
-        {
-            config.process(instantiate(types));
-        }
-        catch (InstantiationException | InvocationTargetException | IllegalAccessException e) {
-            e.printStackTrace();
-        }
+        return build(Objects.requireNonNull(prefix), "no controller annotated types were found in the specified package.");
+    }
+
+    /**
+     * Builds the configuration from the classes and command definitions of the specified registry.
+     *
+     * @param registry the registry.
+     * @return this <code>ConfigurationBuilder</code> object.
+     * @throws IllegalAnnotationException in the event of the registry's classes having an invalid set of
+     * annotations present, or in the event of the registry being out of date.
+     * @throws NoValidConstructorException in the event of a registered class lacking a default/un-parameterized
+     * constructor, and an "injected" instructor, see {@linkplain Controller}.
+     */
+    public final Builder build(IRegistry registry) throws IllegalAnnotationException, NoValidConstructorException
+    {
+        long start = System.nanoTime();
+        Set<Class<?>> types = registry.controllers();
+        List<CommandDefinition> definitions = registry.commands();
+        process(types, definitions, BuildStatistics.Source.REGISTRY, start, System.nanoTime());
         return this;
     }
 
@@ -112,10 +127,239 @@ public final class Builder
      */
     public final Builder build(Set<Object> controllers) throws IllegalAnnotationException
     {
+        long start = System.nanoTime();
         config.process(controllers);
+        statistics = new BuildStatistics(BuildStatistics.Source.MANUAL, controllers.size(), 0L,
+                System.nanoTime() - start);
+        return this;
+    }
+
+    /**
+     * Sets the strategy the configuration's {@link ReflectionMap} uses to resolve an input to a
+     * {@link iface.IReflection} value.<br>
+     * Both strategies are populated when this builder is built, so the dispatch mode may be set either before or
+     * after any of the build methods have been called.
+     *
+     * @param dispatchMode the dispatch mode, which defaults to {@link DispatchMode#REGEX}.
+     * @return this <code>ConfigurationBuilder</code> object.
+     * @throws NullPointerException in the event of a <code>null</code> specified dispatch mode.
+     */
+    public final Builder dispatchMode(DispatchMode dispatchMode) throws NullPointerException
+    {
+        config.map().dispatchMode(dispatchMode);
+        return this;
+    }
+
+    /**
+     * Sets the strategy the configuration uses to match the arguments of an input to the parameters of a
+     * {@link Command} annotated method.<br>
+     * The binding mode needs to be set before any of the build methods are called.
+     *
+     * @param bindingMode the binding mode, which defaults to {@link BindingMode#REGEX}.
+     * @return this <code>ConfigurationBuilder</code> object.
+     * @throws NullPointerException in the event of a <code>null</code> specified binding mode.
+     */
+    public final Builder bindingMode(BindingMode bindingMode) throws NullPointerException
+    {
+        config.bindingMode(bindingMode);
+        return this;
+    }
+
+    /**
+     * Sets whether the {@link Controller} annotated classes which are scanned for, or read from a registry or the
+     * scan cache, are instantiated lazily.<br>
+     * A lazily built configuration registers the commands of each controller from its class alone, and instantiates
+     * the controller the first time one of its commands is dispatched to, so that controllers whose constructors
+     * are expensive, and which are never used, are never instantiated.
+     * Each controller is still instantiated at most once, even if its commands are dispatched to concurrently.<br>
+     * Controllers passed to {@link #build(Set)} are already instantiated, and are not affected.
+     *
+     * @param lazy whether controllers are to be instantiated lazily, which defaults to <code>false</code>.
+     * @return this <code>ConfigurationBuilder</code> object.
+     */
+    public final Builder lazy(boolean lazy)
+    {
+        this.lazy = lazy;
+        return this;
+    }
+
+    /**
+     * Sets whether the class path is scanned for {@link Controller} annotated classes even if an {@link IRegistry}
+     * lists classes within the package being built, in which case the scanned classes are added to the registered
+     * ones, so that controllers which were compiled without the annotation processor are found as well.<br>
+     * The commands of the registered classes are still read from the registry, rather than reflected over.
+     *
+     * @param enabled whether the class path is to be scanned as well, which defaults to <code>false</code>.
+     * @return this <code>ConfigurationBuilder</code> object.
+     */
+    public final Builder scanWithRegistries(boolean enabled)
+    {
+        this.scanWithRegistries = enabled;
+        return this;
+    }
+
+    /**
+     * Sets whether the configuration records the number of invocations, and the match, parse and method times,
+     * of each {@link Command} annotated method, which may be read through the configuration's
+     * {@link AbstractConfiguration#metrics()}.<br>
+     * Metrics may also be enabled and disabled after this builder has been built, through
+     * {@link Metrics#setEnabled(boolean)}.
+     *
+     * @param enabled whether metrics are to be recorded, which defaults to <code>false</code>.
+     * @return this <code>ConfigurationBuilder</code> object.
+     */
+    public final Builder metrics(boolean enabled)
+    {
+        config.metrics().setEnabled(enabled);
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of asynchronous {@link Command} annotated methods, which are methods returning a
+     * {@link java.util.concurrent.CompletionStage}, whose stages may be pending at once, see {@link PendingCommands}.
+     * <br>
+     * The limit may be changed at any time.
+     *
+     * @param limit the maximum number of pending commands, which defaults to {@link PendingCommands#DEFAULT_LIMIT}.
+     * @return this <code>ConfigurationBuilder</code> object.
+     * @throws IllegalArgumentException in the event of a limit which is not positive.
+     */
+    public final Builder maxPendingCommands(int limit) throws IllegalArgumentException
+    {
+        config.pending().setLimit(limit);
+        return this;
+    }
+
+    /**
+     * Enables metrics, and registers a built-in command with the specified keyword, which prints the table
+     * returned by {@link Metrics#report()} to the configuration's console, or which resets the metrics if it is
+     * followed by <code>reset</code>.
+     *
+     * @param keyword the keyword of the command, such as <code>stats</code>.
+     * @return this <code>ConfigurationBuilder</code> object.
+     * @throws IllegalArgumentException in the event of a blank specified keyword.
+     */
+    public final Builder statsCommand(String keyword) throws IllegalArgumentException
+    {
+        String[] path = keyword.trim().split("\\s+");
+        if (path[0].isEmpty()) {
+            throw new IllegalArgumentException(
+                    "keyword must not be blank."
+            );
+        }
+        StringBuilder regex = new StringBuilder("^");
+        for (int i = 0; i < path.length; i++) {
+            regex.append(i == 0 ? "" : "\\s").append(Pattern.quote(path[i]));
+        }
+        regex.append("(\\sreset)?$");
+        Metrics metrics = config.metrics();
+        IReflection reflection = input -> {
+            if (input.trim().endsWith(" reset")) {
+                metrics.reset();
+                config.console().println("metrics have been reset.");
+            }
+            else {
+                config.console().println(metrics.report());
+            }
+        };
+        config.map().put(regex.toString(), path, reflection);
+        metrics.register(reflection, new CommandMetrics(String.join(" ", path)));
+        String[] resetPath = Arrays.copyOf(path, path.length + 1);
+        resetPath[path.length] = "reset";
+        config.completions().add(resetPath, new String[0]);
+        config.suggestions().add(path);
+        metrics.setEnabled(true);
+        return this;
+    }
+
+    /**
+     * Instantiates the specified {@link Controller} annotated class, or defers its instantiation if this builder is
+     * lazy, and registers it with the built configuration, replacing any previously registered class of the same
+     * name.<br>
+     * The controller's commands replace those of the previous class in a single update of the configuration's
+     * {@link ReflectionMap}, so that commands which are being dispatched at the time are not disturbed.
+     *
+     * @param type the class.
+     * @return this <code>ConfigurationBuilder</code> object.
+     * @throws IllegalAnnotationException in the event of the class having an invalid set of annotations, in which
+     * case any previously registered class of the same name is kept.
+     * @throws NoValidConstructorException in the event of the class lacking a default/un-parameterized
+     * constructor, and an "injected" instructor, see {@linkplain Controller}.
+     */
+    public final Builder register(Class<?> type) throws IllegalAnnotationException, NoValidConstructorException
+    {
+        Set<Class<?>> types = Collections.singleton(type);
+        Object controller;
+        try
+        {
+            controller = lazy ? defer(types).get(0) : instantiate(types).iterator().next();
+        }
+        catch (InstantiationException | InvocationTargetException | IllegalAccessException ex)
+        {
+            throw new NoValidConstructorException(
+                    type.getSimpleName() + " could not be instantiated: " + ex
+            );
+        }
+        config.register(controller);
+        return this;
+    }
+
+    /**
+     * Unregisters the specified {@link Controller} annotated class from the built configuration, or the class of
+     * the same name which replaced it.
+     *
+     * @param type the class.
+     * @return <code>true</code> if the class was registered,<br>
+     * <code>false</code> otherwise.
+     */
+    public final boolean unregister(Class<?> type)
+    {
+        return config.unregister(type.getName());
+    }
+
+    /**
+     * Registers the {@link Controller} annotated classes found in the specified directory of class files, and
+     * watches the directory for changes, registering each annotated class which is added or changed, and
+     * unregistering each one which is removed or no longer annotated.<br>
+     * Changed classes are loaded by a new class loader, so they should not also be on the class path used to
+     * build the configuration.
+     *
+     * @param directory the root directory of the class files, whose sub-directories correspond to their packages.
+     * @return the watcher, which stops watching the directory when it is closed.
+     * @throws IOException in the event of the directory not being readable.
+     */
+    public final ControllerWatcher watch(Path directory) throws IOException
+    {
+        return new ControllerWatcher(this, directory);
+    }
+
+    /**
+     * Enables the persistent scan cache, which stores the {@link Controller} annotated classes found by scanning the
+     * class path to the specified index file, together with a fingerprint of the class path.<br>
+     * Subsequent builds whose class path has the same fingerprint read the classes from the index file,
+     * rather than scanning the class path again.<br>
+     * The class path is that of the context class loader, and the cache is bypassed if that loader is neither a
+     * <code>URLClassLoader</code> nor the system class loader, as its classes can not be fingerprinted.
+     *
+     * @param file the index file.
+     * @return this <code>ConfigurationBuilder</code> object.
+     * @throws NullPointerException in the event of a <code>null</code> specified file.
+     */
+    public final Builder scanCache(Path file) throws NullPointerException
+    {
+        scanCache = new ScanCache(file);
         return this;
     }
 
+    /**
+     * Returns the statistics of the most recent build.
+     * @return the statistics, or <code>null</code> if none of the build methods have been called.
+     */
+    public final BuildStatistics statistics()
+    {
+        return statistics;
+    }
+
     /**
      * Returns this class's <code>AbstractConfiguration</code> field.
      * @return the <code>AbstractConfiguration</code> field associated with this class.
@@ -125,6 +369,117 @@ public final class Builder
         return config;
     }
 
+    /**
+     * Private method which reads the classes whose names start with the specified prefix, and the definitions of
+     * their commands, from the registries found through a {@link ServiceLoader} by this builder's class loader.
+     *
+     * @param prefix a package prefix.
+     * @param types the set to which the registered classes are added.
+     * @param definitions the list to which the definitions of the registered classes are added.
+     */
+    private static void readRegistries(String prefix, Set<Class<?>> types, List<CommandDefinition> definitions)
+    {
+        for (IRegistry registry : ServiceLoader.load(IRegistry.class, classLoader()))
+        {
+            for (Class<?> type : registry.controllers()) {
+                if (type.getName().startsWith(prefix)) {
+                    types.add(type);
+                }
+            }
+            definitions.addAll(registry.commands());
+        }
+        definitions.removeIf(definition -> !types.contains(definition.getType()));
+    }
+
+    /**
+     * Private method which builds the configuration from the {@link Controller} annotated classes within the
+     * specified package, which are read from a registry, or from this builder's scan cache if its fingerprint of the
+     * class path is unchanged, or are otherwise found by scanning the class path.
+     *
+     * @param prefix a package prefix.
+     * @param notFoundMessage the message of the exception thrown if no classes are found.
+     * @return this <code>ConfigurationBuilder</code> object.
+     */
+    private Builder build(String prefix, String notFoundMessage)
+            throws IllegalAnnotationException, NoValidConstructorException
+    {
+        long start = System.nanoTime();
+        Set<Class<?>> registered = new HashSet<>();
+        List<CommandDefinition> definitions = new ArrayList<>();
+        readRegistries(prefix, registered, definitions);
+
+        if (!registered.isEmpty() && !scanWithRegistries) {
+            process(registered, definitions, BuildStatistics.Source.REGISTRY, start, System.nanoTime());
+            return this;
+        }
+        BuildStatistics.Source source = BuildStatistics.Source.SCAN;
+        Set<Class<?>> types = null;
+        String fingerprint = null;
+
+        // the cache is bypassed if the classes visible to the class loader can not be fingerprinted.
+        String classPath = scanCache != null ? ScanCache.classPath(classLoader()) : null;
+
+        if (classPath != null) {
+            fingerprint = ScanCache.fingerprint(classPath);
+            types = scanCache.load(prefix, fingerprint, classLoader());
+            source = BuildStatistics.Source.CACHE;
+        }
+        if (types == null) {
+            types = new Reflections(prefix).getTypesAnnotatedWith(Controller.class);
+            source = BuildStatistics.Source.SCAN;
+
+            if (classPath != null && !types.isEmpty()) {
+                scanCache.store(prefix, fingerprint, types);
+            }
+        }
+        if (!registered.isEmpty()) {
+            registered.addAll(types);
+            types = registered;
+            source = BuildStatistics.Source.REGISTRY;
+        }
+        if (types.isEmpty()) {
+            throw new IllegalArgumentException(
+                    notFoundMessage
+            );
+        }
+        process(types, definitions, source, start, System.nanoTime());
+        return this;
+    }
+
+    /**
+     * Private method which instantiates the specified classes, or defers their instantiation if this builder is
+     * lazy, processes them together with the specified definitions, and records the statistics of the build.
+     */
+    private void process(Set<Class<?>> types, List<CommandDefinition> definitions, BuildStatistics.Source source,
+                         long start, long discovered)
+            throws IllegalAnnotationException, NoValidConstructorException
+    {
+        Set<Object> controllers = Collections.emptySet();
+        List<LazyController> deferred = Collections.emptyList();
+        try
+        {
+            if (lazy) {
+                deferred = defer(types);
+                controllers = new HashSet<>(deferred);
+            }
+            else {
+                controllers = instantiate(types);
+            }
+        }
+        catch (InstantiationException | InvocationTargetException | IllegalAccessException e) {
+            e.printStackTrace();
+        }
+        long instantiated = System.nanoTime();
+        config.process(controllers, definitions);
+        statistics = new BuildStatistics(source, types.size(), discovered - start, System.nanoTime() - discovered,
+                instantiated - discovered, deferred);
+    }
+
+    private static ClassLoader classLoader() {
+        ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        return loader != null ? loader : Builder.class.getClassLoader();
+    }
+
     /**
      * Private method which instantiates and returns a set of classes using one of two predefined constructors.
      *
@@ -144,25 +499,72 @@ public final class Builder
 
         for (Class<?> type : types)
         {
-            try
-            {
-                instances.add(type.getConstructor(config.console().getClass()).newInstance(config.console()));
-            }
-            catch (NoSuchMethodException | SecurityException ex)
-            {
-                instances.add(Arrays.stream(type.getConstructors())
-                        .filter(cons -> cons.getParameterCount() == 0)
-                        .findFirst()
-                        .orElseThrow(() -> new NoValidConstructorException(
-                                type.getSimpleName() + " could not be instantiated due to the fact it " +
-                                        "neither has a default/un-parameterized constructor, nor a constructor " +
-                                        "which takes an instance of a class which implements the IConsole interface " +
-                                        "as its only parameter."
-                        ))
-                        .newInstance()
-                );
-            }
+            Constructor<?> constructor = constructorOf(type);
+            instances.add(constructor.getParameterCount() == 0 ?
+                    constructor.newInstance() : constructor.newInstance(config.console()));
         }
         return instances;
     }
+
+    /**
+     * Private method which resolves the constructor of each of the specified classes, and returns a
+     * {@link LazyController} for each, which instantiates the class on its first dispatch.
+     *
+     * @param types the classes to be instantiated lazily.
+     * @return the lazy controllers.
+     * @throws NoValidConstructorException in the event of a specified class not having one or two of the predefined
+     * constructors declared.
+     */
+    private List<LazyController> defer(Set<Class<?>> types) throws NoValidConstructorException
+    {
+        List<LazyController> deferred = new ArrayList<>(types.size());
+
+        for (Class<?> type : types)
+        {
+            Constructor<?> constructor = constructorOf(type);
+            deferred.add(constructor.getParameterCount() == 0 ?
+                    new LazyController(type, constructor) : new LazyController(type, constructor, config.console()));
+        }
+        return deferred;
+    }
+
+    /**
+     * Private method which returns the constructor of the specified class which takes the configuration's console
+     * as its only parameter, if declared, and otherwise its default/un-parameterized constructor.<br>
+     * The parameter of the former may be of the console's class, or of any class or interface it implements, such as
+     * {@link IConsole}.
+     *
+     * @param type the class.
+     * @return the constructor.
+     * @throws NoValidConstructorException in the event of the specified class not having one or two of the
+     * predefined constructors declared.
+     */
+    private Constructor<?> constructorOf(Class<?> type) throws NoValidConstructorException
+    {
+        Class<?> consoleClass = config.console().getClass();
+        try
+        {
+            return type.getConstructor(consoleClass);
+        }
+        catch (NoSuchMethodException | SecurityException ex)
+        {
+            Constructor<?>[] constructors = type.getConstructors();
+            Optional<Constructor<?>> withConsole = Arrays.stream(constructors)
+                    .filter(cons -> cons.getParameterCount() == 1 &&
+                            cons.getParameterTypes()[0].isAssignableFrom(consoleClass))
+                    .findFirst();
+            if (withConsole.isPresent()) {
+                return withConsole.get();
+            }
+            return Arrays.stream(constructors)
+                    .filter(cons -> cons.getParameterCount() == 0)
+                    .findFirst()
+                    .orElseThrow(() -> new NoValidConstructorException(
+                            type.getSimpleName() + " could not be instantiated due to the fact it " +
+                                    "neither has a default/un-parameterized constructor, nor a constructor " +
+                                    "which takes an instance of a class which implements the IConsole interface " +
+                                    "as its only parameter."
+                    ));
+        }
+    }
 }
@@ -0,0 +1,95 @@
+package config;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class records how often a single {@link annotation.Command} annotated method is dispatched to, and how long
+ * each stage of its dispatch takes: matching the input to the method, parsing the method's arguments from the
+ * input, and running the method.
+ */
+public final class CommandMetrics {
+
+    private final String name;
+
+    private final LongAdder failures = new LongAdder();
+
+    private final LatencyHistogram matchTime = new LatencyHistogram();
+
+    private final LatencyHistogram parseTime = new LatencyHistogram();
+
+    private final LatencyHistogram methodTime = new LatencyHistogram();
+
+    /**
+     * Constructs a new object.
+     * @param name the name of the command, which consists of its keyword path and the keywords of its arguments.
+     */
+    CommandMetrics(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Returns this class's name field.
+     * @return the name of the command.
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Returns the number of times the method has been invoked.
+     * @return the number of invocations.
+     */
+    public long invocations() {
+        return methodTime.count();
+    }
+
+    /**
+     * Returns the number of invocations of the method which threw.
+     * @return the number of failed invocations.
+     */
+    public long failures() {
+        return failures.sum();
+    }
+
+    /**
+     * Returns the times spent matching inputs to the method.<br>
+     * Match times are only recorded by callers which measure them, such as {@link sample.StartCLI}.
+     * @return the histogram of match times.
+     */
+    public LatencyHistogram matchTime() {
+        return matchTime;
+    }
+
+    /**
+     * Returns the times spent parsing the method's arguments from inputs.
+     * @return the histogram of parse times.
+     */
+    public LatencyHistogram parseTime() {
+        return parseTime;
+    }
+
+    /**
+     * Returns the times spent running the method.
+     * @return the histogram of method times.
+     */
+    public LatencyHistogram methodTime() {
+        return methodTime;
+    }
+
+    /**
+     * Records a failed invocation.
+     */
+    void fail() {
+        failures.increment();
+    }
+
+    /**
+     * Removes every recorded invocation and time.
+     */
+    void reset() {
+        failures.reset();
+        matchTime.reset();
+        parseTime.reset();
+        methodTime.reset();
+    }
+}
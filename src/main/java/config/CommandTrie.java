@@ -0,0 +1,194 @@
+package config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class stores {@link Route} objects in a trie keyed on the whitespace separated tokens of their
+ * {@link annotation.Controller} and {@link annotation.Command} keywords.<br>
+ * Looking up an input walks the input's leading tokens down the trie, and only evaluates the routes stored
+ * in the visited nodes, deepest node first. Neither the walk nor the evaluation allocates.
+ */
+final class CommandTrie {
+
+    private final Node root = new Node();
+
+    /**
+     * Stores the specified route under the specified path as a complete match candidate,
+     * replacing the specified previous route if it was stored under the same path.
+     *
+     * @param path the keyword tokens of the route.
+     * @param previousRoute the route to be replaced, or <code>null</code>.
+     * @param route the route.
+     */
+    void put(String[] path, Route previousRoute, Route route) {
+        replace(node(path).routes, previousRoute, route);
+    }
+
+    /**
+     * Stores the specified route under the specified path as a partial match candidate,
+     * replacing the specified previous route if it was stored under the same path.
+     *
+     * @param path the keyword tokens of the route.
+     * @param previousRoute the route to be replaced, or <code>null</code>.
+     * @param route the route.
+     */
+    void append(String[] path, Route previousRoute, Route route) {
+        replace(node(path).noMatchRoutes, previousRoute, route);
+    }
+
+    /**
+     * Returns the first route which matches the specified input, evaluating the complete match
+     * candidates of every node visited by the input's tokens before any of their partial match candidates.
+     *
+     * @param input the input.
+     * @return the matched route, or <code>null</code> if no route stored along the input's path matches the input.
+     */
+    Route match(String input) {
+        Route route = match(root, input, 0, false);
+        return route != null ? route : match(root, input, 0, true);
+    }
+
+    /**
+     * Recursively walks the specified input's tokens down from the specified node, and evaluates the routes of
+     * each visited node on the way back up.
+     */
+    private Route match(Node node, String input, int from, boolean noMatch) {
+        int start = from;
+        while (start < input.length() && Character.isWhitespace(input.charAt(start))) {
+            start++;
+        }
+        int end = start;
+        while (end < input.length() && !Character.isWhitespace(input.charAt(end))) {
+            end++;
+        }
+
+        if (start < end) {
+            Node child = node.child(input, start, end);
+            if (child != null) {
+                Route route = match(child, input, end, noMatch);
+                if (route != null) {
+                    return route;
+                }
+            }
+        }
+
+        List<Route> routes = noMatch ? node.noMatchRoutes : node.routes;
+        for (int i = 0; i < routes.size(); i++) {
+            Route route = routes.get(i);
+            if (route.matches(input)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Replaces the specified previous route in the specified list with the specified route, or adds the route to
+     * the end of the list if the previous route is not present.
+     */
+    private static void replace(List<Route> routes, Route previousRoute, Route route) {
+        int index = previousRoute != null ? routes.indexOf(previousRoute) : -1;
+
+        if (index != -1) {
+            routes.set(index, route);
+        }
+        else {
+            routes.add(route);
+        }
+    }
+
+    /**
+     * Returns the node stored under the specified path, creating any missing nodes along the way.
+     */
+    private Node node(String[] path) {
+        Node node = root;
+        for (String token : path) {
+            node = node.childOrCreate(token);
+        }
+        return node;
+    }
+
+    /**
+     * A node of the trie, whose children are stored in an open addressing hash table so that a child can be
+     * looked up by a region of the input without creating a substring.
+     */
+    private static final class Node {
+
+        private final List<Route> routes = new ArrayList<>(1);
+
+        private final List<Route> noMatchRoutes = new ArrayList<>(1);
+
+        private String[] keys = new String[0];
+
+        private Node[] children = new Node[0];
+
+        private int size;
+
+        private Node child(String input, int start, int end) {
+            if (size == 0) {
+                return null;
+            }
+            int mask = keys.length - 1;
+            int i = hash(input, start, end) & mask;
+
+            while (keys[i] != null) {
+                if (regionEquals(keys[i], input, start, end)) {
+                    return children[i];
+                }
+                i = (i + 1) & mask;
+            }
+            return null;
+        }
+
+        private Node childOrCreate(String token) {
+            Node child = child(token, 0, token.length());
+            if (child != null) {
+                return child;
+            }
+            if ((size + 1) * 2 > keys.length) {
+                resize();
+            }
+            child = new Node();
+            insert(token, child);
+            size++;
+            return child;
+        }
+
+        private void insert(String token, Node child) {
+            int mask = keys.length - 1;
+            int i = hash(token, 0, token.length()) & mask;
+
+            while (keys[i] != null) {
+                i = (i + 1) & mask;
+            }
+            keys[i] = token;
+            children[i] = child;
+        }
+
+        private void resize() {
+            String[] oldKeys = keys;
+            Node[] oldChildren = children;
+            keys = new String[Math.max(4, oldKeys.length * 2)];
+            children = new Node[keys.length];
+
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != null) {
+                    insert(oldKeys[i], oldChildren[i]);
+                }
+            }
+        }
+
+        private static int hash(CharSequence s, int start, int end) {
+            int h = 0;
+            for (int i = start; i < end; i++) {
+                h = 31 * h + s.charAt(i);
+            }
+            return h ^ (h >>> 16);
+        }
+
+        private static boolean regionEquals(String key, String s, int start, int end) {
+            return key.length() == end - start && s.regionMatches(start, key, 0, key.length());
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package config;
+
+import iface.ICompleter;
+
+import java.util.*;
+
+/**
+ * This class indexes the {@link annotation.Controller}, {@link annotation.Command} and {@link annotation.Arg}
+ * keywords of a configuration, and completes the last token of a partially typed line from them.<br>
+ * Keywords are stored in a trie keyed on the whitespace separated tokens of each command's keyword path, whose
+ * nodes keep their children and the argument keywords of their commands in sorted maps, so that the candidates
+ * for a partial token are found by a single range lookup, rather than by matching the line against every
+ * registered route.<br>
+ * The index is updated whenever a controller is registered or unregistered, and its methods are synchronized, so
+ * that it may be read and updated by several threads at once.
+ */
+public final class CompletionIndex implements ICompleter {
+
+    private final Node root = new Node();
+
+    /**
+     * Constructs a new, empty, index.
+     */
+    CompletionIndex() { }
+
+    /**
+     * Adds the specified keyword path, and the specified argument keywords of the command stored under it.
+     *
+     * @param path the controller and command keyword tokens of the command.
+     * @param keywords the argument keywords of the command.
+     */
+    synchronized void add(String[] path, String[] keywords) {
+        Node node = root;
+        for (String token : path) {
+            node = node.children.computeIfAbsent(token, t -> new Node());
+        }
+        node.commands++;
+        for (String keyword : keywords) {
+            node.arguments.merge(keyword, 1, Integer::sum);
+        }
+    }
+
+    /**
+     * Removes the specified keyword path, and the specified argument keywords of the command stored under it,
+     * which were previously added. Keywords which were also added by another command are kept.
+     *
+     * @param path the controller and command keyword tokens of the command.
+     * @param keywords the argument keywords of the command.
+     */
+    synchronized void remove(String[] path, String[] keywords) {
+        remove(root, path, 0, keywords);
+    }
+
+    /**
+     * {@inheritDoc}<br>
+     * The complete tokens of the line are walked down the trie of keyword paths. If every token is consumed, the
+     * candidates are the next keywords of the reached path, together with the argument keywords of the command
+     * stored under it. Any tokens left over are treated as the keyword/value pairs of the command's arguments,
+     * in which case the candidates are the argument keywords which have not been given yet, unless the last token
+     * is the value of an argument.
+     *
+     * @param line the line, as typed so far.
+     * @return the candidates, in ascending order, or an empty list if the last token can not be completed.
+     */
+    @Override
+    public synchronized List<String> complete(String line) {
+        if (line == null) {
+            return Collections.emptyList();
+        }
+        int partialStart = line.length();
+        while (partialStart > 0 && !Character.isWhitespace(line.charAt(partialStart - 1))) {
+            partialStart--;
+        }
+        String partial = line.substring(partialStart);
+        String[] tokens = line.substring(0, partialStart).trim().split("\\s+");
+        int t = tokens[0].isEmpty() ? tokens.length : 0;
+        Node node = root;
+
+        while (t < tokens.length && node.children.containsKey(tokens[t])) {
+            node = node.children.get(tokens[t++]);
+        }
+        SortedSet<String> candidates = new TreeSet<>();
+        if (t == tokens.length) {
+            candidates.addAll(withPrefix(node.children.navigableKeySet(), partial));
+        }
+        Set<String> given = new HashSet<>();
+        for (; t < tokens.length; t += 2) {
+            if (!node.arguments.containsKey(tokens[t]) || t + 1 == tokens.length) {
+                return new ArrayList<>(candidates);
+            }
+            given.add(tokens[t]);
+        }
+        for (String keyword : withPrefix(node.arguments.navigableKeySet(), partial)) {
+            if (!given.contains(keyword)) {
+                candidates.add(keyword);
+            }
+        }
+        return new ArrayList<>(candidates);
+    }
+
+    /**
+     * Removes the command stored under the specified path below the specified node, and prunes the nodes which no
+     * longer lead to any command.
+     * @return whether the specified node no longer leads to any command.
+     */
+    private static boolean remove(Node node, String[] path, int index, String[] keywords) {
+        if (index == path.length) {
+            if (node.commands == 0) {
+                return false;
+            }
+            node.commands--;
+            for (String keyword : keywords) {
+                node.arguments.computeIfPresent(keyword, (k, count) -> count == 1 ? null : count - 1);
+            }
+        }
+        else {
+            Node child = node.children.get(path[index]);
+            if (child == null) {
+                return false;
+            }
+            if (remove(child, path, index + 1, keywords)) {
+                node.children.remove(path[index]);
+            }
+        }
+        return node.commands == 0 && node.children.isEmpty();
+    }
+
+    /**
+     * Returns a view of the elements of the specified set which start with the specified prefix.
+     */
+    private static NavigableSet<String> withPrefix(NavigableSet<String> set, String prefix) {
+        return set.subSet(prefix, true, prefix + Character.MAX_VALUE, true);
+    }
+
+    /**
+     * A node of the trie, which is reached by a keyword path, and holds the argument keywords of any command
+     * stored under the path, together with the number of commands which declare each of them.
+     */
+    private static final class Node {
+
+        private final NavigableMap<String, Node> children = new TreeMap<>();
+
+        private final NavigableMap<String, Integer> arguments = new TreeMap<>();
+
+        /**
+         * The number of commands stored under the path of this node.
+         */
+        private int commands;
+    }
+}
@@ -4,21 +4,22 @@ import java.lang.reflect.*;
 import annotation.*;
 import iface.*;
 import model.AbstractController;
+import model.CommandDefinition;
 import model.MethodBundle;
 import model.ParamBundle;
-import exception.DefaultedValueException;
-import exception.NoSuchDelimiterException;
-import exception.ParseException;
+import model.PipeConsole;
+import model.SessionConsole;
 import exception.IllegalAnnotationException;
 
 import org.jetbrains.annotations.NotNull;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CountDownLatch;
 
 import static util.AnnotationUtils.*;
-import static util.StringUtils.splitAfterFirst;
 import static util.StringUtils.permute;
-import static util.ObjectUtils.toObject;
-import static util.ObjectUtils.toDefaultValue;
 
 /**
  * This class's protected methods are responsible for populating this class's {@link ReflectionMap},<br>
@@ -30,10 +31,22 @@ public final class Configuration extends AbstractConfiguration {
     // Todo: refactor the regexSet field into the ReflectionMap class.
     /**
      * This set is used to store distinct regular expressions created by this class's
-     * process method.
+     * process method, or distinct structural signatures when the {@link BindingMode#STRUCTURAL} binding mode is used.
      */
     private final Set<String> regexSet = new HashSet<>();
 
+    /**
+     * The registrations of each processed controller, keyed on the binary name of its type, so that a controller
+     * can be unregistered, or replaced by a reloaded type of the same name.
+     */
+    private final Map<String, List<Registration>> registered = new HashMap<>();
+
+    /**
+     * The describer of each keyword path, keyed on the regular expression of its no-match route, which reports
+     * inputs not bound by any of the path's methods when the {@link BindingMode#STRUCTURAL} binding mode is used.
+     */
+    private final Map<String, OverloadDescriber> describers = new HashMap<>();
+
     /**
      * Constructs a new object and initializes this class's IConsole field and {@link ReflectionMap} field.
      * @param console a class which implements the IConsole interface.
@@ -51,153 +64,741 @@ public final class Configuration extends AbstractConfiguration {
      *
      * @param controllers a set of instantiated {@link Controller} annotated classes to be processed.
      * @throws IllegalAnnotationException in the event of insufficient annotations, or in the event of
-     * an annotated method not having the void modifier, or in the event of an annotated method not being an instance method,
+     * an annotated method neither being void nor returning a CompletionStage or rows,
+     * or in the event of an annotated method not being an instance method,
      * or in the event of the same regular expression being derived from two or more annotated elements,
      * or in the event of an annotated method's argument not being of a primitive datatype or wrapper class.
      */
     protected void process(Set<Object> controllers) throws IllegalAnnotationException
     {
-        for (Object object : controllers) {
-            Class<?> objectClass = object.getClass();
+        process(controllers, Collections.emptyList());
+    }
+
+    /**
+     * This process method creates [Regular Expression, {@link iface.IReflection}] entries from the specified
+     * definitions, which were generated at compile time into an {@link IRegistry}, and uses the
+     * {@link java.lang.reflect} api to define the commands of any controllers which none of the definitions
+     * belong to.
+     *
+     * @param controllers a set of instantiated {@link Controller} annotated classes to be processed.
+     * @param definitions the definitions of the <code>Command</code> annotated methods of the controllers.
+     * @throws IllegalAnnotationException in the event of insufficient annotations, or in the event of
+     * an annotated method neither being void nor returning a CompletionStage or rows,
+     * or in the event of an annotated method not being an instance method,
+     * or in the event of the same regular expression being derived from two or more annotated elements,
+     * or in the event of an annotated method's argument not being of a primitive datatype or wrapper class,
+     * or in the event of a definition referring to a method which does not exist.
+     */
+    @Override
+    protected synchronized void process(Set<Object> controllers, List<CommandDefinition> definitions)
+            throws IllegalAnnotationException
+    {
+        Map<Class<?>, List<CommandDefinition>> defined = new HashMap<>();
+        for (CommandDefinition definition : definitions) {
+            defined.computeIfAbsent(definition.getType(), type -> new ArrayList<>()).add(definition);
+        }
+        List<Object> sorted = new ArrayList<>(controllers);
+        sorted.sort(Comparator.comparing(object -> typeOf(object).getName()));
+
+        // controllers are prepared concurrently, but registered in the order of their names, so that the outcome,
+        // including which of two indistinct methods is reported, does not depend on scheduling.
+        List<CompletableFuture<List<Registration>>> futures = new ArrayList<>(sorted.size());
+        for (Object object : sorted) {
+            List<CommandDefinition> commands = defined.get(typeOf(object));
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    return prepare(object, commands != null ? commands : define(typeOf(object)));
+                }
+                catch (IllegalAnnotationException ex) {
+                    throw new CompletionException(ex);
+                }
+            }));
+        }
+
+        super.map().beginBatch();
+        try
+        {
+            for (int i = 0; i < futures.size(); i++) {
+                List<Registration> registrations = join(futures.get(i));
+                for (Registration registration : registrations) {
+                    register(registration);
+                }
+                registered.put(typeOf(sorted.get(i)).getName(), registrations);
+            }
+        }
+        finally
+        {
+            super.map().endBatch();
+        }
+    }
 
-            if (!hasAnnotation(objectClass)) {
+    /**
+     * Registers the specified controller, replacing the controller of the same type name, if one is registered,
+     * in a single update of this class's {@link ReflectionMap}, so that no input dispatched while the controller is
+     * replaced observes neither, or both, of the controllers.<br>
+     * If any of the controller's methods are invalid, or indistinct from those of the other controllers, the
+     * previously registered controller is kept.
+     *
+     * @param controller the instantiated {@link Controller} annotated type.
+     * @throws IllegalAnnotationException in the event of insufficient annotations, or in the event of
+     * an annotated method neither being void nor returning a CompletionStage or rows,
+     * or in the event of an annotated method not being an instance method,
+     * or in the event of the same regular expression being derived from two or more annotated elements,
+     * or in the event of an annotated method's argument not being of a primitive datatype or wrapper class.
+     */
+    @Override
+    protected synchronized void register(Object controller) throws IllegalAnnotationException
+    {
+        String typeName = typeOf(controller).getName();
+        List<Registration> registrations = prepare(controller, define(typeOf(controller)));
+        List<Registration> previous = registered.remove(typeName);
+        List<Registration> done = new ArrayList<>(registrations.size());
+
+        super.map().beginBatch();
+        try
+        {
+            if (previous != null) {
+                previous.forEach(this::unregister);
+            }
+            for (Registration registration : registrations) {
+                register(registration);
+                done.add(registration);
+            }
+            registered.put(typeName, registrations);
+        }
+        catch (IllegalAnnotationException ex)
+        {
+            done.forEach(this::unregister);
+            if (previous != null) {
+                for (Registration registration : previous) {
+                    register(registration);
+                }
+                registered.put(typeName, previous);
+            }
+            throw ex;
+        }
+        finally
+        {
+            super.map().endBatch();
+        }
+    }
+
+    /**
+     * Unregisters the controller whose type has the specified name, in a single update of this class's
+     * {@link ReflectionMap}.
+     *
+     * @param typeName the binary name of the controller's type.
+     * @return <code>true</code> if the controller was registered,<br>
+     * <code>false</code> otherwise.
+     */
+    @Override
+    protected synchronized boolean unregister(String typeName)
+    {
+        List<Registration> registrations = registered.remove(typeName);
+        if (registrations == null) {
+            return false;
+        }
+        super.map().beginBatch();
+        try
+        {
+            registrations.forEach(this::unregister);
+        }
+        finally
+        {
+            super.map().endBatch();
+        }
+        return true;
+    }
+
+    /**
+     * Returns the registrations prepared by the specified future, rethrowing the exception the preparation failed
+     * with, if any.
+     */
+    private static List<Registration> join(CompletableFuture<List<Registration>> future)
+            throws IllegalAnnotationException
+    {
+        try
+        {
+            return future.join();
+        }
+        catch (CompletionException ex)
+        {
+            if (ex.getCause() instanceof IllegalAnnotationException) {
+                throw (IllegalAnnotationException) ex.getCause();
+            }
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Prepares a {@link Registration} for each of the specified definitions, which invokes the defined method on
+     * the specified controller.<br>
+     * This method does not access any of this class's mutable state, and may be called by several threads at once.
+     *
+     * @param object the controller.
+     * @param definitions the definitions of the controller's <code>Command</code> annotated methods.
+     * @return the registrations, in the order of the definitions.
+     * @throws IllegalAnnotationException in the event of a definition referring to a method which does not exist,
+     * or in the event of a method's arguments being invalid for the {@link BindingMode#STRUCTURAL} binding mode.
+     */
+    private List<Registration> prepare(Object object, List<CommandDefinition> definitions)
+            throws IllegalAnnotationException
+    {
+        List<Registration> registrations = new ArrayList<>(definitions.size());
+        for (CommandDefinition definition : definitions) {
+            registrations.add(prepare(object, definition));
+        }
+        return registrations;
+    }
+
+    /**
+     * Uses the {@link java.lang.reflect} api to validate the specified controller, and to define each of its
+     * {@link Command} annotated methods.
+     *
+     * @param objectClass the class of the controller.
+     * @return the definitions, in the order in which the methods are returned by
+     * {@link Class#getDeclaredMethods()}.
+     * @throws IllegalAnnotationException in the event of insufficient annotations, or in the event of
+     * a declared method neither being void nor returning a CompletionStage or rows,
+     * or in the event of a declared method not being an instance method,
+     * or in the event of an annotated method's argument not being of a primitive datatype or wrapper class.
+     */
+    private List<CommandDefinition> define(Class<?> objectClass) throws IllegalAnnotationException
+    {
+        if (!hasAnnotation(objectClass)) {
+            throw new IllegalAnnotationException(
+                    "class is not annotated with @Controller."
+            );
+        }
+        List<CommandDefinition> definitions = new ArrayList<>();
+
+        for (Method method : objectClass.getDeclaredMethods()) {
+            // the bodies of lambdas, such as those completing the stage of an asynchronous method, are not declared
+            // by the controller's source.
+            if (method.isSynthetic()) {
+                continue;
+            }
+            method.setAccessible(true);
+
+            if (isStatic(method)) {
                 throw new IllegalAnnotationException(
-                        "class is not annotated with @Controller."
+                        "method annotated with @Command may not be static."
                 );
             }
 
-            for (Method method : objectClass.getDeclaredMethods()) {
-                method.setAccessible(true);
-                StringBuilder regex = new StringBuilder();
-                StringBuilder setRegex = new StringBuilder();
-
-                if (isStatic(method)) {
-                    throw new IllegalAnnotationException(
-                            "method annotated with @Command may not be static."
-                    );
-                }
-
-                if (!isVoid(method)) {
-                    throw new IllegalAnnotationException(
-                            "method annotated with @Command must be void."
-                    );
-                }
-
-                regex.append("^");
-                setRegex.append("^");
-
-                if (!hasIgnoreKeyword(objectClass)) {
-                    regex.append(getKeyword(objectClass)).append("\\s");
-                    setRegex.append(getKeyword(objectClass)).append("\\s");
-                }
-
-                if (hasAnnotation(method)) {
-                    regex.append(getKeyword(method));
-                    setRegex.append(getKeyword(method));
-                    ParamBundle[] params = new ParamBundle[method.getParameterCount()];
-
-                    if (method.getParameterCount() > 0) {
-                        LinkedList<String> args = new LinkedList<>();
-                        LinkedList<String> nonOptionalArgs = new LinkedList<>();
-
-                        int i = 0;
-                        for (Parameter param : method.getParameters())
-                        {
-                            if (!isPrimitive(param.getType())) {
-                                throw new IllegalAnnotationException(
-                                        "parameter of method annotated with @Command must be primitive."
-                                );
-                            }
-
-                            if (isOptional(param)) {
-                                args.add("(" + "\\s" + getKeyword(param) + "\\s" +
-                                        "\\S*" + "|" + ")");
-                            }
-                            else {
-                                args.add("\\s" + getKeyword(param) + "\\s" +
-                                        "\\S*");
-                                nonOptionalArgs.add(args.get(args.size() - 1));
-                            }
-                            params[i++] = new ParamBundle(param.getType(), getKeyword(param));
-                        }
-                        setRegex.append(permute(nonOptionalArgs));
-                        regex.append(permute(args));
-                    }
-                    regex.append("$");
-                    setRegex.append("$");
+            if (!isVoid(method) && !isAsync(method) && !RowRenderer.isRows(method.getReturnType())) {
+                throw new IllegalAnnotationException(
+                        "method annotated with @Command must be void, or return a CompletionStage, " +
+                                "a Stream, an Iterator or an Iterable."
+                );
+            }
 
-                    if (!regexSet.add(setRegex.toString())) {
+            if (hasAnnotation(method)) {
+                String[] keywords = new String[method.getParameterCount()];
+                boolean[] optional = new boolean[method.getParameterCount()];
+
+                int i = 0;
+                for (Parameter param : method.getParameters())
+                {
+                    if (!isPrimitive(param.getType())) {
                         throw new IllegalAnnotationException(
-                                "the final regex pattern derived from a method annotated with @Command, " +
-                                        "and it's non-optional arguments must be distinct."
+                                "parameter of method annotated with @Command must be primitive."
                         );
                     }
-                      super.map().put(regex.toString(), (input) -> {
-                        try {
-                            invoke(new MethodBundle(object, method, params), input);
-                        }
-                        catch (Exception ex) {
-                            ex.printStackTrace();
-                        }
-                    });
-
-                    if (hasNoMatch(method)) {
-                        String key = "^" + (hasIgnoreKeyword(objectClass) ? "" : getKeyword(objectClass)
-                                .concat("\\s")).concat(getKeyword(method)).concat("(|.*)$");
-                        super.map().append(key, (input) -> super.console().printerr(getNoMatch(method)));
-                    }
+                    keywords[i] = getKeyword(param);
+                    optional[i++] = isOptional(param);
+                }
+                definitions.add(new CommandDefinition(objectClass,
+                        hasIgnoreKeyword(objectClass) ? null : getKeyword(objectClass), getKeyword(method),
+                        getNoMatch(method), method, keywords, optional));
+            }
+        }
+        return definitions;
+    }
+
+    /**
+     * Prepares the [Regular Expression, {@link iface.IReflection}] entries of the specified definition, which
+     * invoke the defined method on the specified controller, compiling the method's regular expression,
+     * or creating its {@link ArgumentBinder}.
+     *
+     * @param object the controller.
+     * @param definition the definition of one of the controller's <code>Command</code> annotated methods.
+     * @return the registration.
+     * @throws IllegalAnnotationException in the event of the definition referring to a method which does not exist,
+     * or in the event of the method's arguments being invalid for the {@link BindingMode#STRUCTURAL} binding mode.
+     */
+    private Registration prepare(Object object, CommandDefinition definition) throws IllegalAnnotationException
+    {
+        String controllerKeyword = definition.getControllerKeyword();
+        String[] keywords = definition.getKeywords();
+        boolean[] optional = definition.getOptional();
+        String[] path = ((controllerKeyword == null ? "" : controllerKeyword + " ")
+                + definition.getKeyword()).trim().split("\\s+");
+        String prefix = "^" + (controllerKeyword == null ? "" : controllerKeyword.concat("\\s"))
+                .concat(definition.getKeyword());
+        StringBuilder regex = new StringBuilder(prefix);
+        StringBuilder setRegex = new StringBuilder(prefix);
+        ParamBundle[] params = new ParamBundle[keywords.length];
+
+        if (keywords.length > 0) {
+            LinkedList<String> args = new LinkedList<>();
+            LinkedList<String> nonOptionalArgs = new LinkedList<>();
+
+            for (int i = 0; i < keywords.length; i++)
+            {
+                if (optional[i]) {
+                    args.add("(" + "\\s" + keywords[i] + "\\s" +
+                            "\\S*" + "|" + ")");
                 }
+                else {
+                    args.add("\\s" + keywords[i] + "\\s" +
+                            "\\S*");
+                    nonOptionalArgs.add(args.get(args.size() - 1));
+                }
+                params[i] = new ParamBundle(definition.getParameterTypes()[i], keywords[i]);
+            }
+            // arguments are bound by an ArgumentBinder in structural mode, and need not be permuted.
+            if (super.bindingMode() == BindingMode.REGEX) {
+                setRegex.append(permute(nonOptionalArgs));
+                regex.append(permute(args));
+            }
+        }
+        regex.append("$");
+        setRegex.append("$");
+
+        MethodBundle methodBundle = new MethodBundle(object, methodOf(definition), params, path.length,
+                definition.getInvoker());
+        String command = String.join(" ", path);
+        CommandMetrics metrics = new CommandMetrics(command +
+                (keywords.length == 0 ? "" : " [" + String.join(", ", keywords) + "]"));
+        boolean async = returnsStage(definition);
+        IReflection reflection = (input) -> {
+            try {
+                invoke(methodBundle, input, command, metrics, async);
+            }
+            catch (Throwable ex) {
+                if (super.metrics().isEnabled()) {
+                    metrics.fail();
+                }
+                FailureTracker tracker = FailureTracker.current();
+                if (tracker != null) {
+                    tracker.fail();
+                }
+                ex.printStackTrace();
+            }
+        };
+        String noMatchKey = prefix + "(|.*)$";
+        IReflection noMatch = null;
+
+        if (definition.getNoMatch() != null) {
+            String message = definition.getNoMatch();
+            noMatch = (input) -> super.console().printerr(message);
+        }
+
+        if (super.bindingMode() == BindingMode.STRUCTURAL) {
+            ArgumentBinder binder = bind(path, keywords, optional);
+            return new Registration(path, keywords, new Route(signature(path, keywords, optional), path, binder, reflection),
+                    distinctKey(path, keywords, optional), true, noMatchKey, noMatch, metrics);
+        }
+        return new Registration(path, keywords, new Route(regex.toString(), path, reflection), setRegex.toString(), false,
+                noMatchKey, noMatch, metrics);
+    }
+
+    /**
+     * Puts the entries of the specified registration into this class's {@link ReflectionMap}, and adds its
+     * distinct key to this class's {@link #regexSet}.<br>
+     * A structural registration without a no-match message of its own is added to the {@link OverloadDescriber} of
+     * its keyword path, which is appended to the map for the first such registration of the path.
+     *
+     * @param registration the registration.
+     * @throws IllegalAnnotationException in the event of the distinct key of the registration having already been
+     * added by another registration.
+     */
+    private void register(Registration registration) throws IllegalAnnotationException
+    {
+        if (!regexSet.add(registration.distinctKey())) {
+            throw new IllegalAnnotationException(registration.structural() ?
+                    "the keywords of a method annotated with @Command, " +
+                            "and it's non-optional arguments must be distinct." :
+                    "the final regex pattern derived from a method annotated with @Command, " +
+                            "and it's non-optional arguments must be distinct."
+            );
+        }
+        super.map().put(registration.route());
+        super.metrics().register(registration.route().reflection(), registration.metrics());
+        super.completions().add(registration.path(), registration.keywords());
+        super.suggestions().add(registration.path());
+
+        if (registration.noMatch() != null) {
+            super.map().append(registration.noMatchKey(), registration.path(), registration.noMatch());
+        }
+        else if (registration.structural()) {
+            OverloadDescriber describer = describers.get(registration.noMatchKey());
+            if (describer == null) {
+                describer = new OverloadDescriber(super.console());
+                describers.put(registration.noMatchKey(), describer);
+                super.map().append(registration.noMatchKey(), registration.path(), describer);
+            }
+            describer.add(registration.route().binder());
+        }
+    }
+
+    /**
+     * Removes everything the specified registration put into this configuration, so that its method is no longer
+     * dispatched to, completed, or suggested, and its distinct key may be registered again.
+     *
+     * @param registration the registration.
+     */
+    private void unregister(Registration registration)
+    {
+        regexSet.remove(registration.distinctKey());
+        super.map().remove(registration.route());
+        super.metrics().unregister(registration.route().reflection());
+        super.completions().remove(registration.path(), registration.keywords());
+        super.suggestions().remove(registration.path());
+
+        if (registration.noMatch() != null) {
+            super.map().removeAppended(registration.noMatchKey(), registration.noMatch());
+        }
+        else if (registration.structural()) {
+            OverloadDescriber describer = describers.get(registration.noMatchKey());
+            if (describer != null && describer.remove(registration.route().binder())) {
+                describers.remove(registration.noMatchKey());
+                super.map().removeAppended(registration.noMatchKey(), describer);
             }
         }
     }
 
+    /**
+     * Returns the method of the specified definition, looking it up by its name and parameter types if the
+     * definition holds neither a method nor an invoker.
+     *
+     * @param definition the definition.
+     * @return the method, or <code>null</code> if the definition holds an invoker.
+     * @throws IllegalAnnotationException in the event of the definition referring to a method which does not exist.
+     */
+    private static Method methodOf(CommandDefinition definition) throws IllegalAnnotationException
+    {
+        if (definition.getMethod() != null || definition.getInvoker() != null) {
+            return definition.getMethod();
+        }
+        try
+        {
+            Method method = definition.getType()
+                    .getDeclaredMethod(definition.getMethodName(), definition.getParameterTypes());
+            method.setAccessible(true);
+            return method;
+        }
+        catch (NoSuchMethodException ex)
+        {
+            throw new IllegalAnnotationException(
+                    "method '" + definition.getMethodName() + "' of " + definition.getType().getName() +
+                            " could not be found, the generated registry may be out of date."
+            );
+        }
+    }
+
+    /**
+     * Creates an {@link ArgumentBinder} for a {@link Command} annotated method with the specified keyword path
+     * and arguments.
+     *
+     * @param path the controller and command keyword tokens of the method.
+     * @param keywords the keywords of the method's arguments.
+     * @param optional whether each of the method's arguments is optional.
+     * @return the binder.
+     * @throws IllegalAnnotationException in the event of two of the method's arguments sharing a keyword, or in the
+     * event of the method having too many arguments.
+     */
+    private static ArgumentBinder bind(String[] path, String[] keywords, boolean[] optional)
+            throws IllegalAnnotationException
+    {
+        if (keywords.length > ArgumentBinder.MAX_ARGUMENTS) {
+            throw new IllegalAnnotationException(
+                    "method annotated with @Command may not declare more than " +
+                            ArgumentBinder.MAX_ARGUMENTS + " parameters."
+            );
+        }
+        if (new HashSet<>(Arrays.asList(keywords)).size() != keywords.length) {
+            throw new IllegalAnnotationException(
+                    "the keywords of the parameters of a method annotated with @Command must be distinct."
+            );
+        }
+        return new ArgumentBinder(path, keywords, optional);
+    }
+
+    /**
+     * Returns the key under which a {@link Command} annotated method needs to be distinct when the
+     * {@link BindingMode#STRUCTURAL} binding mode is used, which consists of its keyword path and the set of its
+     * non-optional arguments.
+     *
+     * @param path the controller and command keyword tokens of the method.
+     * @param keywords the keywords of the method's arguments.
+     * @param optional whether each of the method's arguments is optional.
+     * @return the key.
+     */
+    private static String distinctKey(String[] path, String[] keywords, boolean[] optional) {
+        TreeSet<String> nonOptionalKeywords = new TreeSet<>();
+        for (int i = 0; i < keywords.length; i++) {
+            if (!optional[i]) {
+                nonOptionalKeywords.add(keywords[i]);
+            }
+        }
+        return String.join(" ", path) + " " + nonOptionalKeywords;
+    }
+
+    /**
+     * Returns a readable signature of a {@link Command} annotated method, under which the method is stored in the
+     * {@link ReflectionMap} when the {@link BindingMode#STRUCTURAL} binding mode is used.
+     *
+     * @param path the controller and command keyword tokens of the method.
+     * @param keywords the keywords of the method's arguments.
+     * @param optional whether each of the method's arguments is optional.
+     * @return the signature.
+     */
+    private static String signature(String[] path, String[] keywords, boolean[] optional) {
+        StringBuilder signature = new StringBuilder(String.join(" ", path));
+        for (int i = 0; i < keywords.length; i++) {
+            signature.append(optional[i] ? " [" : " <").append(keywords[i]).append(optional[i] ? "]" : ">");
+        }
+        return signature.toString();
+    }
+
     /**
      * This method parses the specified input string and uses its content to initialize the arguments of
      * the specified method, and then invokes the specified method.<br>
-     * If the delimiter for one or more of the specified method's arguments are not present as a
-     * substring of the input, then the value of that parameters is defaulted.
-     * The value of the defaulted parameter is determined by the type of the parameter.
+     * The input is scanned once by the method's {@link util.Tokenizer}, and each argument is parsed directly from
+     * its slice of the input by its parameter's {@link iface.IConverter}.<br>
+     * If the keyword of one or more of the specified method's arguments is not present in the input,
+     * then the value of that parameter is defaulted.
+     * The value of the defaulted parameter is determined by the type of the parameter, and is resolved when the
+     * parameter's {@link ParamBundle} is constructed.<br>
+     * Missing and unparsable values are recorded as status flags in a {@link MethodInvocationState} constructed for
+     * this invocation, so no <code>Exceptions</code> are thrown or constructed while the arguments are initialized.
+     * The state is bound to the current thread while the method runs, where the controller's
+     * {@link AbstractController#invokeState()} finds it, together with the command's console, which is its
+     * {@link PipeConsole} if the command runs in a pipeline, see {@link AbstractController#io()}.
+     *
+     * If metrics are enabled, the time spent parsing the arguments, and the time spent running the method,
+     * are recorded in the specified metrics.
+     * If a Flight Recorder recording is running, a {@link ParseEvent} and an {@link InvokeEvent} are emitted.
+     * If the method returns a <code>Stream</code>, an <code>Iterator</code> or an <code>Iterable</code>, its rows
+     * are rendered lazily to the console of the invocation by a {@link RowRenderer}, as part of running the method.
+     * If the method returns a <code>CompletionStage</code>, its result is reported once it completes, see
+     * {@link #complete(CompletionStage, String, CommandMetrics, PendingCommands)}.
      *
      * @param methodBundle the <code>MethodBundle</code> object.
      * @param input the <code>String</code> from which the specified method's arguments are to be parsed.
-     * @throws Exception in the event of an <code>Exception</code> being thrown during the call to
-     * {@link java.lang.reflect.Method#invoke(Object, Object...)} on the specified method.
+     * @param command the controller and command keywords of the specified method.
+     * @param metrics the metrics of the specified method.
+     * @param async whether the specified method returns a <code>CompletionStage</code>, in which case the invocation
+     * is counted by this class's {@link PendingCommands} before the method is invoked, waiting first if the limit of
+     * pending commands has been reached.
+     * @throws Throwable in the event of a <code>Throwable</code> being thrown during the call to
+     * {@link iface.IInvoker#invoke(Object, Object[])} on the specified method's invoker.
      */
-    private void invoke(@NotNull MethodBundle methodBundle, String input)
-            throws Exception
+    private void invoke(@NotNull MethodBundle methodBundle, String input, String command, CommandMetrics metrics,
+                        boolean async) throws Throwable
     {
-        Object[] args = new Object[methodBundle.getParams().length];
-        Object arg = null;
+        // a lazy controller is constructed before parsing is timed, as its construction time is recorded by the
+        // LazyController itself, and would otherwise skew the command's parse times.
+        Object controller = controllerOf(methodBundle.getObject());
+        boolean timed = super.metrics().isEnabled();
+        long start = timed ? System.nanoTime() : 0L;
+        Object parseEvent = DispatchEvents.beginParse();
+        ParamBundle[] params = methodBundle.getParams();
+        Object[] args = new Object[params.length];
+        int[] slices = methodBundle.getTokenizer().tokenize(input);
+        MethodInvocationState state = null;
 
-        if (methodBundle.getObject().getClass().getSuperclass() == AbstractController.class) {
-            ((AbstractController) methodBundle.getObject()).invokeState().clear();
+        if (controller instanceof AbstractController) {
+            PipeConsole io = PipeConsole.current();
+            state = new MethodInvocationState(controller, params, input, slices, io != null ? io : super.console());
         }
+        int defaulted = 0;
 
-        int i = 0;
-        for (ParamBundle paramBundle : methodBundle.getParams()) {
-            try
-            {
-                arg = toObject(paramBundle.getType(), splitAfterFirst(input, paramBundle.getName()));
+        for (int i = 0; i < params.length; i++) {
+            int status = ArgumentInitializationState.MISSING;
+            Object arg = IConverter.FAILURE;
+
+            if (slices[2 * i] != -1) {
+                status = ArgumentInitializationState.PARSE_FAILED;
+                arg = params[i].getConverter().convert(input, slices[2 * i], slices[2 * i + 1]);
             }
-            catch (ParseException | NoSuchDelimiterException ex)
-            {
-                arg = toDefaultValue(paramBundle.getType());
+            if (arg == IConverter.FAILURE) {
+                arg = params[i].getDefaultValue();
+                defaulted++;
 
-                if (methodBundle.getObject().getClass().getSuperclass() == AbstractController.class) {
-                    ((AbstractController) methodBundle.getObject()).invokeState()
-                            .append(paramBundle.getName(), ex)
-                            .append(paramBundle.getName(), new DefaultedValueException
-                                    ("'" + paramBundle.getName() + "' was defaulted."));
+                if (state != null) {
+                    state.set(i, status | ArgumentInitializationState.DEFAULTED);
                 }
             }
+            args[i] = arg;
+        }
 
-            catch (IllegalArgumentException | ArrayIndexOutOfBoundsException ex) {
-                ex.printStackTrace();
+        long parsed = timed ? System.nanoTime() : 0L;
+        if (timed) {
+            metrics.parseTime().record(parsed - start);
+        }
+        if (parseEvent != null) {
+            DispatchEvents.commitParse(parseEvent, command, params.length, defaulted);
+        }
+        PendingCommands pending = async ? super.pending() : null;
+        if (pending != null) {
+            pending.acquire();
+        }
+        MethodInvocationState previous = state != null ? MethodInvocationState.bind(state) : null;
+        Object invokeEvent = DispatchEvents.beginInvoke();
+        boolean failed = true;
+        Object result = null;
+        try
+        {
+            result = methodBundle.getInvoker().invoke(controller, args);
+            if (RowRenderer.isRows(result)) {
+                RowRenderer.render(result, consoleOfInvocation());
+            }
+            failed = false;
+        }
+        finally
+        {
+            if (invokeEvent != null) {
+                DispatchEvents.commitInvoke(invokeEvent, command, defaulted != 0, failed);
+            }
+            if (state != null) {
+                MethodInvocationState.restore(previous);
+            }
+            if (timed) {
+                metrics.methodTime().record(System.nanoTime() - parsed);
+            }
+            // the method threw, or returned no stage whose completion would release the count.
+            if (pending != null && !(result instanceof CompletionStage)) {
+                pending.release();
+            }
+        }
+        if (result instanceof CompletionStage) {
+            complete((CompletionStage<?>) result, input, metrics, pending);
+        }
+    }
+
+    /**
+     * Reports the result of the specified stage, returned by an asynchronous annotated method, once it completes:
+     * a result other than <code>null</code> is printed, or, if it holds rows, rendered by a {@link RowRenderer}, to
+     * the console of the invocation, as is the exception of a
+     * stage which completes exceptionally, which is also counted as a failure by the method's metrics.<br>
+     * The count of the invocation, taken before the method was invoked, is released once the stage completes.
+     * If a {@link FailureTracker} is bound to the current thread, it counts the stage until it completes.
+     * If the method runs in a pipeline, this method waits for the stage to complete, so that its result is streamed
+     * to the next command.
+     *
+     * @param stage the stage.
+     * @param input the input of the invocation.
+     * @param metrics the metrics of the method.
+     * @param pending the pending commands counting the invocation, or <code>null</code> if it is not counted.
+     */
+    private void complete(CompletionStage<?> stage, String input, CommandMetrics metrics, PendingCommands pending) {
+        IConsole io = PipeConsole.current();
+        IConsole console = consoleOfInvocation();
+        CountDownLatch done = io != null ? new CountDownLatch(1) : null;
+        FailureTracker tracker = FailureTracker.current();
+        if (tracker != null) {
+            tracker.beginStage();
+        }
+
+        stage.whenComplete((value, ex) -> {
+            try {
+                if (ex != null) {
+                    if (super.metrics().isEnabled()) {
+                        metrics.fail();
+                    }
+                    Throwable cause = ex instanceof CompletionException && ex.getCause() != null ?
+                            ex.getCause() : ex;
+                    console.printerr("'" + input + "' failed: " + cause);
+                }
+                else if (RowRenderer.isRows(value)) {
+                    RowRenderer.render(value, console);
+                }
+                else if (value != null) {
+                    console.println(String.valueOf(value));
+                }
             }
             finally {
-                args[i++] = arg;
+                if (tracker != null) {
+                    tracker.endStage(ex != null);
+                }
+                if (pending != null) {
+                    pending.release();
+                }
+                if (done != null) {
+                    done.countDown();
+                }
+            }
+        });
+        if (done != null) {
+            boolean interrupted = false;
+            while (done.getCount() != 0L) {
+                try
+                {
+                    done.await();
+                }
+                catch (InterruptedException ex)
+                {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Evaluates and determines whether the method of the specified definition returns a <code>CompletionStage</code>,
+     * looking the method up by its name if the definition was read from a generated registry.
+     */
+    private static boolean returnsStage(CommandDefinition definition) {
+        Method method = definition.getMethod();
+        if (method == null) {
+            try
+            {
+                method = definition.getType()
+                        .getDeclaredMethod(definition.getMethodName(), definition.getParameterTypes());
+            }
+            catch (NoSuchMethodException ex)
+            {
+                return false;
             }
         }
-        methodBundle.getMethod().invoke(methodBundle.getObject(), args);
+        return isAsync(method);
+    }
+
+    /**
+     * Returns the console of the invocation in progress on the current thread, which is the {@link PipeConsole} of
+     * the command if it runs in a pipeline, the console of the current session if this configuration's console is a
+     * {@link SessionConsole}, and this configuration's console otherwise.
+     */
+    private IConsole consoleOfInvocation() {
+        IConsole io = PipeConsole.current();
+        if (io != null) {
+            return io;
+        }
+        return super.console() instanceof SessionConsole ?
+                ((SessionConsole) super.console()).current() : super.console();
+    }
+
+    /**
+     * Returns the class of the specified controller, which may be a {@link LazyController} standing in for a
+     * controller which has not yet been instantiated.
+     */
+    private static Class<?> typeOf(Object object) {
+        return object instanceof LazyController ? ((LazyController) object).type() : object.getClass();
+    }
+
+    /**
+     * Returns the specified controller, instantiating it first if it is a {@link LazyController}.
+     */
+    private static Object controllerOf(Object object) {
+        return object instanceof LazyController ? ((LazyController) object).get() : object;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,301 @@
+package config;
+
+import annotation.Controller;
+import exception.IllegalAnnotationException;
+import exception.NoValidConstructorException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.file.StandardWatchEventKinds.*;
+
+/**
+ * This class watches a directory of class files through a {@link WatchService}, and registers the
+ * {@link Controller} annotated classes which are added or changed with a {@link Builder}'s configuration,
+ * unregistering those which are removed, or are no longer annotated.<br>
+ * Changes are collected until the directory has been quiet for a short while, so that a compiler writing several
+ * class files causes a single reload, and each reload loads the changed classes through a new class loader, which
+ * loads the classes of the directory before those of its parent, except for the classes of this library.
+ * A class which can not be loaded or registered is reported to the configuration's console, and the previously
+ * registered class of the same name, if any, is kept.<br>
+ * The directory is watched by a daemon thread, until this object is closed.
+ */
+public final class ControllerWatcher implements Closeable {
+
+    /**
+     * The time the directory needs to be quiet for, before the collected changes are reloaded.
+     */
+    private static final long QUIET_PERIOD_MILLIS = 200L;
+
+    private static final String CLASS_SUFFIX = ".class";
+
+    private final Builder builder;
+
+    private final Path directory;
+
+    private final WatchService watchService;
+
+    private final Thread thread;
+
+    /**
+     * The names of the classes of the directory which are currently registered.
+     */
+    private final Set<String> registered = new HashSet<>();
+
+    private volatile boolean closed;
+
+    /**
+     * Registers the annotated classes of the specified directory with the specified builder's configuration,
+     * and starts watching the directory.
+     *
+     * @param builder the builder whose configuration has been built.
+     * @param directory the root directory of the class files.
+     * @throws IOException in the event of the directory not being readable.
+     */
+    ControllerWatcher(Builder builder, Path directory) throws IOException {
+        this.builder = builder;
+        this.directory = directory.toAbsolutePath().normalize();
+        this.watchService = this.directory.getFileSystem().newWatchService();
+        reload(watchAll(this.directory));
+        this.thread = new Thread(this::watch, "cli-controller-watcher");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Returns the names of the annotated classes of the directory which are currently registered.
+     * @return the names of the classes, in ascending order.
+     */
+    public synchronized List<String> registered() {
+        List<String> names = new ArrayList<>(registered);
+        Collections.sort(names);
+        return names;
+    }
+
+    /**
+     * Stops watching the directory. The registered classes are kept.
+     * @throws IOException in the event of the watch service failing to close.
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        watchService.close();
+    }
+
+    /**
+     * Waits for changes, and reloads them once the directory has been quiet for {@link #QUIET_PERIOD_MILLIS}.
+     */
+    private void watch() {
+        try
+        {
+            while (!closed) {
+                Set<String> changed = new TreeSet<>();
+                WatchKey key = watchService.take();
+
+                while (key != null) {
+                    changed.addAll(changes(key));
+                    key = watchService.poll(QUIET_PERIOD_MILLIS, TimeUnit.MILLISECONDS);
+                }
+                reload(changed);
+            }
+        }
+        catch (InterruptedException | ClosedWatchServiceException ex)
+        {
+            // the watcher was closed.
+        }
+    }
+
+    /**
+     * Returns the names of the classes whose files were changed according to the events of the specified key,
+     * and watches any directories which were created.
+     */
+    private Set<String> changes(WatchKey key) {
+        Set<String> changed = new HashSet<>();
+        Path parent = (Path) key.watchable();
+
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == OVERFLOW) {
+                changed.addAll(scan(directory));
+                continue;
+            }
+            Path path = parent.resolve((Path) event.context());
+            if (event.kind() == ENTRY_CREATE && Files.isDirectory(path)) {
+                try
+                {
+                    changed.addAll(watchAll(path));
+                }
+                catch (IOException ex)
+                {
+                    builder.configuration().console().printerr(
+                            "'" + path + "' could not be watched: " + ex.getMessage()
+                    );
+                }
+            }
+            else if (path.getFileName().toString().endsWith(CLASS_SUFFIX)) {
+                changed.add(nameOf(path));
+            }
+        }
+        key.reset();
+        return changed;
+    }
+
+    /**
+     * Registers each of the specified classes which exists and is annotated, and unregisters each which does not.
+     */
+    private synchronized void reload(Set<String> names) {
+        if (names.isEmpty()) {
+            return;
+        }
+        ClassLoader loader = new ReloadingClassLoader(directory, Builder.class.getClassLoader());
+
+        for (String name : names) {
+            Path file = directory.resolve(name.replace('.', '/') + CLASS_SUFFIX);
+            try
+            {
+                Class<?> type = Files.isRegularFile(file) ? Class.forName(name, false, loader) : null;
+
+                if (type != null && type.isAnnotationPresent(Controller.class)) {
+                    builder.register(type);
+                    registered.add(name);
+                }
+                else if (registered.remove(name)) {
+                    builder.configuration().unregister(name);
+                }
+            }
+            catch (ClassNotFoundException | LinkageError | IllegalAnnotationException |
+                    NoValidConstructorException | RuntimeException ex)
+            {
+                builder.configuration().console().printerr(
+                        "'" + name + "' could not be reloaded: " + ex
+                );
+            }
+        }
+    }
+
+    /**
+     * Watches the specified directory and each of its sub-directories.
+     * @return the names of the classes found in the directories.
+     */
+    private Set<String> watchAll(Path root) throws IOException {
+        Set<String> names = new TreeSet<>();
+        Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                dir.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                if (file.getFileName().toString().endsWith(CLASS_SUFFIX)) {
+                    names.add(nameOf(file));
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        return names;
+    }
+
+    /**
+     * Returns the names of the classes found in the specified directory, and the names of the registered classes,
+     * so that classes which were removed without an event being delivered are unregistered.
+     */
+    private Set<String> scan(Path root) {
+        Set<String> names = new TreeSet<>(registered);
+        try
+        {
+            names.addAll(watchAll(root));
+        }
+        catch (IOException ex)
+        {
+            builder.configuration().console().printerr(
+                    "'" + root + "' could not be scanned: " + ex.getMessage()
+            );
+        }
+        return names;
+    }
+
+    /**
+     * Returns the binary name of the class of the specified class file.
+     */
+    private String nameOf(Path file) {
+        String relative = directory.relativize(file).toString();
+        return relative.substring(0, relative.length() - CLASS_SUFFIX.length())
+                .replace(file.getFileSystem().getSeparator(), ".");
+    }
+
+    /**
+     * A class loader which loads the classes of a directory before those of its parent, so that a changed class is
+     * loaded from the directory even if a class of the same name is visible to the parent.<br>
+     * The classes of this library are always loaded by the parent, so that the annotations of a reloaded class are
+     * those the configuration looks for. A class belongs to this library if the parent finds it in the same jar or
+     * directory as this class, rather than by its package, so that a controller in a package such as
+     * <code>model</code> or <code>util</code> is still reloaded.
+     */
+    private static final class ReloadingClassLoader extends URLClassLoader {
+
+        /**
+         * The URL of the jar or directory of this library's classes, which ends with a <code>/</code>,
+         * or <code>null</code> if it could not be determined.
+         */
+        private static final String LIBRARY_ROOT = libraryRoot();
+
+        private ReloadingClassLoader(Path directory, ClassLoader parent) {
+            super(new URL[]{toURL(directory)}, parent);
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> type = findLoadedClass(name);
+                if (type == null && !isShared(name) && findResource(name.replace('.', '/') + CLASS_SUFFIX) != null) {
+                    type = findClass(name);
+                }
+                if (type == null) {
+                    return super.loadClass(name, resolve);
+                }
+                if (resolve) {
+                    resolveClass(type);
+                }
+                return type;
+            }
+        }
+
+        private boolean isShared(String name) {
+            if (name.startsWith("java.")) {
+                return true;
+            }
+            String path = name.replace('.', '/') + CLASS_SUFFIX;
+            URL resource = getParent() != null ? getParent().getResource(path) : null;
+            return resource != null && LIBRARY_ROOT != null && resource.toString().equals(LIBRARY_ROOT + path);
+        }
+
+        private static String libraryRoot() {
+            String path = ControllerWatcher.class.getName().replace('.', '/') + CLASS_SUFFIX;
+            URL resource = ControllerWatcher.class.getClassLoader() != null ?
+                    ControllerWatcher.class.getClassLoader().getResource(path) : null;
+            if (resource == null) {
+                return null;
+            }
+            String url = resource.toString();
+            return url.endsWith(path) ? url.substring(0, url.length() - path.length()) : null;
+        }
+
+        private static URL toURL(Path directory) {
+            try
+            {
+                return directory.toUri().toURL();
+            }
+            catch (IOException ex)
+            {
+                throw new IllegalArgumentException(ex);
+            }
+        }
+    }
+}
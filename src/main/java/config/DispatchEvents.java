@@ -0,0 +1,145 @@
+package config;
+
+import jdk.jfr.EventType;
+
+/**
+ * This class begins and commits the JDK Flight Recorder events emitted by the dispatch path, which are
+ * {@link MatchEvent}, {@link ParseEvent} and {@link InvokeEvent}.<br>
+ * The events are passed around as <code>Objects</code>, so that the classes of the dispatch path do not refer to
+ * the <code>jdk.jfr</code> module, and can be loaded by runtimes which do not include it, in which case no events
+ * are emitted.<br>
+ * Each begin method returns <code>null</code> unless the event is enabled in a running recording, which is read from
+ * the event's cached {@link jdk.jfr.EventType} before any event is constructed, so that dispatching an input while
+ * no recording is running costs a single check per event, and allocates no events.
+ */
+final class DispatchEvents {
+
+    private static final boolean AVAILABLE = isAvailable();
+
+    private DispatchEvents() { }
+
+    /**
+     * This class holds the type of each event, and is only initialized if the <code>jdk.jfr</code> module is
+     * available.
+     */
+    private static final class Types {
+
+        private static final EventType MATCH = EventType.getEventType(MatchEvent.class);
+
+        private static final EventType PARSE = EventType.getEventType(ParseEvent.class);
+
+        private static final EventType INVOKE = EventType.getEventType(InvokeEvent.class);
+    }
+
+    /**
+     * Begins a match event.
+     * @return the event, or <code>null</code> if the event is not enabled.
+     */
+    static Object beginMatch() {
+        if (!AVAILABLE || !Types.MATCH.isEnabled()) {
+            return null;
+        }
+        MatchEvent event = new MatchEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends and commits the specified match event.
+     *
+     * @param event the event returned by {@link #beginMatch()}.
+     * @param command the controller and command keywords of the matched route, or <code>null</code>.
+     * @param matched whether the input was matched.
+     * @param partial whether the input only partially matched a command.
+     * @param dispatchMode the dispatch mode used to match the input.
+     */
+    static void commitMatch(Object event, String command, boolean matched, boolean partial,
+                            DispatchMode dispatchMode) {
+        MatchEvent matchEvent = (MatchEvent) event;
+        matchEvent.end();
+        if (matchEvent.shouldCommit()) {
+            matchEvent.command = command;
+            matchEvent.matched = matched;
+            matchEvent.partial = partial;
+            matchEvent.dispatchMode = dispatchMode.name();
+            matchEvent.commit();
+        }
+    }
+
+    /**
+     * Begins a parse event.
+     * @return the event, or <code>null</code> if the event is not enabled.
+     */
+    static Object beginParse() {
+        if (!AVAILABLE || !Types.PARSE.isEnabled()) {
+            return null;
+        }
+        ParseEvent event = new ParseEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends and commits the specified parse event.
+     *
+     * @param event the event returned by {@link #beginParse()}.
+     * @param command the controller and command keywords of the command.
+     * @param arguments the number of the command's arguments.
+     * @param defaultedArguments the number of the command's arguments which were defaulted.
+     */
+    static void commitParse(Object event, String command, int arguments, int defaultedArguments) {
+        ParseEvent parseEvent = (ParseEvent) event;
+        parseEvent.end();
+        if (parseEvent.shouldCommit()) {
+            parseEvent.command = command;
+            parseEvent.arguments = arguments;
+            parseEvent.defaultedArguments = defaultedArguments;
+            parseEvent.defaulted = defaultedArguments != 0;
+            parseEvent.commit();
+        }
+    }
+
+    /**
+     * Begins an invoke event.
+     * @return the event, or <code>null</code> if the event is not enabled.
+     */
+    static Object beginInvoke() {
+        if (!AVAILABLE || !Types.INVOKE.isEnabled()) {
+            return null;
+        }
+        InvokeEvent event = new InvokeEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends and commits the specified invoke event.
+     *
+     * @param event the event returned by {@link #beginInvoke()}.
+     * @param command the controller and command keywords of the command.
+     * @param defaulted whether any of the command's arguments were defaulted.
+     * @param failed whether the command's method threw.
+     */
+    static void commitInvoke(Object event, String command, boolean defaulted, boolean failed) {
+        InvokeEvent invokeEvent = (InvokeEvent) event;
+        invokeEvent.end();
+        if (invokeEvent.shouldCommit()) {
+            invokeEvent.command = command;
+            invokeEvent.defaulted = defaulted;
+            invokeEvent.failed = failed;
+            invokeEvent.commit();
+        }
+    }
+
+    private static boolean isAvailable() {
+        try
+        {
+            Class.forName("jdk.jfr.Event", false, DispatchEvents.class.getClassLoader());
+            return true;
+        }
+        catch (ClassNotFoundException | LinkageError ex)
+        {
+            return false;
+        }
+    }
+}
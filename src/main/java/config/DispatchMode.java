@@ -0,0 +1,23 @@
+package config;
+
+/**
+ * This enum declares the strategies a {@link ReflectionMap} may use to resolve an input to an
+ * {@link iface.IReflection} value.
+ */
+public enum DispatchMode {
+
+    /**
+     * Every regular expression is evaluated against the input, in the order in which they were registered,
+     * until one of them matches.<br>
+     * The cost of a lookup grows with the number of registered commands.
+     */
+    REGEX,
+
+    /**
+     * The input's leading tokens are looked up in a trie of {@link annotation.Controller} and
+     * {@link annotation.Command} keywords, and only the regular expressions registered under the resolved
+     * keywords are evaluated against the input.<br>
+     * The cost of a lookup grows with the number of tokens in the input.
+     */
+    TRIE
+}
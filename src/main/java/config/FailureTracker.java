@@ -0,0 +1,164 @@
+package config;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * This class counts the failed invocations of {@link annotation.Command} annotated methods which are dispatched on a
+ * thread while the tracker is bound to it, such as by a {@link sample.BatchRunner}, which is otherwise unable to
+ * tell, as the configuration reports a failed invocation to its console rather than to the dispatching thread.<br>
+ * An invocation fails if its method throws, or if the stage returned by an asynchronous method completes
+ * exceptionally, which may happen after the tracker has been unbound, so the tracker also counts the stages which
+ * have not yet completed, and may wait for them, see {@link #awaitStages(long, TimeUnit)}.
+ */
+public final class FailureTracker {
+
+    private static final ThreadLocal<FailureTracker> current = new ThreadLocal<>();
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition changed = lock.newCondition();
+
+    private long thrown;
+
+    private long failedStages;
+
+    private long pendingStages;
+
+    /**
+     * Constructs a new object.
+     */
+    public FailureTracker() { }
+
+    /**
+     * Returns the tracker bound to the current thread.
+     * @return the tracker, or <code>null</code> if no tracker is bound to the current thread.
+     */
+    public static FailureTracker current() {
+        return current.get();
+    }
+
+    /**
+     * Binds this tracker to the current thread.
+     */
+    public void bind() {
+        current.set(this);
+    }
+
+    /**
+     * Unbinds the tracker from the current thread.
+     */
+    public static void unbind() {
+        current.remove();
+    }
+
+    /**
+     * Returns the number of invocations whose method threw.
+     * @return the number of thrown invocations.
+     */
+    public long thrown() {
+        lock.lock();
+        try
+        {
+            return thrown;
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of stages returned by asynchronous methods which have completed exceptionally.
+     * @return the number of failed stages.
+     */
+    public long failedStages() {
+        lock.lock();
+        try
+        {
+            return failedStages;
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Waits for every stage counted by this tracker to complete, or for the specified timeout to elapse.
+     * @param timeout the maximum time to wait.
+     * @param unit the time unit of the timeout argument.
+     * @return <code>true</code> if every stage has completed,<br>
+     * <code>false</code> if the timeout elapsed first.
+     * @throws InterruptedException if the current thread is interrupted while waiting.
+     */
+    public boolean awaitStages(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        lock.lock();
+        try
+        {
+            while (pendingStages != 0L) {
+                if (nanos <= 0L) {
+                    return false;
+                }
+                nanos = changed.awaitNanos(nanos);
+            }
+            return true;
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Counts an invocation whose method threw.
+     */
+    void fail() {
+        lock.lock();
+        try
+        {
+            thrown++;
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Counts a stage which has been returned, and has not yet completed.
+     */
+    void beginStage() {
+        lock.lock();
+        try
+        {
+            pendingStages++;
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Uncounts a stage which has completed.
+     * @param failed whether the stage completed exceptionally.
+     */
+    void endStage(boolean failed) {
+        lock.lock();
+        try
+        {
+            pendingStages--;
+            if (failed) {
+                failedStages++;
+            }
+            changed.signalAll();
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+}
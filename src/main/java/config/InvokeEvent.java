@@ -0,0 +1,27 @@
+package config;
+
+import jdk.jfr.*;
+
+/**
+ * A JDK Flight Recorder event which is emitted for each invocation of a {@link annotation.Command} annotated
+ * method, whose duration is the time spent running the method.
+ */
+@Name("com.github.wnebyte.cli.Invoke")
+@Label("Command Invocation")
+@Category({"CLI", "Dispatch"})
+@Description("A command's method being run.")
+@StackTrace(false)
+final class InvokeEvent extends Event {
+
+    @Label("Command")
+    @Description("The controller and command keywords of the command.")
+    String command;
+
+    @Label("Defaulted")
+    @Description("Whether any of the method's arguments were defaulted.")
+    boolean defaulted;
+
+    @Label("Failed")
+    @Description("Whether the method threw.")
+    boolean failed;
+}
@@ -0,0 +1,177 @@
+package config;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class records latencies into logarithmic buckets, each power of two being divided into eight linear
+ * sub-buckets, so that any recorded latency is reported with a relative error of at most 12.5%, in a fixed
+ * amount of memory, regardless of how many latencies are recorded.<br>
+ * The buckets are allocated when the first latency is recorded, so that a histogram which never records a latency,
+ * such as that of a command dispatched to while metrics are disabled, holds no buckets. Recording any further
+ * latency does not allocate, and does not take a lock, so that it may be called by several threads at once.
+ * Reading the histogram while latencies are being recorded returns an approximate result.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    private static final int BUCKETS = (64 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    /**
+     * The count of each bucket, or <code>null</code> if no latency has been recorded.
+     */
+    private volatile AtomicLongArray counts;
+
+    private final LongAdder count = new LongAdder();
+
+    private final LongAdder sum = new LongAdder();
+
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0L);
+
+    /**
+     * Constructs a new, empty histogram.
+     */
+    LatencyHistogram() { }
+
+    /**
+     * Records the specified latency.
+     * @param nanos the latency, in nanoseconds, of which negative values are recorded as <code>0</code>.
+     */
+    void record(long nanos) {
+        if (nanos < 0L) {
+            nanos = 0L;
+        }
+        counts().incrementAndGet(index(nanos));
+        count.increment();
+        sum.add(nanos);
+        max.accumulate(nanos);
+    }
+
+    /**
+     * Removes every recorded latency.
+     */
+    void reset() {
+        AtomicLongArray counts = this.counts;
+        if (counts != null) {
+            for (int i = 0; i < BUCKETS; i++) {
+                counts.set(i, 0L);
+            }
+        }
+        count.reset();
+        sum.reset();
+        max.reset();
+    }
+
+    /**
+     * Returns the number of recorded latencies.
+     * @return the count.
+     */
+    public long count() {
+        return count.sum();
+    }
+
+    /**
+     * Returns the mean of the recorded latencies.
+     * @param unit the unit of the returned latency.
+     * @return the mean, or <code>0</code> if no latencies have been recorded.
+     */
+    public double mean(TimeUnit unit) {
+        long count = this.count.sum();
+        return count == 0L ? 0.0 : (double) sum.sum() / count / unit.toNanos(1L);
+    }
+
+    /**
+     * Returns the largest recorded latency.
+     * @param unit the unit of the returned latency.
+     * @return the largest latency, or <code>0</code> if no latencies have been recorded.
+     */
+    public long max(TimeUnit unit) {
+        return unit.convert(max.get(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Returns the latency at the specified percentile, which is the upper bound of the bucket in which the
+     * latency at the percentile was recorded.
+     * @param percentile the percentile, between <code>0</code> and <code>100</code>.
+     * @param unit the unit of the returned latency.
+     * @return the latency, or <code>0</code> if no latencies have been recorded.
+     * @throws IllegalArgumentException in the event of the percentile not being between <code>0</code> and
+     * <code>100</code>.
+     */
+    public long percentile(double percentile, TimeUnit unit) throws IllegalArgumentException {
+        if (!(percentile >= 0.0 && percentile <= 100.0)) {
+            throw new IllegalArgumentException(
+                    "percentile must be between 0 and 100."
+            );
+        }
+        AtomicLongArray counts = this.counts;
+        if (counts == null) {
+            return 0L;
+        }
+        long[] snapshot = new long[BUCKETS];
+        long total = 0L;
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0L) {
+            return 0L;
+        }
+        long rank = Math.max(1L, (long) Math.ceil(percentile / 100.0 * total));
+        long seen = 0L;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return unit.convert(Math.min(upperBound(i), max.get()), TimeUnit.NANOSECONDS);
+            }
+        }
+        return max(unit);
+    }
+
+    /**
+     * Returns the buckets, allocating them if no latency has been recorded.
+     */
+    private AtomicLongArray counts() {
+        AtomicLongArray counts = this.counts;
+        if (counts != null) {
+            return counts;
+        }
+        synchronized (this) {
+            if (this.counts == null) {
+                this.counts = new AtomicLongArray(BUCKETS);
+            }
+            return this.counts;
+        }
+    }
+
+    /**
+     * Returns the index of the bucket of the specified latency.
+     */
+    private static int index(long nanos) {
+        if (nanos < SUB_BUCKETS) {
+            return (int) nanos;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+        int subBucket = (int) (nanos >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * Returns the largest latency which is recorded in the bucket of the specified index.
+     */
+    private static long upperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long subBucket = index % SUB_BUCKETS;
+        long lowerBound = (1L << exponent) + (subBucket << (exponent - SUB_BUCKET_BITS));
+        long upperBound = lowerBound + (1L << (exponent - SUB_BUCKET_BITS)) - 1L;
+        return upperBound < 0L ? Long.MAX_VALUE : upperBound;
+    }
+}
@@ -0,0 +1,98 @@
+package config;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * This class stands in for a {@link annotation.Controller} annotated class which has not yet been instantiated,
+ * when a {@link Builder} is built lazily.<br>
+ * The routes of the controller are registered from its class alone, and the controller is instantiated the first
+ * time one of its commands is dispatched to.
+ * Instantiation is thread-safe, and succeeds at most once; a constructor which throws is retried on the next
+ * dispatch.
+ */
+final class LazyController {
+
+    private final Class<?> type;
+
+    private final Constructor<?> constructor;
+
+    private final Object[] args;
+
+    private volatile Object instance;
+
+    private volatile long instantiationNanos;
+
+    /**
+     * Constructs a new object.
+     *
+     * @param type the class of the controller.
+     * @param constructor the constructor used to instantiate the controller.
+     * @param args the arguments passed to the constructor.
+     */
+    LazyController(Class<?> type, Constructor<?> constructor, Object... args) {
+        this.type = type;
+        this.constructor = constructor;
+        this.args = args;
+    }
+
+    /**
+     * Returns this class's type field.
+     * @return the class of the controller.
+     */
+    Class<?> type() {
+        return type;
+    }
+
+    /**
+     * Returns the controller, instantiating it if it has not yet been instantiated.
+     *
+     * @return the controller.
+     * @throws IllegalStateException in the event of the controller's constructor throwing, or in the event of the
+     * controller otherwise not being instantiable.
+     */
+    Object get() throws IllegalStateException {
+        Object instance = this.instance;
+        if (instance != null) {
+            return instance;
+        }
+        synchronized (this) {
+            if (this.instance == null) {
+                long start = System.nanoTime();
+                try
+                {
+                    instance = constructor.newInstance(args);
+                }
+                catch (InvocationTargetException ex)
+                {
+                    throw new IllegalStateException(type.getSimpleName() + " could not be instantiated.",
+                            ex.getCause());
+                }
+                catch (InstantiationException | IllegalAccessException ex)
+                {
+                    throw new IllegalStateException(type.getSimpleName() + " could not be instantiated.", ex);
+                }
+                instantiationNanos = System.nanoTime() - start;
+                this.instance = instance;
+            }
+            return this.instance;
+        }
+    }
+
+    /**
+     * Returns whether the controller has been instantiated.
+     * @return <code>true</code> if the controller has been instantiated,<br>
+     * <code>false</code> otherwise.
+     */
+    boolean isInstantiated() {
+        return instance != null;
+    }
+
+    /**
+     * Returns the time spent instantiating the controller.
+     * @return the time, in nanoseconds, or <code>0</code> if the controller has not yet been instantiated.
+     */
+    long instantiationNanos() {
+        return instantiationNanos;
+    }
+}
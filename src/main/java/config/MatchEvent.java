@@ -0,0 +1,29 @@
+package config;
+
+import jdk.jfr.*;
+
+/**
+ * A JDK Flight Recorder event which is emitted for each input matched by {@link ReflectionMap#match(String)},
+ * whose duration is the time spent matching the input.
+ */
+@Name("com.github.wnebyte.cli.Match")
+@Label("Command Match")
+@Category({"CLI", "Dispatch"})
+@Description("An input being matched to a command.")
+@StackTrace(false)
+final class MatchEvent extends Event {
+
+    @Label("Command")
+    @Description("The controller and command keywords of the matched command.")
+    String command;
+
+    @Label("Matched")
+    boolean matched;
+
+    @Label("Partial Match")
+    @Description("Whether the input only matched the keywords of a command, and not its arguments.")
+    boolean partial;
+
+    @Label("Dispatch Mode")
+    String dispatchMode;
+}
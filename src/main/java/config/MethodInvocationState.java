@@ -2,80 +2,158 @@ package config;
 
 import exception.ParseException;
 import annotation.Command;
-
-import java.util.*;
+import iface.IConsole;
+import model.ParamBundle;
 
 /**
- * This class is used for the querying and storing of any manageable <code>Exceptions</code> thrown during the most recent
- * invocation of a {@link Command} annotated method.
+ * This class is used for the querying and storing of any manageable <code>Exceptions</code> thrown during an
+ * invocation of a {@link Command} annotated method.<br>
+ * A new state is constructed for every invocation, and is bound to the invoking thread for as long as the
+ * invocation lasts, so commands which run at the same time, on the same controller, never share a state.<br>
+ * The state of each argument is recorded as status flags in an array indexed by the position of the argument's
+ * parameter, next to the slices of the input produced by the method's {@link util.Tokenizer}.
  */
 public final class MethodInvocationState {
 
+    private static final ThreadLocal<MethodInvocationState> current = new ThreadLocal<>();
+
+    private static final ParamBundle[] NO_PARAMS = new ParamBundle[0];
+
+    private static final int[] NO_SLICES = new int[0];
+
+    private final Object controller;
+
+    private final ParamBundle[] params;
+
+    private final CharSequence input;
+
+    private final int[] slices;
+
+    private final int[] statuses;
+
+    private final IConsole console;
+
     /**
-     * This arg initialization state map stores all of the potential <code>Exceptions</code> thrown during the most recent
-     * invocation of a <code>Command</code> annotated method.
+     * Constructs a new object which records no invocation, and therefore no <code>Exceptions</code>.
      */
-    private final HashMap<String, ArgumentInitializationState> argInitStateMap;
+    public MethodInvocationState() {
+        this(null, NO_PARAMS, "", NO_SLICES, null);
+    }
 
     /**
-     * Constructs a new object and initialises its arg initialization state map with default map settings.
+     * Constructs a new object for an invocation of a <code>Command</code> annotated method.
+     *
+     * @param controller the controller declaring the method.
+     * @param params the parameters of the method.
+     * @param input the input from which the method's arguments are initialized.
+     * @param slices the slices of the input holding the value of each argument, as produced by the
+     * method's {@link util.Tokenizer}.
+     * @param console the console of the invocation, see {@link #console()}.
      */
-    public MethodInvocationState() {
-        argInitStateMap = new HashMap<>(16, 0.75f);
+    MethodInvocationState(Object controller, ParamBundle[] params, CharSequence input, int[] slices,
+                          IConsole console) {
+        this.controller = controller;
+        this.params = params;
+        this.input = input;
+        this.slices = slices;
+        this.statuses = new int[params.length];
+        this.console = console;
     }
 
     /**
-     * Determines whether any {@link ParseException} were <b>NOT</b> thrown during the the most recent
-     * invocation of a {@link Command} annotated method.
+     * Returns the state of the invocation in progress on the current thread, if the method being invoked is
+     * declared by the specified controller.
      *
-     * @return <code>true</code> if there were no <code>ParseExceptions</code> thrown during the most recent
-     * invocation of a <code>Command</code> annotated method, or<br>
-     * <code>false</code> if there were one or more <code>ParseExceptions</code> thrown during the most
-     * recent invocation of a <code>Command</code> annotated method.
+     * @param controller the controller.
+     * @return the state, or an empty state if no method declared by the specified controller is being invoked on
+     * the current thread.
      */
-    public boolean wasSuccessful() {
-        return argInitStateMap.values().stream().noneMatch(arg -> arg.exceptions().stream()
-                .anyMatch(ex -> ex instanceof ParseException));
+    public static MethodInvocationState currentOf(Object controller) {
+        MethodInvocationState state = current.get();
+        return state != null && state.controller == controller ? state : new MethodInvocationState();
     }
 
     /**
-     * Returns the arg initialization state value associated with the specified argName.
+     * Binds the specified state to the current thread.
      *
-     * @param argName the key associated with the desired arg initialization state value.
-     * @return the arg initialization state value associated with the specified argName,
-     * if no arg initialization state value is associated with the specified argName,
-     * a new arg initialization state object with zero <code>Exceptions</code> is constructed and returned.
+     * @param state the state.
+     * @return the state previously bound to the current thread, which is to be restored through
+     * {@link #restore(MethodInvocationState)} once the invocation has completed.
      */
-    public ArgumentInitializationState initializationOf(String argName) {
-        if (!argInitStateMap.containsKey(argName)) {
-            return new ArgumentInitializationState();
-        }
-        return argInitStateMap.get(argName);
+    static MethodInvocationState bind(MethodInvocationState state) {
+        MethodInvocationState previous = current.get();
+        current.set(state);
+        return previous;
     }
 
     /**
-     * Adds the specified <code>Exception</code> to the list associated with the specified argName.
+     * Restores the specified state, as returned by {@link #bind(MethodInvocationState)}, on the current thread.
      *
-     * @param argName the name or keyword of an argument belonging to the most recently invoked <code>Command</code>
-     * annotated method.
-     * @param ex the <code>Exception</code> to add to the list associated with the specified argName.
-     * @return this <code>MethodInvocationState</code> object.
+     * @param previous the state.
      */
-    protected MethodInvocationState append(String argName, Exception ex) {
-        if (argInitStateMap.containsKey(argName)) {
-            argInitStateMap.get(argName).exceptions().add(ex);
+    static void restore(MethodInvocationState previous) {
+        if (previous == null) {
+            current.remove();
         }
         else {
-            argInitStateMap.put(argName, new ArgumentInitializationState(ex));
+            current.set(previous);
         }
-        return this;
     }
 
     /**
-     * Removes all of the mappings from this class's state initialization map.
-     * The map will be empty after this call returns.
+     * Returns the console of the invocation, which is the {@link model.PipeConsole} of the command if it runs in a
+     * pipeline, and the configuration's console otherwise.
+     *
+     * @return the console, or <code>null</code> if this state records no invocation.
+     */
+    public IConsole console() {
+        return console;
+    }
+
+    /**
+     * Determines whether any {@link ParseException} were <b>NOT</b> thrown during the invocation of a
+     * {@link Command} annotated method.
+     *
+     * @return <code>true</code> if there were no <code>ParseExceptions</code> thrown during the invocation of a
+     * <code>Command</code> annotated method, or<br>
+     * <code>false</code> if there were one or more <code>ParseExceptions</code> thrown during the
+     * invocation of a <code>Command</code> annotated method.
+     */
+    public boolean wasSuccessful() {
+        for (int status : statuses) {
+            if ((status & ArgumentInitializationState.PARSE_FAILED) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the arg initialization state of the argument with the specified argName.
+     *
+     * @param argName the name or keyword of an argument belonging to the invoked <code>Command</code>
+     * annotated method.
+     * @return the arg initialization state of the argument with the specified argName,
+     * if the method has no argument with the specified argName,
+     * a new arg initialization state object with zero <code>Exceptions</code> is constructed and returned.
+     */
+    public ArgumentInitializationState initializationOf(String argName) {
+        for (int i = 0; i < params.length; i++) {
+            if (params[i].getName().equals(argName)) {
+                return new ArgumentInitializationState(argName, statuses[i], params[i].getType(),
+                        input, slices[2 * i], slices[2 * i + 1]);
+            }
+        }
+        return new ArgumentInitializationState();
+    }
+
+    /**
+     * Sets the specified status flags on the argument at the specified position.
+     *
+     * @param index the position of the argument's parameter.
+     * @param status the {@link ArgumentInitializationState} status flags.
      */
-    protected void clear() {
-        argInitStateMap.clear();
+    void set(int index, int status) {
+        statuses[index] |= status;
     }
-}
\ No newline at end of file
+}
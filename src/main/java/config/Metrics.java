@@ -0,0 +1,170 @@
+package config;
+
+import iface.IReflection;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class holds the {@link CommandMetrics} of every {@link annotation.Command} annotated method of a
+ * configuration.<br>
+ * Metrics are disabled by default, in which case the dispatch path does not read the clock, and only pays for
+ * reading the volatile field returned by {@link #isEnabled()}.
+ * Metrics may be enabled and disabled at any time, see {@link Builder#metrics(boolean)}.
+ */
+public final class Metrics {
+
+    /**
+     * The metrics of each command, in the order in which the commands were registered, which is guarded by its own
+     * monitor, so that registering each of a large number of commands does not copy the metrics of the others.
+     */
+    private final Set<CommandMetrics> commands = new LinkedHashSet<>();
+
+    /**
+     * The metrics of each command, keyed on the value which invokes the command, whose identity is its key.
+     */
+    private final Map<IReflection, CommandMetrics> byReflection = new ConcurrentHashMap<>();
+
+    private final LatencyHistogram unmatchedTime = new LatencyHistogram();
+
+    private volatile boolean enabled;
+
+    private volatile long since = System.nanoTime();
+
+    /**
+     * Constructs a new, disabled, object.
+     */
+    Metrics() { }
+
+    /**
+     * Returns whether metrics are recorded.
+     * @return <code>true</code> if metrics are recorded,<br>
+     * <code>false</code> otherwise.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sets whether metrics are recorded.
+     * @param enabled whether metrics are to be recorded.
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Returns the metrics of every command, in the order in which the commands were registered.
+     * @return the metrics.
+     */
+    public List<CommandMetrics> commands() {
+        synchronized (commands) {
+            return Collections.unmodifiableList(new ArrayList<>(commands));
+        }
+    }
+
+    /**
+     * Returns the metrics of the command invoked by the specified value, as returned by
+     * {@link ReflectionMap#match(String)}.
+     * @param reflection the value.
+     * @return the metrics, or <code>null</code> if the value does not invoke a command.
+     */
+    public CommandMetrics of(IReflection reflection) {
+        return reflection == null ? null : byReflection.get(reflection);
+    }
+
+    /**
+     * Returns the times spent matching inputs which did not match any command.
+     * @return the histogram of match times.
+     */
+    public LatencyHistogram unmatchedTime() {
+        return unmatchedTime;
+    }
+
+    /**
+     * Records the time spent matching an input to the specified value, which is attributed to the command
+     * invoked by the value, or to {@link #unmatchedTime()} if the value does not invoke a command.<br>
+     * This method does nothing if metrics are disabled.
+     * @param reflection the value returned by {@link ReflectionMap#match(String)}, or <code>null</code>.
+     * @param nanos the time spent matching the input, in nanoseconds.
+     */
+    public void recordMatch(IReflection reflection, long nanos) {
+        if (!enabled) {
+            return;
+        }
+        CommandMetrics metrics = of(reflection);
+        (metrics != null ? metrics.matchTime() : unmatchedTime).record(nanos);
+    }
+
+    /**
+     * Removes every recorded invocation and time, and restarts the period over which throughput is reported.
+     */
+    public void reset() {
+        for (CommandMetrics metrics : commands()) {
+            metrics.reset();
+        }
+        unmatchedTime.reset();
+        since = System.nanoTime();
+    }
+
+    /**
+     * Returns a table of the invocations, throughput and latencies of every command which has been invoked since
+     * metrics were last reset, with latencies in microseconds.
+     * @return the table.
+     */
+    public String report() {
+        double seconds = Math.max(1e-9, (System.nanoTime() - since) / 1e9);
+        List<String> rows = new ArrayList<>();
+        rows.add(String.format("%-32s %10s %8s %9s  %-17s  %-17s  %-17s",
+                "command", "calls", "failed", "calls/s", "match p50/p99", "parse p50/p99", "method p50/p99"));
+
+        for (CommandMetrics metrics : commands()) {
+            if (metrics.invocations() == 0L && metrics.matchTime().count() == 0L) {
+                continue;
+            }
+            rows.add(String.format("%-32s %10d %8d %9.1f  %-17s  %-17s  %-17s",
+                    metrics.name(), metrics.invocations(), metrics.failures(), metrics.invocations() / seconds,
+                    latencies(metrics.matchTime()), latencies(metrics.parseTime()),
+                    latencies(metrics.methodTime())));
+        }
+        if (unmatchedTime.count() != 0L) {
+            rows.add(String.format("%-32s %10d %8s %9.1f  %-17s",
+                    "(unmatched)", unmatchedTime.count(), "", unmatchedTime.count() / seconds,
+                    latencies(unmatchedTime)));
+        }
+        return String.join(System.lineSeparator(), rows);
+    }
+
+    /**
+     * Registers the specified metrics of the command invoked by the specified value.
+     */
+    void register(IReflection reflection, CommandMetrics metrics) {
+        synchronized (commands) {
+            commands.add(metrics);
+        }
+        byReflection.put(reflection, metrics);
+    }
+
+    /**
+     * Unregisters the metrics of the command invoked by the specified value.
+     */
+    void unregister(IReflection reflection) {
+        CommandMetrics metrics = byReflection.remove(reflection);
+        if (metrics != null) {
+            synchronized (commands) {
+                commands.remove(metrics);
+            }
+        }
+    }
+
+    private static String latencies(LatencyHistogram histogram) {
+        return String.format("%.1f/%.1f", histogram.percentile(50.0, TimeUnit.NANOSECONDS) / 1e3,
+                histogram.percentile(99.0, TimeUnit.NANOSECONDS) / 1e3);
+    }
+}
@@ -0,0 +1,102 @@
+package config;
+
+import iface.IConsole;
+import iface.IReflection;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static config.ArgumentBinder.*;
+
+/**
+ * This class reports why an input which begins with the keyword path of one or more {@link annotation.Command}
+ * annotated methods could not be bound to any of them, when the {@link BindingMode#STRUCTURAL} binding mode is
+ * used.<br>
+ * A single describer is registered for each keyword path, regardless of how many methods share it, and it describes
+ * the method whose binder came closest to binding the input, so that a single message is printed for each input.
+ * A binder which was only missing an argument comes closest, followed by one which was missing a value, one which
+ * was given an argument twice, and one which was given an unknown argument, the later in the input the better.
+ * Binders which are equally close are preferred in the order in which they were added.
+ */
+final class OverloadDescriber implements IReflection {
+
+    private final IConsole console;
+
+    private final List<ArgumentBinder> binders = new CopyOnWriteArrayList<>();
+
+    /**
+     * Constructs a new describer, which prints to the specified console.
+     * @param console the console.
+     */
+    OverloadDescriber(IConsole console) {
+        this.console = console;
+    }
+
+    /**
+     * Prints the message describing why the specified input could not be bound, if any of the binders describe it.
+     * @param input the input.
+     */
+    @Override
+    public void invoke(String input) {
+        String message = describe(input);
+        if (message != null) {
+            console.printerr(message);
+        }
+    }
+
+    /**
+     * Returns the message of the binder which came closest to binding the specified input.
+     * @param input the input.
+     * @return the message, or <code>null</code> if no binder describes the input.
+     */
+    String describe(String input) {
+        ArgumentBinder closest = null;
+        long best = -1L;
+
+        for (ArgumentBinder binder : binders) {
+            long closeness = closeness(binder.bind(input));
+            if (closeness > best) {
+                closest = binder;
+                best = closeness;
+            }
+        }
+        return closest != null ? closest.describe(input) : null;
+    }
+
+    /**
+     * Adds the specified binder.
+     * @param binder the binder of a method with this describer's keyword path.
+     */
+    void add(ArgumentBinder binder) {
+        binders.add(binder);
+    }
+
+    /**
+     * Removes the specified binder.
+     * @param binder the binder.
+     * @return <code>true</code> if no binders remain,<br>
+     * <code>false</code> otherwise.
+     */
+    boolean remove(ArgumentBinder binder) {
+        binders.remove(binder);
+        return binders.isEmpty();
+    }
+
+    /**
+     * Returns how close to binding an input the specified status is, where greater is closer.
+     */
+    private static long closeness(int status) {
+        switch (code(status)) {
+            case MISSING_ARGUMENT:
+                return 4L << 32;
+            case MISSING_VALUE:
+                return 3L << 32;
+            case DUPLICATE_ARGUMENT:
+                return 2L << 32;
+            case UNKNOWN_ARGUMENT:
+                return (1L << 32) | operand(status);
+            default:
+                return 0L;
+        }
+    }
+}
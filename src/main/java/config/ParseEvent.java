@@ -0,0 +1,29 @@
+package config;
+
+import jdk.jfr.*;
+
+/**
+ * A JDK Flight Recorder event which is emitted for each invocation of a {@link annotation.Command} annotated
+ * method, whose duration is the time spent parsing the method's arguments from the input.
+ */
+@Name("com.github.wnebyte.cli.Parse")
+@Label("Argument Parse")
+@Category({"CLI", "Dispatch"})
+@Description("The arguments of a command being parsed from an input.")
+@StackTrace(false)
+final class ParseEvent extends Event {
+
+    @Label("Command")
+    @Description("The controller and command keywords of the command.")
+    String command;
+
+    @Label("Arguments")
+    int arguments;
+
+    @Label("Defaulted Arguments")
+    @Description("The number of arguments which were missing from the input, or could not be parsed.")
+    int defaultedArguments;
+
+    @Label("Defaulted")
+    boolean defaulted;
+}
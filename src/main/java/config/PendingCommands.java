@@ -0,0 +1,165 @@
+package config;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * This class counts the asynchronous {@link annotation.Command} annotated methods of a configuration, which are
+ * methods returning a {@link java.util.concurrent.CompletionStage}, whose stages have been returned but have not yet
+ * completed.<br>
+ * The number of such pending commands is limited: a command is counted before its method is invoked, and once the
+ * limit has been reached, the thread dispatching another asynchronous command waits for a pending command to
+ * complete before invoking its method, so that a flood of input is slowed down to the rate at which its commands
+ * complete, and no more than the limit of stages are started at a time. A command whose method throws, or returns
+ * <code>null</code>, is uncounted at once.
+ * The limit may be changed at any time, see {@link Builder#maxPendingCommands(int)}.
+ */
+public final class PendingCommands {
+
+    /**
+     * The default maximum number of pending commands.
+     */
+    public static final int DEFAULT_LIMIT = 1024;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition changed = lock.newCondition();
+
+    private int limit = DEFAULT_LIMIT;
+
+    private int pending;
+
+    /**
+     * Constructs a new object.
+     */
+    PendingCommands() { }
+
+    /**
+     * Returns the maximum number of pending commands.
+     * @return the limit.
+     */
+    public int limit() {
+        lock.lock();
+        try
+        {
+            return limit;
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of pending commands.
+     * @return the number of commands whose stages have not yet completed.
+     */
+    public int pending() {
+        lock.lock();
+        try
+        {
+            return pending;
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Waits for every pending command to complete, or for the specified timeout to elapse.
+     * @param timeout the maximum time to wait.
+     * @param unit the time unit of the timeout argument.
+     * @return <code>true</code> if no command is pending,<br>
+     * <code>false</code> if the timeout elapsed first.
+     * @throws InterruptedException if the current thread is interrupted while waiting.
+     */
+    public boolean awaitIdle(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        lock.lock();
+        try
+        {
+            while (pending != 0) {
+                if (nanos <= 0L) {
+                    return false;
+                }
+                nanos = changed.awaitNanos(nanos);
+            }
+            return true;
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Sets the maximum number of pending commands.
+     * @param limit the limit, which must be positive.
+     */
+    void setLimit(int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException(
+                    "limit must be positive."
+            );
+        }
+        lock.lock();
+        try
+        {
+            this.limit = limit;
+            changed.signalAll();
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Counts a command whose method is about to be invoked, waiting first while the limit has been reached.<br>
+     * If the current thread is interrupted while waiting, the command is counted without waiting any further.
+     */
+    void acquire() {
+        boolean interrupted = false;
+        lock.lock();
+        try
+        {
+            while (pending >= limit) {
+                try
+                {
+                    changed.await();
+                }
+                catch (InterruptedException ex)
+                {
+                    interrupted = true;
+                    break;
+                }
+            }
+            pending++;
+        }
+        finally
+        {
+            lock.unlock();
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Uncounts a command whose stage has completed, or whose method returned no stage.
+     */
+    void release() {
+        lock.lock();
+        try
+        {
+            pending--;
+            changed.signalAll();
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+}
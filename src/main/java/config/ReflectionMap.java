@@ -4,53 +4,89 @@ import iface.IReflection;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
-import java.util.regex.Pattern;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
- * Class stores and allows for querying of [RegExp's, {@linkplain IReflection}] entries.
+ * Class stores and allows for querying of [RegExp's, {@linkplain IReflection}] entries.<br>
+ * Each regular expression is compiled into a {@link Route} once, when it is put into this map,
+ * so that querying this map does not compile or allocate any patterns.<br>
+ * Entries which are put into this map together with their keyword path are additionally indexed in a
+ * {@link CommandTrie}, which is used to resolve inputs when this map's {@link DispatchMode} is
+ * {@link DispatchMode#TRIE}.<br>
+ * Queries read an immutable snapshot of the map's routes and trie, which every mutation replaces with a new
+ * snapshot through a single volatile write, so the map may be mutated while it is being queried: a query which is
+ * in flight completes against the snapshot it started with, and never observes a partially applied mutation.
+ * Mutations are serialized by a lock, and several mutations may be published as one snapshot by enclosing them
+ * in {@link #beginBatch()} and {@link #endBatch()}.
  */
 public final class ReflectionMap {
 
     /**
-     * This hashmap stores all of the [Regular Expression, IReflection] entries,
+     * This map stores all of the [Regular Expression, Route] entries,
      * whose's values are to be returned whenever a complete pattern match occurs.
      */
-    private final HashMap<String, IReflection> primaryMap;
+    private final LinkedHashMap<String, Route> primaryMap;
 
     /**
-     * This hashmap stores all of the [Regular Expression, IReflection] entries,
+     * This map stores all of the [Regular Expression, Route] entries,
      * whose's values are to be returned whenever a partial pattern match occurs.
      */
-    private final HashMap<String, IReflection> secondaryMap;
+    private final LinkedHashMap<String, Route> secondaryMap;
+
+    /**
+     * The values appended under each key of this class's {@link #secondaryMap}, in the order in which they were
+     * appended, which are invoked in turn by the key's route.
+     */
+    private final Map<String, List<IReflection>> appendedValues;
+
+    private final ReentrantLock lock;
+
+    /**
+     * The number of batches currently begun by the thread holding this class's lock.
+     */
+    private int batchDepth;
+
+    private volatile Snapshot snapshot;
+
+    private volatile DispatchMode dispatchMode;
 
     /**
      * Constructor a new object and initializes both maps with default map settings.
      */
     protected ReflectionMap() {
-        primaryMap = new HashMap<>(16, 0.75f);
-        secondaryMap = new HashMap<>(16, 0.75f);
+        primaryMap = new LinkedHashMap<>(16, 0.75f);
+        secondaryMap = new LinkedHashMap<>(16, 0.75f);
+        appendedValues = new HashMap<>();
+        lock = new ReentrantLock();
+        snapshot = new Snapshot(primaryMap, secondaryMap);
+        dispatchMode = DispatchMode.REGEX;
     }
 
     /**
      * This method returns the {@link IReflection} value to which the specified key is mapped, or <code>null</code> if
      * neither of this class's maps contain any mapping for the key.<br>
      * More formally, if <code>Pattern.compile(entry.getKey()).matcher(key).matches()</code><br>then the IReflection
-     * value associated with<br><code>entry.getKey()</code> is returned.
+     * value associated with<br><code>entry.getKey()</code> is returned.<br>
+     * If this map's dispatch mode is {@link DispatchMode#REGEX}, entries are evaluated in the order in which they
+     * were put into this map.<br>
+     * If this map's dispatch mode is {@link DispatchMode#TRIE}, only the entries whose keyword path is a prefix
+     * of the key's tokens are evaluated, those with the longest keyword path first.
      *
      * @param key the key who's associated value is to be returned.
      * @return the value to which the specified key is mapped, or <code>null</code> if neither of this class's
      * maps contain any mapping for the key.
      */
     public @Nullable IReflection match(String key) {
-        final java.util.Map.Entry<String, IReflection> entry =
-                primaryMap.entrySet().stream().
-                filter(pkv -> Pattern.compile(pkv.getKey()).matcher(key).matches())
-                .findFirst().orElseGet(() ->
-                        secondaryMap.entrySet().stream()
-                                .filter(skv -> Pattern.compile(skv.getKey()).matcher(key).matches())
-                                .findFirst().orElse(null)
-                );
-        return entry != null ? entry.getValue() : null;
+        Object event = DispatchEvents.beginMatch();
+        Snapshot snapshot = this.snapshot;
+        Route route = snapshot.route(key, dispatchMode);
+        IReflection reflection = route != null ? route.reflection() : null;
+
+        if (event != null) {
+            DispatchEvents.commitMatch(event, route != null ? route.command() : null, reflection != null,
+                    snapshot.isPartialMatch(reflection), dispatchMode);
+        }
+        return reflection;
     }
 
     /**
@@ -62,7 +98,83 @@ public final class ReflectionMap {
      * @return the previous value associated with the key, or <code>null</code> if there was no mapping for the key.
      */
     @Nullable IReflection put(String key, IReflection value) {
-        return primaryMap.put(key, value);
+        return put(key, new String[0], value);
+    }
+
+    /**
+     * Associates the specified value with the specified key in this class's {@link #primaryMap}, and indexes
+     * it under the specified keyword path.<br>
+     * If the map previously contained a mapping for the key, the old value is replaced.
+     *
+     * @param key key with which the specified value is to be associated.
+     * @param path the controller and command keyword tokens which prefix any input matched by the key.
+     * @param value value to be associated with the specified key.
+     * @return the previous value associated with the key, or <code>null</code> if there was no mapping for the key.
+     */
+    @Nullable IReflection put(String key, String[] path, IReflection value) {
+        return put(new Route(key, path, value));
+    }
+
+    /**
+     * Associates the specified value with the specified key in this class's {@link #primaryMap}, and indexes
+     * it under the specified keyword path.<br>
+     * The value is returned whenever the specified binder successfully binds a key, rather than whenever a
+     * regular expression matches it.<br>
+     * If the map previously contained a mapping for the key, the old value is replaced.
+     *
+     * @param key key with which the specified value is to be associated.
+     * @param path the controller and command keyword tokens which prefix any input bound by the binder.
+     * @param binder the binder.
+     * @param value value to be associated with the specified key.
+     * @return the previous value associated with the key, or <code>null</code> if there was no mapping for the key.
+     */
+    @Nullable IReflection put(String key, String[] path, ArgumentBinder binder, IReflection value) {
+        return put(new Route(key, path, binder, value));
+    }
+
+    /**
+     * Puts the specified route into this class's {@link #primaryMap}, and indexes it under its keyword path.<br>
+     * If the map previously contained a route with the same key, the old route is replaced.
+     *
+     * @param route the route.
+     * @return the value of the previous route with the same key, or <code>null</code> if there was none.
+     */
+    @Nullable IReflection put(Route route) {
+        lock.lock();
+        try
+        {
+            Route previousRoute = primaryMap.put(route.key(), route);
+            publish();
+            return previousRoute != null ? previousRoute.reflection() : null;
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes the specified route from this class's {@link #primaryMap}, if it is still the route stored under
+     * its key.
+     *
+     * @param route the route.
+     * @return <code>true</code> if the route was removed,<br>
+     * <code>false</code> otherwise.
+     */
+    boolean remove(Route route) {
+        lock.lock();
+        try
+        {
+            boolean removed = primaryMap.remove(route.key(), route);
+            if (removed) {
+                publish();
+            }
+            return removed;
+        }
+        finally
+        {
+            lock.unlock();
+        }
     }
 
     /**
@@ -75,32 +187,248 @@ public final class ReflectionMap {
      * @return the previous value associated with the key, or <code>null</code> if there was no mapping for this key.
      */
     @Nullable IReflection append(@Nullable String key, IReflection newValue) {
-        IReflection previousValue = secondaryMap.get(key);
+        return append(key, new String[0], newValue);
+    }
+
+    /**
+     * Appends the value associated with the specified key to the specified new value and puts it into
+     * this class's {@link #secondaryMap}, if the value associated with the specified key is not <code>null</code>.
+     * Otherwise performs a put operation using the specified key and specified new value.<br>
+     * In both cases the resulting value is indexed under the specified keyword path.
+     *
+     * @param key key with which the specified value is to be associated.
+     * @param path the controller and command keyword tokens which prefix any input matched by the key.
+     * @param newValue the new value to be appended to the value associated with the specified key.
+     * @return the previous value associated with the key, or <code>null</code> if there was no mapping for this key.
+     */
+    @Nullable IReflection append(@Nullable String key, String[] path, IReflection newValue) {
+        lock.lock();
+        try
+        {
+            Route previousRoute = secondaryMap.get(key);
+            appendedValues.computeIfAbsent(key, k -> new ArrayList<>()).add(newValue);
+            secondaryMap.put(key, previousRoute != null ? previousRoute.with(appended(key)) :
+                    new Route(key, path, newValue));
+            publish();
+            return previousRoute != null ? previousRoute.reflection() : null;
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes the specified value, which was appended under the specified key, from this class's
+     * {@link #secondaryMap}, and removes the key if no other values were appended under it.
+     *
+     * @param key the key under which the value was appended.
+     * @param value the value.
+     * @return <code>true</code> if the value was removed,<br>
+     * <code>false</code> otherwise.
+     */
+    boolean removeAppended(String key, IReflection value) {
+        lock.lock();
+        try
+        {
+            List<IReflection> values = appendedValues.get(key);
+            if (values == null || !values.remove(value)) {
+                return false;
+            }
+            if (values.isEmpty()) {
+                appendedValues.remove(key);
+                secondaryMap.remove(key);
+            }
+            else {
+                secondaryMap.put(key, secondaryMap.get(key).with(appended(key)));
+            }
+            publish();
+            return true;
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
 
-        if (previousValue != null) {
-            return secondaryMap.put(key, input -> {
-                previousValue.invoke(input);
-                newValue.invoke(input);
-            });
+    /**
+     * Begins a batch of mutations, which are published as a single snapshot by the matching call to
+     * {@link #endBatch()}, rather than one at a time.<br>
+     * The calling thread holds this map's lock until the batch ends, so the batch is not interleaved with the
+     * mutations of any other thread. Batches may be nested.
+     */
+    void beginBatch() {
+        lock.lock();
+        batchDepth++;
+    }
+
+    /**
+     * Ends a batch of mutations begun by {@link #beginBatch()}, and publishes them if the batch is not nested
+     * within another batch.
+     */
+    void endBatch() {
+        try
+        {
+            if (--batchDepth == 0) {
+                publish();
+            }
         }
-        return secondaryMap.put(key, newValue);
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns whether the specified value, as returned by {@link #match(String)}, is mapped to a key in this class's
+     * {@link #secondaryMap}, meaning that it was returned for an input which partially matched one of the
+     * annotated methods, but whose arguments could not be matched.
+     *
+     * @param value the value.
+     * @return <code>true</code> if the value is mapped to a key in this class's secondary map,<br>
+     * <code>false</code> otherwise.
+     */
+    public boolean isPartialMatch(@Nullable IReflection value) {
+        return snapshot.isPartialMatch(value);
+    }
+
+    /**
+     * Returns the strategy this map uses to resolve an input to a value.
+     * @return the dispatch mode associated with this class.
+     */
+    public DispatchMode dispatchMode() {
+        return dispatchMode;
+    }
+
+    /**
+     * Sets the strategy this map uses to resolve an input to a value.
+     * @param dispatchMode the dispatch mode.
+     */
+    void dispatchMode(DispatchMode dispatchMode) {
+        this.dispatchMode = Objects.requireNonNull(dispatchMode);
     }
 
     /**
-     * Performs an {@link Arrays#toString(Object[])} operation on this class's {@link #primaryMap}'s
-     * <code>KeySet</code> and returns the result.
+     * Performs an {@link Arrays#toString(Object[])} operation on the keys of this class's {@link #primaryMap}
+     * and returns the result.
      * @return the keys of this class's primary map in the form of a string.
      */
     public String keys() {
-        return Arrays.toString(primaryMap.keySet().toArray());
+        Snapshot snapshot = this.snapshot;
+        return snapshot.keys(snapshot.primaryRoutes);
     }
 
     /**
-     * Performs an {@link Arrays#toString(Object[])} operation on this class's {@link #secondaryMap}'s
-     * <code>KeySet</code> and returns the result.
+     * Performs an {@link Arrays#toString(Object[])} operation on the keys of this class's {@link #secondaryMap}
+     * and returns the result.
      * @return the keys of this class's secondary map in the form of a string.
      */
     public String noMatchKeys() {
-        return Arrays.toString(secondaryMap.keySet().toArray());
+        Snapshot snapshot = this.snapshot;
+        return snapshot.keys(snapshot.secondaryRoutes);
+    }
+
+    /**
+     * Returns a value which invokes each of the values appended under the specified key, in the order in which
+     * they were appended.
+     */
+    private IReflection appended(String key) {
+        IReflection[] values = appendedValues.get(key).toArray(new IReflection[0]);
+        if (values.length == 1) {
+            return values[0];
+        }
+        return input -> {
+            for (IReflection value : values) {
+                value.invoke(input);
+            }
+        };
+    }
+
+    /**
+     * Replaces this class's snapshot with a snapshot of the current contents of both maps, unless a batch of
+     * mutations is in progress.
+     */
+    private void publish() {
+        if (batchDepth == 0) {
+            snapshot = new Snapshot(primaryMap, secondaryMap);
+        }
+    }
+
+    /**
+     * An immutable copy of the routes of both maps, together with a trie which indexes them, which is queried
+     * without taking any locks.
+     */
+    private static final class Snapshot {
+
+        /**
+         * The values of the primary map in insertion order, kept as an array so that they can be iterated over
+         * without allocating an iterator.
+         */
+        private final Route[] primaryRoutes;
+
+        /**
+         * The values of the secondary map in insertion order, kept as an array so that they can be iterated over
+         * without allocating an iterator.
+         */
+        private final Route[] secondaryRoutes;
+
+        /**
+         * The values of the secondary map, which do not override {@link Object#equals(Object)},
+         * and are therefore compared by identity.
+         */
+        private final Set<IReflection> secondaryValues;
+
+        /**
+         * This trie indexes the values of both maps by their keyword path.
+         */
+        private final CommandTrie trie;
+
+        private Snapshot(Map<String, Route> primaryMap, Map<String, Route> secondaryMap) {
+            primaryRoutes = primaryMap.values().toArray(new Route[0]);
+            secondaryRoutes = secondaryMap.values().toArray(new Route[0]);
+            secondaryValues = new HashSet<>(secondaryRoutes.length * 2);
+            trie = new CommandTrie();
+
+            for (Route route : primaryRoutes) {
+                trie.put(route.path(), null, route);
+            }
+            for (Route route : secondaryRoutes) {
+                trie.append(route.path(), null, route);
+                secondaryValues.add(route.reflection());
+            }
+        }
+
+        /**
+         * Returns the route which matches the specified key, in the order described by
+         * {@link ReflectionMap#match(String)}.
+         */
+        private @Nullable Route route(String key, DispatchMode dispatchMode) {
+            if (dispatchMode == DispatchMode.TRIE) {
+                return trie.match(key);
+            }
+            for (Route route : primaryRoutes) {
+                if (route.matches(key)) {
+                    return route;
+                }
+            }
+            for (Route route : secondaryRoutes) {
+                if (route.matches(key)) {
+                    return route;
+                }
+            }
+            return null;
+        }
+
+        private boolean isPartialMatch(@Nullable IReflection value) {
+            return value != null && secondaryValues.contains(value);
+        }
+
+        private String keys(Route[] routes) {
+            String[] keys = new String[routes.length];
+            for (int i = 0; i < routes.length; i++) {
+                keys[i] = routes[i].key();
+            }
+            return Arrays.toString(keys);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,119 @@
+package config;
+
+import iface.IReflection;
+
+/**
+ * This class holds everything a {@link Configuration} derives from a single {@link annotation.Command} annotated
+ * method before putting it into its {@link ReflectionMap}: the method's compiled {@link Route}, the route which
+ * reports inputs it does not match, and the key under which the method needs to be distinct.<br>
+ * Registrations are prepared concurrently, one controller at a time, and are then put into the map by a single
+ * thread, in a deterministic order.
+ */
+final class Registration {
+
+    private final String[] path;
+
+    private final String[] keywords;
+
+    private final Route route;
+
+    private final String distinctKey;
+
+    private final boolean structural;
+
+    private final String noMatchKey;
+
+    private final IReflection noMatch;
+
+    private final CommandMetrics metrics;
+
+    /**
+     * Constructs a new registration.
+     *
+     * @param path the controller and command keyword tokens of the method.
+     * @param keywords the argument keywords of the method.
+     * @param route the route which invokes the method.
+     * @param distinctKey the key which needs to be distinct among every registered method.
+     * @param structural whether the route was constructed for the {@link BindingMode#STRUCTURAL} binding mode.
+     * @param noMatchKey the regular expression of the route which reports inputs not matched by the method's route.
+     * @param noMatch the value which reports inputs not matched by the method's route, or <code>null</code>
+     * if such inputs are not to be reported, or, for a structural route, are to be reported by the
+     * {@link OverloadDescriber} of the method's keyword path.
+     * @param metrics the metrics of the method.
+     */
+    Registration(String[] path, String[] keywords, Route route, String distinctKey, boolean structural,
+                 String noMatchKey, IReflection noMatch, CommandMetrics metrics) {
+        this.path = path;
+        this.keywords = keywords;
+        this.route = route;
+        this.distinctKey = distinctKey;
+        this.structural = structural;
+        this.noMatchKey = noMatchKey;
+        this.noMatch = noMatch;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Returns this class's path field.
+     * @return the path field associated with this class.
+     */
+    String[] path() {
+        return path;
+    }
+
+    /**
+     * Returns this class's keywords field.
+     * @return the argument keywords associated with this class.
+     */
+    String[] keywords() {
+        return keywords;
+    }
+
+    /**
+     * Returns this class's <code>Route</code> field.
+     * @return the <code>Route</code> field associated with this class.
+     */
+    Route route() {
+        return route;
+    }
+
+    /**
+     * Returns this class's distinct key field.
+     * @return the distinct key field associated with this class.
+     */
+    String distinctKey() {
+        return distinctKey;
+    }
+
+    /**
+     * Returns this class's structural field.
+     * @return the structural field associated with this class.
+     */
+    boolean structural() {
+        return structural;
+    }
+
+    /**
+     * Returns this class's noMatch key field.
+     * @return the noMatch key field associated with this class.
+     */
+    String noMatchKey() {
+        return noMatchKey;
+    }
+
+    /**
+     * Returns this class's noMatch field.
+     * @return the noMatch field associated with this class, or <code>null</code>.
+     */
+    IReflection noMatch() {
+        return noMatch;
+    }
+
+    /**
+     * Returns this class's <code>CommandMetrics</code> field.
+     * @return the <code>CommandMetrics</code> field associated with this class.
+     */
+    CommandMetrics metrics() {
+        return metrics;
+    }
+}
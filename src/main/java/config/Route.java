@@ -0,0 +1,143 @@
+package config;
+
+import iface.IReflection;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * This class bundles a compiled regular expression, or an {@link ArgumentBinder}, with the {@link IReflection}
+ * value it maps to.<br>
+ * The regular expression is compiled once, when the route is constructed, and the route's idle {@link Matcher}
+ * is reused by subsequent calls to {@link #matches(String)}.<br>
+ * A call borrows the idle matcher, and only allocates a new one if another thread is using it at the same time,
+ * so routes may be matched from any number of threads at once.
+ */
+final class Route {
+
+    private final String key;
+
+    private final String[] path;
+
+    private final String command;
+
+    private final Pattern pattern;
+
+    private final AtomicReference<Matcher> idleMatcher;
+
+    private final ArgumentBinder binder;
+
+    private final IReflection reflection;
+
+    /**
+     * Constructs a new route by compiling the specified regular expression.
+     *
+     * @param regex the regular expression.
+     * @param path the controller and command keyword tokens which prefix any input matched by the route.
+     * @param reflection the value to be returned whenever the regular expression matches an input.
+     */
+    Route(String regex, String[] path, IReflection reflection) {
+        this(regex, path, Pattern.compile(regex), null, reflection);
+    }
+
+    /**
+     * Constructs a new route which matches inputs through the specified binder rather than through a
+     * regular expression.
+     *
+     * @param key the key under which the route is stored.
+     * @param path the controller and command keyword tokens which prefix any input matched by the route.
+     * @param binder the binder.
+     * @param reflection the value to be returned whenever the binder successfully binds an input.
+     */
+    Route(String key, String[] path, ArgumentBinder binder, IReflection reflection) {
+        this(key, path, null, binder, reflection);
+    }
+
+    private Route(String key, String[] path, Pattern pattern, ArgumentBinder binder, IReflection reflection) {
+        this.key = key;
+        this.path = path;
+        this.command = String.join(" ", path);
+        this.pattern = pattern;
+        this.idleMatcher = pattern != null ? new AtomicReference<>(pattern.matcher("")) : null;
+        this.binder = binder;
+        this.reflection = reflection;
+    }
+
+    /**
+     * Evaluates and determines whether the specified input is matched in its entirety by this route's
+     * compiled pattern, or is successfully bound by this route's binder.<br>
+     * This method is safe to call from more than one thread at a time.
+     *
+     * @param input the input to be evaluated.
+     * @return <code>true</code> if the specified input matches this route's pattern,<br>
+     * <code>false</code> if the specified input does not match this route's pattern.
+     */
+    boolean matches(String input) {
+        if (binder != null) {
+            return binder.bind(input) == ArgumentBinder.BOUND;
+        }
+        Matcher matcher = idleMatcher.getAndSet(null);
+        if (matcher == null) {
+            matcher = pattern.matcher(input);
+        }
+        else {
+            matcher.reset(input);
+        }
+        boolean matches = matcher.matches();
+        idleMatcher.lazySet(matcher.reset(""));
+        return matches;
+    }
+
+    /**
+     * Returns this class's binder field.
+     * @return the binder of the route, or <code>null</code> if the route was constructed with a pattern.
+     */
+    ArgumentBinder binder() {
+        return binder;
+    }
+
+    /**
+     * Returns this class's key field, which is the route's regular expression unless the route was constructed
+     * with a binder.
+     * @return the key field associated with this class.
+     */
+    String key() {
+        return key;
+    }
+
+    /**
+     * Returns a route which matches the same inputs as this route, through the same compiled pattern or binder,
+     * but which maps them to the specified value.
+     * @param reflection the value.
+     * @return the route.
+     */
+    Route with(IReflection reflection) {
+        return new Route(key, path, pattern, binder, reflection);
+    }
+
+    /**
+     * Returns this class's path field.
+     * @return the controller and command keyword tokens of the route.
+     */
+    String[] path() {
+        return path;
+    }
+
+    /**
+     * Returns this class's command field, which consists of the whitespace separated controller and command
+     * keyword tokens of the route.
+     * @return the command field associated with this class.
+     */
+    String command() {
+        return command;
+    }
+
+    /**
+     * Returns this class's <code>IReflection</code> field.
+     * @return the <code>IReflection</code> field associated with this class.
+     */
+    IReflection reflection() {
+        return reflection;
+    }
+}
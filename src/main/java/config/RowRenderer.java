@@ -0,0 +1,97 @@
+package config;
+
+import iface.IConsole;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.BaseStream;
+
+/**
+ * This class renders the rows returned by a {@link annotation.Command} annotated method, which are the elements of a
+ * {@link java.util.stream.Stream}, {@link Iterator} or {@link Iterable}, to a console.<br>
+ * The rows are pulled one at a time, rendered through {@link String#valueOf(Object)}, and printed in chunks through
+ * {@link IConsole#printlnAll(List)}, so that only a single chunk of rows is held at a time, regardless of the number
+ * of rows. Before each chunk is pulled, the console is asked whether it is still open, so that no more rows are
+ * produced once the terminal, pipe or socket the console prints to has gone away.<br>
+ * A returned stream is closed once it has been rendered.
+ */
+final class RowRenderer {
+
+    /**
+     * The maximum number of rows printed at once.
+     */
+    private static final int CHUNK_ROWS = 256;
+
+    /**
+     * The number of characters after which a chunk is printed, even if it holds fewer than {@link #CHUNK_ROWS}.
+     */
+    private static final int CHUNK_CHARS = 1 << 13;
+
+    private RowRenderer() { }
+
+    /**
+     * Evaluates and determines whether the specified return type holds rows, which are rendered by this class.
+     *
+     * @param type the return type.
+     * @return <code>true</code> if the type is a stream, an iterator or an iterable,<br>
+     * <code>false</code> otherwise.
+     */
+    static boolean isRows(Class<?> type) {
+        return BaseStream.class.isAssignableFrom(type) || Iterator.class.isAssignableFrom(type) ||
+                Iterable.class.isAssignableFrom(type);
+    }
+
+    /**
+     * Evaluates and determines whether the specified value holds rows, which are rendered by this class.
+     *
+     * @param value the value returned by a method.
+     * @return <code>true</code> if the value is a stream, an iterator or an iterable,<br>
+     * <code>false</code> otherwise.
+     */
+    static boolean isRows(Object value) {
+        return value instanceof BaseStream || value instanceof Iterator || value instanceof Iterable;
+    }
+
+    /**
+     * Renders the rows of the specified value to the specified console, until every row has been rendered, or the
+     * console is no longer open.
+     *
+     * @param rows the stream, iterator or iterable.
+     * @param console the console.
+     */
+    static void render(Object rows, IConsole console) {
+        BaseStream<?, ?> stream = rows instanceof BaseStream ? (BaseStream<?, ?>) rows : null;
+        try
+        {
+            Iterator<?> iterator = stream != null ? stream.iterator() :
+                    rows instanceof Iterator ? (Iterator<?>) rows : ((Iterable<?>) rows).iterator();
+            List<String> chunk = new ArrayList<>(CHUNK_ROWS);
+            int chars = 0;
+
+            while (iterator.hasNext()) {
+                if (chunk.isEmpty() && !console.isOpen()) {
+                    return;
+                }
+                String row = String.valueOf(iterator.next());
+                chunk.add(row);
+                chars += row.length();
+
+                if (chunk.size() == CHUNK_ROWS || chars >= CHUNK_CHARS) {
+                    console.printlnAll(chunk);
+                    chunk.clear();
+                    chars = 0;
+                }
+            }
+            if (!chunk.isEmpty()) {
+                console.printlnAll(chunk);
+            }
+        }
+        finally
+        {
+            if (stream != null) {
+                stream.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package config;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+/**
+ * This class persists the names of the {@link annotation.Controller} annotated classes found by a class path scan to
+ * an index file, together with a fingerprint of the class path they were found on.<br>
+ * The fingerprint covers the path, size and modification time of every jar file on the class path, and of every
+ * file within every directory on the class path, so that a cached index is only reused while none of the classes
+ * it was derived from could have changed. The class path is that of the class loader used to load the classes,
+ * see {@link #classPath(ClassLoader)}.<br>
+ * The cache is a best effort; an index which can not be read or written is treated as absent.
+ */
+final class ScanCache {
+
+    private static final String HEADER = "# com.github.wnebyte.cli scan cache, version 1";
+
+    private static final String FINGERPRINT = "fingerprint=";
+
+    private static final String PREFIX = "prefix=";
+
+    private final Path file;
+
+    /**
+     * Constructs a new cache which persists its index to the specified file.
+     *
+     * @param file the index file.
+     */
+    ScanCache(Path file) {
+        this.file = Objects.requireNonNull(file);
+    }
+
+    /**
+     * Loads the classes of the index, if the index was stored for the specified prefix and fingerprint.
+     *
+     * @param prefix the package prefix the index needs to have been stored for.
+     * @param fingerprint the fingerprint the index needs to have been stored with.
+     * @param loader the class loader used to load the classes.
+     * @return the classes, or <code>null</code> if the index is absent, stale, or refers to a class which can not
+     * be loaded.
+     */
+    Set<Class<?>> load(String prefix, String fingerprint, ClassLoader loader) {
+        List<String> lines;
+        try
+        {
+            lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        }
+        catch (IOException ex)
+        {
+            return null;
+        }
+        if (lines.size() < 3 || !lines.get(0).equals(HEADER) ||
+                !lines.get(1).equals(FINGERPRINT + fingerprint) || !lines.get(2).equals(PREFIX + prefix)) {
+            return null;
+        }
+        Set<Class<?>> types = new HashSet<>();
+        for (String name : lines.subList(3, lines.size())) {
+            try
+            {
+                types.add(Class.forName(name, false, loader));
+            }
+            catch (ClassNotFoundException | LinkageError ex)
+            {
+                return null;
+            }
+        }
+        return types;
+    }
+
+    /**
+     * Stores the names of the specified classes as the index for the specified prefix and fingerprint, replacing
+     * any previously stored index.
+     *
+     * @param prefix the package prefix the classes were scanned for.
+     * @param fingerprint the fingerprint of the class path the classes were scanned on.
+     * @param types the classes.
+     */
+    void store(String prefix, String fingerprint, Set<Class<?>> types) {
+        List<String> lines = new ArrayList<>();
+        lines.add(HEADER);
+        lines.add(FINGERPRINT + fingerprint);
+        lines.add(PREFIX + prefix);
+        for (Class<?> type : types) {
+            lines.add(type.getName());
+        }
+        Collections.sort(lines.subList(3, lines.size()));
+        try
+        {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            Path temp = Files.createTempFile(file.getParent() != null ? file.getParent() : Paths.get(""),
+                    file.getFileName().toString(), ".tmp");
+            Files.write(temp, lines, StandardCharsets.UTF_8);
+            try
+            {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+            catch (AtomicMoveNotSupportedException ex)
+            {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        catch (IOException ignored)
+        {
+        }
+    }
+
+    /**
+     * Returns the class path of the specified class loader, which consists of the file URLs of every
+     * <code>URLClassLoader</code> from the loader up to the system class loader, followed by the
+     * <code>java.class.path</code> system property if the system class loader is reached.
+     *
+     * @param loader the class loader.
+     * @return the class path, whose entries are separated by {@link File#pathSeparator}, or <code>null</code> if
+     * the loader or one of its parents is neither a <code>URLClassLoader</code> nor the system class loader or one of
+     * its parents, or has a URL which is not a file, as the classes visible to such a loader can not be fingerprinted.
+     */
+    static String classPath(ClassLoader loader) {
+        ClassLoader system = ClassLoader.getSystemClassLoader();
+        Set<ClassLoader> systemChain = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (ClassLoader l = system; l != null; l = l.getParent()) {
+            systemChain.add(l);
+        }
+        List<String> entries = new ArrayList<>();
+
+        for (ClassLoader l = loader; l != null; l = l.getParent()) {
+            if (systemChain.contains(l)) {
+                entries.add(System.getProperty("java.class.path", ""));
+                break;
+            }
+            if (!(l instanceof URLClassLoader)) {
+                return null;
+            }
+            for (URL url : ((URLClassLoader) l).getURLs()) {
+                if (!"file".equals(url.getProtocol())) {
+                    return null;
+                }
+                try
+                {
+                    entries.add(Paths.get(url.toURI()).toString());
+                }
+                catch (URISyntaxException | IllegalArgumentException ex)
+                {
+                    return null;
+                }
+            }
+        }
+        return String.join(File.pathSeparator, entries);
+    }
+
+    /**
+     * Computes the fingerprint of the specified class path.
+     *
+     * @param classPath the class path, whose entries are separated by {@link File#pathSeparator}.
+     * @return the fingerprint, as a hexadecimal string.
+     */
+    static String fingerprint(String classPath) {
+        MessageDigest digest;
+        try
+        {
+            digest = MessageDigest.getInstance("SHA-256");
+        }
+        catch (NoSuchAlgorithmException ex)
+        {
+            throw new IllegalStateException(ex);
+        }
+        for (String entry : classPath.split(File.pathSeparator)) {
+            if (entry.isEmpty()) {
+                continue;
+            }
+            Path path = Paths.get(entry);
+            update(digest, "entry", entry, 0L, 0L);
+
+            try
+            {
+                if (Files.isDirectory(path)) {
+                    List<String> files = new ArrayList<>();
+                    Files.walkFileTree(path, new SimpleFileVisitor<Path>() {
+                        @Override
+                        public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                            files.add(path.relativize(file) + "|" + attrs.size() + "|" +
+                                    attrs.lastModifiedTime().toMillis());
+                            return FileVisitResult.CONTINUE;
+                        }
+                    });
+                    // the order in which a directory's files are visited is not specified.
+                    Collections.sort(files);
+                    for (String file : files) {
+                        update(digest, "file", file, 0L, 0L);
+                    }
+                }
+                else if (Files.exists(path)) {
+                    BasicFileAttributes attrs = Files.readAttributes(path, BasicFileAttributes.class);
+                    update(digest, "jar", entry, attrs.size(), attrs.lastModifiedTime().toMillis());
+                }
+            }
+            catch (IOException ex)
+            {
+                update(digest, "unreadable", entry, 0L, 0L);
+            }
+        }
+        StringBuilder hex = new StringBuilder();
+        for (byte b : digest.digest()) {
+            hex.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+        }
+        return hex.toString();
+    }
+
+    private static void update(MessageDigest digest, String kind, String name, long size, long modified) {
+        digest.update((kind + "|" + name + "|" + size + "|" + modified + "\n").getBytes(StandardCharsets.UTF_8));
+    }
+}
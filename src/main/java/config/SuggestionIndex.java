@@ -0,0 +1,218 @@
+package config;
+
+import util.StringUtils;
+
+import java.util.*;
+
+/**
+ * This class suggests the commands of a configuration whose keywords are nearest to those of an unrecognized input,
+ * by the sum of the {@link StringUtils#editDistance(String, String)} between each of the command's keyword tokens
+ * and the corresponding token of the input.<br>
+ * The tokens are stored in nested BK-trees: a tree of the first tokens of every command, each of whose nodes holds a
+ * tree of the tokens which follow it, and so on. A BK-tree only descends into the children whose distance from their
+ * parent could hold a suggestion, by the triangle inequality, and only the subtrees of the tokens which are near
+ * enough are searched, so that a suggestion is found by comparing the input against a small fraction of the
+ * keywords, rather than against every command.<br>
+ * The index is updated whenever a controller is registered or unregistered, and its methods are synchronized, so
+ * that it may be read and updated by several threads at once. Since a node can not be removed from a BK-tree without
+ * rebuilding its subtree, a removed command only stops being suggested, and its tokens keep guiding the search.
+ */
+public final class SuggestionIndex {
+
+    /**
+     * The default maximum number of suggestions returned by {@link #suggest(String)}.
+     */
+    public static final int DEFAULT_LIMIT = 3;
+
+    /**
+     * The maximum distance of a suggestion from an input, regardless of the input's length.
+     */
+    private static final int MAX_DISTANCE = 3;
+
+    /**
+     * The BK-tree of the first keyword tokens, or <code>null</code> if no commands have been added.
+     */
+    private Node root;
+
+    /**
+     * Constructs a new, empty, index.
+     */
+    SuggestionIndex() { }
+
+    /**
+     * Adds the specified keyword path.
+     * @param path the controller and command keyword tokens of a command.
+     */
+    synchronized void add(String[] path) {
+        root = add(root, path, 0);
+    }
+
+    /**
+     * Removes the specified keyword path, which was previously added. The path is still suggested if it was added
+     * more than once, until it has been removed as many times.
+     * @param path the controller and command keyword tokens of a command.
+     */
+    synchronized void remove(String[] path) {
+        Node node = root;
+        for (int i = 0; node != null; i++) {
+            node = find(node, path[i]);
+            if (node == null || i == path.length - 1) {
+                break;
+            }
+            node = node.next;
+        }
+        if (node != null && node.commands > 0) {
+            node.commands--;
+        }
+    }
+
+    /**
+     * Returns up to {@link #DEFAULT_LIMIT} commands nearest to the specified input, see
+     * {@link #suggest(String, int)}.
+     * @param input the unrecognized input.
+     * @return the suggested commands, nearest first.
+     */
+    public List<String> suggest(String input) {
+        return suggest(input, DEFAULT_LIMIT);
+    }
+
+    /**
+     * Returns up to the specified number of commands nearest to the specified input.<br>
+     * Each keyword token of a suggested command is at most a third of the corresponding input token's length,
+     * and at least <code>1</code> edit, away from the input token, and the command as a whole is at most
+     * <code>3</code> edits away from the input. Commands which are equally near are returned in the order of their
+     * keywords.
+     *
+     * @param input the unrecognized input.
+     * @param limit the maximum number of suggestions.
+     * @return the suggested commands, nearest first, or an empty list if no command is near enough.
+     */
+    public synchronized List<String> suggest(String input, int limit) {
+        if (input == null || limit <= 0 || root == null) {
+            return Collections.emptyList();
+        }
+        String[] tokens = input.trim().split("\\s+");
+        if (tokens[0].isEmpty()) {
+            return Collections.emptyList();
+        }
+        SortedMap<Integer, SortedSet<String>> byDistance = new TreeMap<>();
+        search(root, tokens, 0, 0, byDistance);
+
+        List<String> suggestions = new ArrayList<>(limit);
+        for (SortedSet<String> commands : byDistance.values()) {
+            for (String command : commands) {
+                if (suggestions.size() == limit) {
+                    return suggestions;
+                }
+                suggestions.add(command);
+            }
+        }
+        return suggestions;
+    }
+
+    /**
+     * Adds the token of the specified path at the specified index to the specified tree, and the path's remaining
+     * tokens to the tree held by the token's node.
+     * @return the tree, which is created if the specified tree is <code>null</code>.
+     */
+    private static Node add(Node tree, String[] path, int index) {
+        String token = path[index];
+        Node node = tree;
+
+        if (tree == null) {
+            tree = node = new Node(token);
+        }
+        while (true) {
+            int distance = StringUtils.editDistance(token, node.token);
+            if (distance == 0) {
+                break;
+            }
+            Node child = node.children.get(distance);
+            if (child == null) {
+                child = new Node(token);
+                node.children.put(distance, child);
+            }
+            node = child;
+        }
+        if (index == path.length - 1) {
+            node.command = String.join(" ", path);
+            node.commands++;
+        }
+        else {
+            node.next = add(node.next, path, index + 1);
+        }
+        return tree;
+    }
+
+    /**
+     * Returns the node of the specified tree which holds the specified token, or <code>null</code>.
+     */
+    private static Node find(Node tree, String token) {
+        Node node = tree;
+        while (node != null) {
+            int distance = StringUtils.editDistance(token, node.token);
+            if (distance == 0) {
+                return node;
+            }
+            node = node.children.get(distance);
+        }
+        return null;
+    }
+
+    /**
+     * Adds every command reached through the specified tree, whose tokens are near enough to the tokens of the
+     * specified input from the specified index onwards, to the specified map, keyed on its distance.
+     */
+    private static void search(Node tree, String[] tokens, int index, int distance,
+                               SortedMap<Integer, SortedSet<String>> byDistance) {
+        String query = tokens[index];
+        int radius = Math.min(MAX_DISTANCE - distance, Math.max(1, query.length() / 3));
+        Deque<Node> stack = new ArrayDeque<>();
+        stack.push(tree);
+
+        while (!stack.isEmpty()) {
+            Node node = stack.pop();
+            int d = StringUtils.editDistance(query, node.token);
+            if (d <= radius) {
+                if (node.commands > 0) {
+                    byDistance.computeIfAbsent(distance + d, key -> new TreeSet<>()).add(node.command);
+                }
+                if (node.next != null && index + 1 < tokens.length) {
+                    search(node.next, tokens, index + 1, distance + d, byDistance);
+                }
+            }
+            for (Node child : node.children.subMap(d - radius, d + radius + 1).values()) {
+                stack.push(child);
+            }
+        }
+    }
+
+    /**
+     * A node of a BK-tree, whose children are keyed on their distance from the node's token.
+     */
+    private static final class Node {
+
+        private final String token;
+
+        private final NavigableMap<Integer, Node> children = new TreeMap<>();
+
+        /**
+         * The tree of the tokens which follow this node's token, or <code>null</code>.
+         */
+        private Node next;
+
+        /**
+         * The command whose last token is this node's token, or <code>null</code>.
+         */
+        private String command;
+
+        /**
+         * The number of times the command has been added, and not yet removed.
+         */
+        private int commands;
+
+        private Node(String token) {
+            this.token = token;
+        }
+    }
+}
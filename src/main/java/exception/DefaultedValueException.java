@@ -14,4 +14,14 @@ public class DefaultedValueException extends Exception {
     public DefaultedValueException(String message) {
         super(message);
     }
+
+    /**
+     * Constructs a new exception with the specified detail message, which only fills in its stack trace if
+     * writableStackTrace is <code>true</code>.
+     * @param message the detail message
+     * @param writableStackTrace whether or not the stack trace should be writable
+     */
+    public DefaultedValueException(String message, boolean writableStackTrace) {
+        super(message, null, true, writableStackTrace);
+    }
 }
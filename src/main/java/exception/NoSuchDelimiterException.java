@@ -12,4 +12,14 @@ public class NoSuchDelimiterException extends Exception {
     public NoSuchDelimiterException(String exceptionMessage) {
         super(exceptionMessage);
     }
+
+    /**
+     * Constructs a new exception with the specified detail message, which only fills in its stack trace if
+     * writableStackTrace is <code>true</code>.
+     * @param message the detail message
+     * @param writableStackTrace whether or not the stack trace should be writable
+     */
+    public NoSuchDelimiterException(String message, boolean writableStackTrace) {
+        super(message, null, true, writableStackTrace);
+    }
 }
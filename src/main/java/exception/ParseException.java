@@ -13,4 +13,16 @@ public class ParseException extends Exception {
     public ParseException(String errorMessage) {
         super(errorMessage);
     }
+
+    /**
+     * Constructs a new exception with the specified detail message, which only fills in its stack trace if
+     * writableStackTrace is <code>true</code>.<br>
+     * Exceptions without a stack trace are considerably cheaper to construct, and are used to report the state of
+     * an invocation, where the stack trace carries no information.
+     * @param message the detail message
+     * @param writableStackTrace whether or not the stack trace should be writable
+     */
+    public ParseException(String message, boolean writableStackTrace) {
+        super(message, null, true, writableStackTrace);
+    }
 }
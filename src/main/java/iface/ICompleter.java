@@ -0,0 +1,20 @@
+package iface;
+
+import java.util.List;
+
+/**
+ * This interface declares the following abstract method: {@link ICompleter#complete(String)}.<br>
+ * An implementation is passed to {@link IConsole#setCompleter(ICompleter)}, so that consoles which read input
+ * interactively may complete the token being typed when the user presses tab.
+ */
+public interface ICompleter {
+
+    /**
+     * Calling this abstract method is meant to return every token which completes the last token of the specified
+     * line, which is empty if the line is empty or ends with whitespace.
+     *
+     * @param line the line, as typed so far.
+     * @return the candidates, in ascending order, or an empty list if the last token can not be completed.
+     */
+    List<String> complete(String line);
+}
@@ -1,5 +1,7 @@
 package iface;
 
+import java.util.List;
+
 /**
  * This interface declares abstract methods for printing, and reading text to and from a console.
  */
@@ -17,9 +19,40 @@ public interface IConsole
      */
     void printerr(String text);
 
+    /**
+     * Println each of the specified lines of text to the implemented console, in order, such as a chunk of the rows
+     * returned by a {@link annotation.Command} annotated method.<br>
+     * The default implementation println the lines joined by the line separator, in a single call.
+     * @param lines the lines of text to be println.
+     */
+    default void printlnAll(List<String> lines) {
+        if (!lines.isEmpty()) {
+            println(String.join(System.lineSeparator(), lines));
+        }
+    }
+
+    /**
+     * Returns whether the text printed to the implemented console is still consumed, so that a command producing
+     * a lot of text may stop once the terminal, pipe, or socket it prints to has gone away.<br>
+     * The default implementation returns <code>true</code>.
+     * @return <code>true</code> if printed text is consumed,<br>
+     * <code>false</code> otherwise.
+     */
+    default boolean isOpen() {
+        return true;
+    }
+
     /**
      * Reads the last line of text from the implemented console.
      * @return the last line of text.
      */
     String read();
+
+    /**
+     * Sets the completer which consoles that read input interactively may use to complete the token being typed.
+     * <br>
+     * Called by the configuration the console is passed to. The default implementation ignores the completer.
+     * @param completer the completer of the configuration's keywords.
+     */
+    default void setCompleter(ICompleter completer) { }
 }
@@ -0,0 +1,27 @@
+package iface;
+
+/**
+ * This functional interface declares the following abstract method:
+ * {@link IConverter#convert(CharSequence, int, int)}.
+ */
+public interface IConverter {
+
+    /**
+     * The object returned by {@link #convert(CharSequence, int, int)} when a slice is not parsable into an object
+     * of the predetermined type.<br>
+     * Returning this object, rather than throwing an exception, keeps failed conversions as cheap as successful
+     * ones.
+     */
+    Object FAILURE = new Object();
+
+    /**
+     * Calling this abstract method is meant to parse the slice of the specified value which starts at the
+     * specified offset and spans the specified length into an object of a predetermined type.
+     *
+     * @param value the value.
+     * @param offset the offset of the slice.
+     * @param length the length of the slice.
+     * @return an object, or {@link #FAILURE} if the slice is not parsable into an object of the predetermined type.
+     */
+    Object convert(CharSequence value, int offset, int length);
+}
@@ -0,0 +1,18 @@
+package iface;
+
+/**
+ * This functional interface declares the following abstract method: {@link IInvoker#invoke(Object, Object[])}.
+ */
+public interface IInvoker {
+
+    /**
+     * Calling this abstract method is meant to invoke an underlying {@link java.lang.reflect.Method} on the
+     * specified object, using the specified arguments.
+     *
+     * @param object the object on which the underlying method is to be invoked.
+     * @param args the arguments of the underlying method.
+     * @return the value returned by the underlying method, or <code>null</code> if the method is void.
+     * @throws Throwable in the event of the underlying method, or the invocation itself, throwing.
+     */
+    Object invoke(Object object, Object[] args) throws Throwable;
+}
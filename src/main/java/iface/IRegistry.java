@@ -0,0 +1,33 @@
+package iface;
+
+import model.CommandDefinition;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * This interface declares the following abstract methods:
+ * {@link IRegistry#controllers()}, {@link IRegistry#commands()}.<br>
+ * Implementations are generated at compile time by the <code>processor.CommandProcessor</code> annotation processor,
+ * and are located through a {@link java.util.ServiceLoader} by {@link config.Builder}, which then neither scans the
+ * class path for {@link annotation.Controller} annotated classes, nor reflects over their methods, unless it is to
+ * scan with registries, see {@link config.Builder#scanWithRegistries(boolean)}.
+ */
+public interface IRegistry {
+
+    /**
+     * Calling this abstract method is meant to return the {@link annotation.Controller} annotated classes
+     * known to this registry.
+     *
+     * @return the controller annotated classes.
+     */
+    Set<Class<?>> controllers();
+
+    /**
+     * Calling this abstract method is meant to return a definition of each {@link annotation.Command} annotated
+     * method declared by the classes returned by {@link #controllers()}.
+     *
+     * @return the definitions, in the order in which the methods are declared.
+     */
+    List<CommandDefinition> commands();
+}
@@ -2,28 +2,50 @@ package model;
 
 import annotation.Controller;
 import config.MethodInvocationState;
+import iface.IConsole;
 
 /**
  * This abstract class may be used as a base class for any {@link Controller} annotated classes,
- * to gain access to this class's {@link MethodInvocationState} object.
+ * to gain access to the {@link MethodInvocationState} of the invocation in progress.
  */
 public abstract class AbstractController {
 
-    private final MethodInvocationState invokeState;
-
     /**
-     * Constructs a new object and initializes it's {@link MethodInvocationState} field.
+     * Constructs a new object.
      */
     public AbstractController() {
-        invokeState = new MethodInvocationState();
     }
 
     /**
-     * Returns this class's <code>MethodInvocationState</code> field.
+     * Returns the <code>MethodInvocationState</code> of the invocation of this controller's
+     * {@link annotation.Command} annotated method which is in progress on the current thread.<br>
+     * Every invocation has its own state, so commands which run on this controller at the same time, on different
+     * threads, do not see each other's state.<br>
+     * The state is unbound once the method returns, so a method which returns a
+     * {@link java.util.concurrent.CompletionStage}, and needs its state in a continuation of the stage, is to read
+     * the state before returning, rather than in the continuation.
      *
-     * @return the <code>MethodInvocationState</code> field associated with this class.
+     * @return the <code>MethodInvocationState</code> of the invocation in progress, or an empty state if none of
+     * this controller's methods are being invoked on the current thread.
      */
     public MethodInvocationState invokeState() {
-        return invokeState;
+        return MethodInvocationState.currentOf(this);
+    }
+
+    /**
+     * Returns the console of the invocation of this controller's {@link annotation.Command} annotated method which
+     * is in progress on the current thread.<br>
+     * If the command runs in a pipeline, such as <code>cmd1 | cmd2</code>, the console reads the lines printed by
+     * the previous command, and prints lines to the next command, as they are printed, see {@link PipeConsole}.
+     * Otherwise, it is the configuration's console.<br>
+     * The console is unbound once the method returns, so a method which returns a
+     * {@link java.util.concurrent.CompletionStage}, and prints from a continuation of the stage, is to read the
+     * console before returning, such as <code>IConsole io = io();</code>, and print to it in the continuation.
+     *
+     * @return the console of the invocation in progress, or <code>null</code> if none of this controller's methods
+     * are being invoked on the current thread.
+     */
+    public IConsole io() {
+        return invokeState().console();
     }
 }
@@ -0,0 +1,303 @@
+package model;
+
+import iface.IConsole;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Scanner;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class implements methods for printing text to a console by encoding it into a buffer, which is written to
+ * the channel of {@link FileDescriptor#out} in one call when it fills up, when the oldest buffered text has been
+ * waiting for the flush interval, or when {@link #read()} is about to prompt for input.<br>
+ * Error text is not buffered, but the buffered text is written before it, so that text printed through
+ * {@link #println(String)} and {@link #printerr(String)} appears in the order in which it was printed.<br>
+ * The methods of this class may be called by several threads at once.
+ * If the calling thread runs a command of a pipeline, text is printed to the next command, and read from the
+ * previous command, instead, without holding this console's lock, see {@link PipeConsole}.
+ * Like {@link PrintStream}, this class does not throw <code>IOExceptions</code>, but records them,
+ * see {@link #checkError()}.
+ */
+public class BufferedConsole implements IConsole, Flushable, Closeable
+{
+    private static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+
+    /**
+     * The minimum size of the buffer, which fits the longest encoding of any character.
+     */
+    private static final int MIN_BUFFER_SIZE = 16;
+
+    private static final long DEFAULT_FLUSH_INTERVAL_MILLIS = 50L;
+
+    private static final char[] LINE_SEPARATOR = System.lineSeparator().toCharArray();
+
+    private final WritableByteChannel out;
+
+    private final WritableByteChannel err;
+
+    private final Scanner scanner;
+
+    private final ByteBuffer buffer;
+
+    private final CharsetEncoder encoder;
+
+    private final ScheduledExecutorService flusher;
+
+    private final long flushIntervalNanos;
+
+    /**
+     * The shutdown hook which writes any buffered text when the JVM exits, until this console is closed.
+     */
+    private final Thread shutdownHook;
+
+    /**
+     * The time at which the oldest text in the buffer was printed, or <code>0</code> if the buffer is empty.
+     */
+    private long bufferedSince;
+
+    private boolean error;
+
+    /**
+     * Constructs a new <code>BufferedConsole</code> object, which buffers up to 64 KiB of text for at most 50 ms.
+     */
+    public BufferedConsole()
+    {
+        this(DEFAULT_BUFFER_SIZE, DEFAULT_FLUSH_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Constructs a new <code>BufferedConsole</code> object, which buffers up to the specified number of bytes of
+     * text for at most the specified flush interval.
+     * @param bufferSize the size of the buffer, in bytes, which must be at least 16.
+     * @param flushInterval the maximum time text is buffered for, or <code>0</code> if text is only to be
+     * written when the buffer fills up, or when prompting for input.
+     * @param unit the time unit of the flush interval argument.
+     */
+    public BufferedConsole(int bufferSize, long flushInterval, TimeUnit unit)
+    {
+        this(new FileOutputStream(FileDescriptor.out).getChannel(),
+                new FileOutputStream(FileDescriptor.err).getChannel(), System.in, bufferSize, flushInterval, unit);
+    }
+
+    /**
+     * Constructs a new <code>BufferedConsole</code> object, which prints to the specified channels, and reads from
+     * the specified stream.
+     * @param out the channel text is written to.
+     * @param err the channel error text is written to.
+     * @param in the stream text is read from.
+     * @param bufferSize the size of the buffer, in bytes, which must be at least 16.
+     * @param flushInterval the maximum time text is buffered for, or <code>0</code> if text is only to be
+     * written when the buffer fills up, or when prompting for input.
+     * @param unit the time unit of the flush interval argument.
+     */
+    public BufferedConsole(WritableByteChannel out, WritableByteChannel err, InputStream in,
+                           int bufferSize, long flushInterval, TimeUnit unit)
+    {
+        if (bufferSize < MIN_BUFFER_SIZE || flushInterval < 0) {
+            throw new IllegalArgumentException(
+                    "bufferSize must be at least " + MIN_BUFFER_SIZE + ", and flushInterval must not be negative."
+            );
+        }
+        this.out = out;
+        this.err = err;
+        this.scanner = new Scanner(in);
+        this.buffer = ByteBuffer.allocate(bufferSize);
+        this.encoder = StandardCharsets.UTF_8.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        this.flushIntervalNanos = unit.toNanos(flushInterval);
+
+        if (flushInterval > 0) {
+            flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "cli-console-flush");
+                thread.setDaemon(true);
+                return thread;
+            });
+            // checks twice per interval, so that no text waits for much longer than the interval.
+            long period = Math.max(1L, flushIntervalNanos / 2);
+            flusher.scheduleWithFixedDelay(this::flushIfExpired, period, period, TimeUnit.NANOSECONDS);
+        }
+        else {
+            flusher = null;
+        }
+        this.shutdownHook = new Thread(this::flush, "cli-console-shutdown");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    /**
+     * {@inheritDoc}
+     * @param text the text to be println.
+     */
+    @Override
+    public void println(String text) {
+        PipeConsole pipe = PipeConsole.currentOutput();
+        if (pipe != null) {
+            pipe.println(text);
+        }
+        else {
+            buffer(text);
+        }
+    }
+
+    /**
+     * {@inheritDoc}<br>
+     * The lines are encoded into the buffer one after the other, while holding the lock once.
+     * @param lines the lines of text to be println.
+     */
+    @Override
+    public void printlnAll(List<String> lines) {
+        PipeConsole pipe = PipeConsole.currentOutput();
+        if (pipe != null) {
+            pipe.printlnAll(lines);
+            return;
+        }
+        synchronized (this) {
+            for (String line : lines) {
+                buffer(line);
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * @return <code>false</code> if writing to either of the channels has failed, see {@link #checkError()},<br>
+     * <code>true</code> otherwise.
+     */
+    @Override
+    public boolean isOpen() {
+        PipeConsole pipe = PipeConsole.currentOutput();
+        return pipe != null ? pipe.isOpen() : !checkError();
+    }
+
+    /**
+     * {@inheritDoc}<br>
+     * Any buffered text is written first.
+     * @param text the error text to be println.
+     */
+    @Override
+    public synchronized void printerr(String text) {
+        flush();
+        write(err, ByteBuffer.wrap(((text == null ? "null" : text) + System.lineSeparator())
+                .getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * {@inheritDoc}<br>
+     * Any buffered text is written first, so that it is visible before prompting for input.
+     * @return the last line of text.
+     */
+    @Override
+    public String read()
+    {
+        PipeConsole pipe = PipeConsole.currentInput();
+        if (pipe != null) {
+            return pipe.read();
+        }
+        flush();
+        return scanner.nextLine();
+    }
+
+    /**
+     * Writes any buffered text.
+     */
+    @Override
+    public synchronized void flush() {
+        buffer.flip();
+        write(out, buffer);
+        buffer.clear();
+        bufferedSince = 0L;
+    }
+
+    /**
+     * Writes any buffered text, stops flushing the buffer periodically, and removes the shutdown hook, so that a
+     * closed console is no longer reachable from the JVM.<br>
+     * The underlying channels are not closed.
+     */
+    @Override
+    public void close() {
+        if (flusher != null) {
+            flusher.shutdown();
+        }
+        try
+        {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        }
+        catch (IllegalStateException ex)
+        {
+            // the JVM is shutting down, and the hook flushes the buffer either way.
+        }
+        flush();
+    }
+
+    /**
+     * Returns whether writing to either of the channels has failed.
+     * @return <code>true</code> if an <code>IOException</code> has been thrown while writing,<br>
+     * <code>false</code> otherwise.
+     */
+    public synchronized boolean checkError() {
+        return error;
+    }
+
+    /**
+     * Encodes the specified line into the buffer.
+     */
+    private synchronized void buffer(String text) {
+        if (buffer.position() == 0) {
+            bufferedSince = System.nanoTime();
+        }
+        encode(CharBuffer.wrap(text == null ? "null" : text));
+        encode(CharBuffer.wrap(LINE_SEPARATOR));
+    }
+
+    /**
+     * Encodes the specified text into the buffer, writing the buffer whenever it fills up.
+     */
+    private void encode(CharBuffer text) {
+        while (true) {
+            CoderResult result = encoder.encode(text, buffer, true);
+            if (result.isOverflow()) {
+                flush();
+                bufferedSince = System.nanoTime();
+            }
+            else {
+                encoder.reset();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Writes the buffer if the oldest text in it has been buffered for at least the flush interval.
+     */
+    private synchronized void flushIfExpired() {
+        if (bufferedSince != 0L && System.nanoTime() - bufferedSince >= flushIntervalNanos) {
+            flush();
+        }
+    }
+
+    /**
+     * Writes the remaining bytes of the specified buffer to the specified channel.
+     */
+    private void write(WritableByteChannel channel, ByteBuffer bytes) {
+        try
+        {
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+        }
+        catch (IOException ex)
+        {
+            error = true;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package model;
+
+import iface.IInvoker;
+
+import java.lang.reflect.Method;
+
+/**
+ * This class describes a {@link annotation.Command} annotated method, and the {@link annotation.Controller}
+ * annotated class which declares it, by the values of their annotations.<br>
+ * Definitions are either derived from a controller at runtime through the <code>java.lang.reflect</code> api,
+ * or generated at compile time into an {@link iface.IRegistry}, in which case the method is not looked up at
+ * runtime, and is invoked through a generated {@link IInvoker}.
+ */
+public class CommandDefinition {
+
+    private final Class<?> type;
+
+    private final String controllerKeyword;
+
+    private final String keyword;
+
+    private final String noMatch;
+
+    private final String methodName;
+
+    private final Class<?>[] parameterTypes;
+
+    private final String[] keywords;
+
+    private final boolean[] optional;
+
+    private final Method method;
+
+    private final IInvoker invoker;
+
+    /**
+     * Constructs a new commandDefinition object for a method which is invoked through the specified invoker.
+     *
+     * @param type the controller declaring the method.
+     * @param controllerKeyword the keyword of the controller, or <code>null</code> if the controller's keyword
+     * is ignored.
+     * @param keyword the keyword of the method.
+     * @param noMatch the noMatch message of the method, or <code>null</code> if it has none.
+     * @param methodName the name of the method.
+     * @param parameterTypes the types of the method's parameters.
+     * @param keywords the keywords of the method's parameters.
+     * @param optional whether each of the method's parameters is optional.
+     * @param invoker the invoker used to invoke the method, or <code>null</code> if the method is to be looked up
+     * by its name and parameter types, and invoked through an invoker created from it.
+     */
+    public CommandDefinition(Class<?> type, String controllerKeyword, String keyword, String noMatch,
+                             String methodName, Class<?>[] parameterTypes, String[] keywords, boolean[] optional,
+                             IInvoker invoker) {
+        this(type, controllerKeyword, keyword, noMatch, methodName, parameterTypes, keywords, optional,
+                null, invoker);
+    }
+
+    /**
+     * Constructs a new commandDefinition object for the specified method.
+     *
+     * @param type the controller declaring the method.
+     * @param controllerKeyword the keyword of the controller, or <code>null</code> if the controller's keyword
+     * is ignored.
+     * @param keyword the keyword of the method.
+     * @param noMatch the noMatch message of the method, or <code>null</code> if it has none.
+     * @param method the method.
+     * @param keywords the keywords of the method's parameters.
+     * @param optional whether each of the method's parameters is optional.
+     */
+    public CommandDefinition(Class<?> type, String controllerKeyword, String keyword, String noMatch,
+                             Method method, String[] keywords, boolean[] optional) {
+        this(type, controllerKeyword, keyword, noMatch, method.getName(), method.getParameterTypes(), keywords,
+                optional, method, null);
+    }
+
+    private CommandDefinition(Class<?> type, String controllerKeyword, String keyword, String noMatch,
+                              String methodName, Class<?>[] parameterTypes, String[] keywords, boolean[] optional,
+                              Method method, IInvoker invoker) {
+        this.type = type;
+        this.controllerKeyword = controllerKeyword;
+        this.keyword = keyword;
+        this.noMatch = noMatch;
+        this.methodName = methodName;
+        this.parameterTypes = parameterTypes;
+        this.keywords = keywords;
+        this.optional = optional;
+        this.method = method;
+        this.invoker = invoker;
+    }
+
+    /**
+     * Returns this class's type field.
+     * @return the type field associated with this class.
+     */
+    public Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * Returns this class's controller keyword field.
+     * @return the controller keyword field associated with this class, or <code>null</code> if the controller's
+     * keyword is ignored.
+     */
+    public String getControllerKeyword() {
+        return controllerKeyword;
+    }
+
+    /**
+     * Returns this class's keyword field.
+     * @return the keyword field associated with this class.
+     */
+    public String getKeyword() {
+        return keyword;
+    }
+
+    /**
+     * Returns this class's noMatch field.
+     * @return the noMatch field associated with this class, or <code>null</code> if the method has no
+     * noMatch message.
+     */
+    public String getNoMatch() {
+        return noMatch;
+    }
+
+    /**
+     * Returns this class's method name field.
+     * @return the method name field associated with this class.
+     */
+    public String getMethodName() {
+        return methodName;
+    }
+
+    /**
+     * Returns this class's parameter types field.
+     * @return the parameter types field associated with this class.
+     */
+    public Class<?>[] getParameterTypes() {
+        return parameterTypes;
+    }
+
+    /**
+     * Returns this class's keywords field.
+     * @return the keywords field associated with this class.
+     */
+    public String[] getKeywords() {
+        return keywords;
+    }
+
+    /**
+     * Returns this class's optional field.
+     * @return the optional field associated with this class.
+     */
+    public boolean[] getOptional() {
+        return optional;
+    }
+
+    /**
+     * Returns this class's <code>Method</code> field.
+     * @return the <code>Method</code> field associated with this class, or <code>null</code> if this definition
+     * was constructed with an invoker, or for a method which has not yet been looked up.
+     */
+    public Method getMethod() {
+        return method;
+    }
+
+    /**
+     * Returns this class's <code>IInvoker</code> field.
+     * @return the <code>IInvoker</code> field associated with this class, or <code>null</code> if the method is to
+     * be invoked through an invoker created from it.
+     */
+    public IInvoker getInvoker() {
+        return invoker;
+    }
+}
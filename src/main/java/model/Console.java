@@ -9,7 +9,9 @@ import static java.lang.System.out;
 /**
  * This class implements methods for printing text to a console using {@link System#out},<br>
  * and reading text from a console using {@link System#in},
- * and an instance of the {@link Scanner} class.
+ * and an instance of the {@link Scanner} class.<br>
+ * If the calling thread runs a command of a pipeline, text is printed to the next command, and read from the
+ * previous command, instead, see {@link PipeConsole}.
  */
 public class Console implements IConsole
 {
@@ -29,7 +31,13 @@ public class Console implements IConsole
      */
     @Override
     public void println(String text) {
-        out.println(text);
+        PipeConsole pipe = PipeConsole.currentOutput();
+        if (pipe != null) {
+            pipe.println(text);
+        }
+        else {
+            out.println(text);
+        }
     }
 
     /**
@@ -41,6 +49,18 @@ public class Console implements IConsole
         err.println(text);
     }
 
+    /**
+     * {@inheritDoc}<br>
+     * Flushes {@link System#out}, which is no longer open once writing to it has failed.
+     * @return <code>true</code> if printed text is consumed,<br>
+     * <code>false</code> otherwise.
+     */
+    @Override
+    public boolean isOpen() {
+        PipeConsole pipe = PipeConsole.currentOutput();
+        return pipe != null ? pipe.isOpen() : !out.checkError();
+    }
+
     /**
      * {@inheritDoc}
      * @return the last line of text.
@@ -48,7 +68,8 @@ public class Console implements IConsole
     @Override
     public String read()
     {
-        return scanner.nextLine();
+        PipeConsole pipe = PipeConsole.currentInput();
+        return pipe != null ? pipe.read() : scanner.nextLine();
     }
 
 }
\ No newline at end of file
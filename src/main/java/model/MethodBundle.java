@@ -1,11 +1,17 @@
 package model;
 
+import iface.IInvoker;
+import util.MethodUtils;
+import util.Tokenizer;
+
 import java.lang.reflect.Method;
+import java.util.Arrays;
 
 /**
  * This class bundles relevant information pertaining to a {@link java.lang.reflect.Method},<br>
  * such as the method itself, the instantiated class on which it acts, and information pertaining to its
- * parameters in the form of an array of {@link model.ParamBundle} objects.
+ * parameters in the form of an array of {@link model.ParamBundle} objects, the {@link Tokenizer} used to
+ * locate the values of its parameters in an input, and the {@link IInvoker} used to invoke it.
  */
 public class MethodBundle {
 
@@ -15,17 +21,55 @@ public class MethodBundle {
 
     private final ParamBundle[] params;
 
+    private final Tokenizer tokenizer;
+
+    private final IInvoker invoker;
+
     /**
-     * Constructs a new methodBundle object using the specified object, method, and paramBundle.
+     * Constructs a new methodBundle object using the specified object, method, and paramBundle.<br>
+     * The values of the method's parameters may be located anywhere in an input.
      *
      * @param object the object to which the method belongs to.
      * @param method the method.
      * @param params the method's parameters.
      */
     public MethodBundle(Object object, Method method, ParamBundle[] params) {
+        this(object, method, params, 0);
+    }
+
+    /**
+     * Constructs a new methodBundle object using the specified object, method, and paramBundle.<br>
+     * The values of the method's parameters are located after the specified number of leading tokens of an input.
+     *
+     * @param object the object to which the method belongs to.
+     * @param method the method.
+     * @param params the method's parameters.
+     * @param skip the number of controller and command keyword tokens which precede the method's arguments.
+     */
+    public MethodBundle(Object object, Method method, ParamBundle[] params, int skip) {
+        this(object, method, params, skip, null);
+    }
+
+    /**
+     * Constructs a new methodBundle object using the specified object, method, paramBundle, and invoker.<br>
+     * The values of the method's parameters are located after the specified number of leading tokens of an input.
+     *
+     * @param object the object to which the method belongs to.
+     * @param method the method, which may be <code>null</code> if an invoker is specified.
+     * @param params the method's parameters.
+     * @param skip the number of controller and command keyword tokens which precede the method's arguments.
+     * @param invoker the invoker used to invoke the method, or <code>null</code> if an invoker is to be created
+     * from the method.
+     */
+    public MethodBundle(Object object, Method method, ParamBundle[] params, int skip, IInvoker invoker) {
         this.object = object;
         this.method = method;
         this.params = params;
+        this.tokenizer = new Tokenizer(skip, Arrays.stream(params).map(ParamBundle::getName).toArray(String[]::new));
+        if (invoker == null) {
+            invoker = MethodUtils.toInvoker(method);
+        }
+        this.invoker = invoker != null ? invoker : MethodUtils.toReflectiveInvoker(method);
     }
 
     /**
@@ -51,4 +95,22 @@ public class MethodBundle {
     public Object getObject() {
         return object;
     }
+
+    /**
+     * Returns this class's <code>Tokenizer</code> field.
+     * @return the <code>Tokenizer</code> field associated with this class.
+     */
+    public Tokenizer getTokenizer() {
+        return tokenizer;
+    }
+
+    /**
+     * Returns this class's <code>IInvoker</code> field, which is backed by a
+     * {@link java.lang.invoke.MethodHandle} if one could be created for the method, and by
+     * {@link Method#invoke(Object, Object...)} otherwise.
+     * @return the <code>IInvoker</code> field associated with this class.
+     */
+    public IInvoker getInvoker() {
+        return invoker;
+    }
 }
@@ -1,11 +1,17 @@
 package model;
 
+import iface.IConverter;
+
 import java.lang.reflect.Type;
 import java.lang.reflect.Parameter;
 
+import static util.ObjectUtils.toConverter;
+import static util.ObjectUtils.toDefaultValue;
+
 /**
  * This class bundles relevant information pertaining to a {@link java.lang.reflect.Parameter},<br>
- * such as the {@link java.lang.reflect.Type} of the parameter, and the relevant name of the parameter.
+ * such as the {@link java.lang.reflect.Type} of the parameter, the relevant name of the parameter,
+ * the {@link IConverter} used to parse its values, and its default value.
  */
 public class ParamBundle {
 
@@ -13,15 +19,24 @@ public class ParamBundle {
 
     private final String name;
 
+    private final IConverter converter;
+
+    private final Object defaultValue;
+
     /**
-     * Constructs a new paramBundle object using the specified type, and name.
+     * Constructs a new paramBundle object using the specified type, and name.<br>
+     * The converter and default value of the parameter are resolved once, from the specified type.
      *
      * @param type the type of the parameter.
      * @param name the name/keyword of the parameter.
+     * @throws IllegalArgumentException in the event of the specified type not being a primitive datatype
+     * or wrapper class.
      */
-    public ParamBundle(Type type, String name) {
+    public ParamBundle(Type type, String name) throws IllegalArgumentException {
         this.type = type;
         this.name = name;
+        this.converter = toConverter(type);
+        this.defaultValue = toDefaultValue(type);
     }
 
     /**
@@ -39,4 +54,20 @@ public class ParamBundle {
     public String getName() {
         return name;
     }
+
+    /**
+     * Returns this class's <code>IConverter</code> field.
+     * @return the <code>IConverter</code> field associated with this class.
+     */
+    public IConverter getConverter() {
+        return converter;
+    }
+
+    /**
+     * Returns this class's default value field.
+     * @return the default value field associated with this class.
+     */
+    public Object getDefaultValue() {
+        return defaultValue;
+    }
 }
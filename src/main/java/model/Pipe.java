@@ -0,0 +1,202 @@
+package model;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * This class streams lines of text from the command of a pipeline which writes them, to the command which reads
+ * them, see {@link PipeConsole}.<br>
+ * The lines held by a pipe are bounded by a number of characters, so the memory held by a pipeline does not grow
+ * with the amount of text streamed through it: the writer blocks while the pipe is full, and the reader blocks while
+ * it is empty. A line which is longer than the capacity is accepted once the pipe is empty.<br>
+ * Once the writer has closed the pipe, the reader reads the remaining lines, and then <code>null</code>.
+ * Once the reader has closed the pipe, any lines it holds are discarded, as is every line which is written to it.
+ */
+public final class Pipe {
+
+    private final ArrayDeque<String> lines = new ArrayDeque<>();
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition notEmpty = lock.newCondition();
+
+    private final Condition notFull = lock.newCondition();
+
+    private final int capacity;
+
+    /**
+     * The number of characters of the lines held by this pipe.
+     */
+    private int size;
+
+    private boolean writerClosed;
+
+    private boolean readerClosed;
+
+    /**
+     * Constructs a new pipe, which holds lines of up to the specified number of characters in total.
+     * @param capacity the capacity, in characters, which must be positive.
+     */
+    public Pipe(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException(
+                    "capacity must be positive."
+            );
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     * Writes the specified line, waiting while the pipe is full.
+     * @param line the line.
+     * @return <code>true</code> if the line was written,<br>
+     * <code>false</code> if the reader has closed the pipe, or the current thread was interrupted while waiting,
+     * in which case the line was discarded.
+     */
+    public boolean write(String line) {
+        lock.lock();
+        try
+        {
+            while (!readerClosed && size != 0 && size + line.length() > capacity) {
+                notFull.await();
+            }
+            if (readerClosed || writerClosed) {
+                return false;
+            }
+            lines.addLast(line);
+            size += line.length();
+            notEmpty.signal();
+            return true;
+        }
+        catch (InterruptedException ex)
+        {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Writes each of the specified lines, in order, waiting while the pipe is full, and holding the pipe's lock
+     * except while waiting.
+     * @param batch the lines.
+     * @return <code>true</code> if the lines were written,<br>
+     * <code>false</code> if the reader has closed the pipe, or the current thread was interrupted while waiting,
+     * in which case the remaining lines were discarded.
+     */
+    public boolean writeAll(List<String> batch) {
+        lock.lock();
+        try
+        {
+            for (String line : batch) {
+                while (!readerClosed && size != 0 && size + line.length() > capacity) {
+                    notFull.await();
+                }
+                if (readerClosed || writerClosed) {
+                    return false;
+                }
+                lines.addLast(line);
+                size += line.length();
+                notEmpty.signal();
+            }
+            return true;
+        }
+        catch (InterruptedException ex)
+        {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reads the next line, waiting while the pipe is empty.
+     * @return the next line, or <code>null</code> if the writer has closed the pipe and every line has been read,
+     * or if the current thread was interrupted while waiting.
+     */
+    public String read() {
+        lock.lock();
+        try
+        {
+            while (lines.isEmpty() && !writerClosed) {
+                notEmpty.await();
+            }
+            String line = lines.pollFirst();
+            if (line != null) {
+                size -= line.length();
+                notFull.signal();
+            }
+            return line;
+        }
+        catch (InterruptedException ex)
+        {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns whether the reader is still reading this pipe.
+     * @return <code>true</code> if lines written to this pipe may still be read,<br>
+     * <code>false</code> otherwise.
+     */
+    public boolean isOpen() {
+        lock.lock();
+        try
+        {
+            return !readerClosed && !writerClosed;
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Closes the writing end of this pipe, after which the reader reads the remaining lines, and then
+     * <code>null</code>.
+     */
+    public void closeWriter() {
+        lock.lock();
+        try
+        {
+            writerClosed = true;
+            notEmpty.signalAll();
+            notFull.signalAll();
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Closes the reading end of this pipe, discarding the lines it holds, and releasing a writer waiting for space.
+     */
+    public void closeReader() {
+        lock.lock();
+        try
+        {
+            readerClosed = true;
+            lines.clear();
+            size = 0;
+            notFull.signalAll();
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package model;
+
+import iface.IConsole;
+
+import java.util.List;
+
+/**
+ * This class implements the console of a single command of a pipeline, such as <code>cmd1 | cmd2</code>, which
+ * reads the lines printed by the previous command, and prints its own lines to the next command, through
+ * bounded {@link Pipe}s.<br>
+ * The first command reads from, and the last command prints to, the console of the configuration, as does
+ * {@link #printerr(String)} for every command, so that errors are never streamed into another command.<br>
+ * The console of a command is bound to the thread which invokes it for as long as the command runs, where it is
+ * found by {@link AbstractController#io()}, by a {@link SessionConsole}, and by a {@link Console} or a
+ * {@link BufferedConsole}, so that controllers which print to, or read from, the console they were constructed with
+ * stream their lines through the pipeline as well.
+ */
+public class PipeConsole implements IConsole
+{
+    private static final ThreadLocal<PipeConsole> current = new ThreadLocal<>();
+
+    private final IConsole console;
+
+    private final Pipe in;
+
+    private final Pipe out;
+
+    /**
+     * Constructs a new <code>PipeConsole</code> object.
+     * @param console the console which is read from if there is no previous command, printed to if there is no
+     * next command, and to which error text is printed.
+     * @param in the pipe from the previous command, or <code>null</code> if the command is the first.
+     * @param out the pipe to the next command, or <code>null</code> if the command is the last.
+     */
+    public PipeConsole(IConsole console, Pipe in, Pipe out)
+    {
+        if (console == null) {
+            throw new IllegalArgumentException(
+                    "console must not be null."
+            );
+        }
+        this.console = console;
+        this.in = in;
+        this.out = out;
+    }
+
+    /**
+     * Returns the console of the command of a pipeline which is running on the current thread.
+     * @return the console, or <code>null</code> if no command of a pipeline is running on the current thread.
+     */
+    public static PipeConsole current() {
+        return current.get();
+    }
+
+    /**
+     * Returns the console of the command of a pipeline which is running on the current thread, if the command
+     * prints to a next command.
+     * @return the console, or <code>null</code> if no command of a pipeline is running on the current thread, or
+     * if the command is the last.
+     */
+    public static PipeConsole currentOutput() {
+        PipeConsole console = current.get();
+        return console != null && console.out != null ? console : null;
+    }
+
+    /**
+     * Returns the console of the command of a pipeline which is running on the current thread, if the command
+     * reads from a previous command.
+     * @return the console, or <code>null</code> if no command of a pipeline is running on the current thread, or
+     * if the command is the first.
+     */
+    public static PipeConsole currentInput() {
+        PipeConsole console = current.get();
+        return console != null && console.in != null ? console : null;
+    }
+
+    /**
+     * Binds the specified console of a command to the current thread.
+     * @param console the console.
+     */
+    public static void bind(PipeConsole console) {
+        current.set(console);
+    }
+
+    /**
+     * Unbinds the console of a command from the current thread.
+     */
+    public static void unbind() {
+        current.remove();
+    }
+
+    /**
+     * {@inheritDoc}<br>
+     * The text is streamed to the next command, or, if the next command has stopped reading, discarded.
+     * @param text the text to be println.
+     */
+    @Override
+    public void println(String text) {
+        if (out == null) {
+            console.println(text);
+        }
+        else {
+            out.write(text == null ? "null" : text);
+        }
+    }
+
+    /**
+     * {@inheritDoc}<br>
+     * The lines are streamed to the next command while holding the pipe's lock once, or, if the next command has
+     * stopped reading, discarded.
+     * @param lines the lines of text to be println.
+     */
+    @Override
+    public void printlnAll(List<String> lines) {
+        if (out == null) {
+            console.printlnAll(lines);
+        }
+        else {
+            out.writeAll(lines);
+        }
+    }
+
+    /**
+     * {@inheritDoc}<br>
+     * Error text is printed to the configuration's console.
+     * @param text the error text to be println.
+     */
+    @Override
+    public void printerr(String text) {
+        console.printerr(text);
+    }
+
+    /**
+     * {@inheritDoc}
+     * @return the next line printed by the previous command, or <code>null</code> once the previous command has
+     * completed, and each of its lines has been read.
+     */
+    @Override
+    public String read()
+    {
+        return in == null ? console.read() : in.read();
+    }
+
+    /**
+     * {@inheritDoc}
+     * @return <code>true</code> if the text is read by the next command, or, for the last command, consumed by the
+     * configuration's console,<br>
+     * <code>false</code> otherwise.
+     */
+    @Override
+    public boolean isOpen() {
+        return out == null ? console.isOpen() : out.isOpen();
+    }
+
+    /**
+     * Ends the input of the next command, and stops reading the output of the previous command, which is called
+     * once the command has completed.
+     */
+    public void close() {
+        if (out != null) {
+            out.closeWriter();
+        }
+        if (in != null) {
+            in.closeReader();
+        }
+    }
+}
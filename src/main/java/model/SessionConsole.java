@@ -0,0 +1,128 @@
+package model;
+
+import iface.ICompleter;
+import iface.IConsole;
+
+import java.util.List;
+
+/**
+ * This class implements methods for printing text to, and reading text from, the console of the session which is
+ * bound to the calling thread, or a fallback console if no session is bound to it.<br>
+ * A configuration which is served to several sessions at once, such as by a {@link sample.CLIServer}, is built with
+ * an instance of this class, which is then injected into its controllers like any other console, so that the text
+ * printed by a command is written to the session which dispatched it.
+ * A session is only bound to the thread which dispatches its commands, so text printed by any other thread, such as
+ * a thread started by a command, is written to the fallback console, except for the commands of a pipeline, which
+ * are each bound to their own {@link PipeConsole}.
+ */
+public class SessionConsole implements IConsole
+{
+    private final IConsole fallback;
+
+    private final ThreadLocal<IConsole> session = new ThreadLocal<>();
+
+    /**
+     * Constructs a new <code>SessionConsole</code> object, which falls back to a new {@link Console}.
+     */
+    public SessionConsole()
+    {
+        this(new Console());
+    }
+
+    /**
+     * Constructs a new <code>SessionConsole</code> object, which falls back to the specified console.
+     * @param fallback the console used by threads to which no session is bound.
+     */
+    public SessionConsole(IConsole fallback)
+    {
+        if (fallback == null) {
+            throw new IllegalArgumentException(
+                    "fallback must not be null."
+            );
+        }
+        this.fallback = fallback;
+    }
+
+    /**
+     * Binds the specified console of a session to the calling thread.
+     * @param console the console of the session.
+     * @return the console previously bound to the calling thread, or <code>null</code> if none was.
+     */
+    public IConsole bind(IConsole console) {
+        IConsole previous = session.get();
+        session.set(console);
+        return previous;
+    }
+
+    /**
+     * Unbinds the console of a session from the calling thread.
+     */
+    public void unbind() {
+        session.remove();
+    }
+
+    /**
+     * Returns the console of the session bound to the calling thread, or the fallback console.
+     * @return the console.
+     */
+    public IConsole current() {
+        IConsole console = session.get();
+        return console != null ? console : fallback;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @param text the text to be println.
+     */
+    @Override
+    public void println(String text) {
+        current().println(text);
+    }
+
+    /**
+     * {@inheritDoc}
+     * @param text the error text to be println.
+     */
+    @Override
+    public void printerr(String text) {
+        current().printerr(text);
+    }
+
+    /**
+     * {@inheritDoc}
+     * @param lines the lines of text to be println.
+     */
+    @Override
+    public void printlnAll(List<String> lines) {
+        current().printlnAll(lines);
+    }
+
+    /**
+     * {@inheritDoc}
+     * @return whether the text printed to the console of the session bound to the calling thread is consumed.
+     */
+    @Override
+    public boolean isOpen() {
+        return current().isOpen();
+    }
+
+    /**
+     * {@inheritDoc}
+     * @return the last line of text.
+     */
+    @Override
+    public String read()
+    {
+        return current().read();
+    }
+
+    /**
+     * {@inheritDoc}<br>
+     * The completer is passed on to the fallback console.
+     * @param completer the completer of the configuration's keywords.
+     */
+    @Override
+    public void setCompleter(ICompleter completer) {
+        fallback.setCompleter(completer);
+    }
+}
@@ -0,0 +1,328 @@
+package model;
+
+import iface.IConsole;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.ByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * This class implements methods for printing text to, and reading lines of text from, a connected socket channel,
+ * such as a session of a {@link sample.CLIServer}.<br>
+ * Text is read into, and encoded into, buffers of a fixed size, so that the memory held by a session does not grow
+ * with its input or output: output is written whenever the output buffer fills up, and before blocking to read
+ * input, and an input line which does not fit the input buffer is discarded, reported, and read as an empty line.
+ * Lines are decoded as UTF-8, and may end with either <code>\n</code> or <code>\r\n</code>.<br>
+ * Lines are read by a single session thread at a time, but text may be printed by any thread, such as one which
+ * completes a stage returned by an asynchronous command: printing holds a lock, so that the lines of different
+ * threads are not interleaved, and text printed while the session thread waits for input is written at once.
+ * If writing to the channel fails, the channel is closed, and {@link #read()} returns <code>null</code>.
+ */
+public class SocketConsole implements IConsole, Flushable, Closeable
+{
+    private static final int MIN_BUFFER_SIZE = 16;
+
+    private static final char[] LINE_SEPARATOR = {'\n'};
+
+    private final ByteChannel channel;
+
+    private final ByteBuffer input;
+
+    private final ByteBuffer output;
+
+    private final CharsetEncoder encoder;
+
+    /**
+     * The lock which guards the output buffer, the encoder, and {@link #waiting}.
+     */
+    private final ReentrantLock outputLock = new ReentrantLock();
+
+    /**
+     * Whether the session thread is waiting for input, in which case printed text is written at once.
+     */
+    private boolean waiting;
+
+    /**
+     * Whether the remainder of an input line, which did not fit the input buffer, is being discarded.
+     */
+    private boolean discarding;
+
+    /**
+     * Constructs a new <code>SocketConsole</code> object, which prints to and reads from the specified channel.
+     * @param channel the connected channel.
+     * @param inputBufferSize the size of the input buffer, in bytes, which is the maximum length of an input line,
+     * and must be at least 16.
+     * @param outputBufferSize the size of the output buffer, in bytes, which must be at least 16.
+     */
+    public SocketConsole(ByteChannel channel, int inputBufferSize, int outputBufferSize)
+    {
+        if (inputBufferSize < MIN_BUFFER_SIZE || outputBufferSize < MIN_BUFFER_SIZE) {
+            throw new IllegalArgumentException(
+                    "the buffer sizes must be at least " + MIN_BUFFER_SIZE + "."
+            );
+        }
+        this.channel = channel;
+        this.input = ByteBuffer.allocate(inputBufferSize);
+        this.output = ByteBuffer.allocate(outputBufferSize);
+        this.encoder = StandardCharsets.UTF_8.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        this.input.flip();
+    }
+
+    /**
+     * {@inheritDoc}
+     * @param text the text to be println.
+     */
+    @Override
+    public void println(String text) {
+        outputLock.lock();
+        try
+        {
+            encode(CharBuffer.wrap(text == null ? "null" : text));
+            encode(CharBuffer.wrap(LINE_SEPARATOR));
+            if (waiting) {
+                write();
+            }
+        }
+        finally
+        {
+            outputLock.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}<br>
+     * Error text is written to the same channel as any other text.
+     * @param text the error text to be println.
+     */
+    @Override
+    public void printerr(String text) {
+        println(text);
+    }
+
+    /**
+     * {@inheritDoc}<br>
+     * The lines are encoded into the output buffer one after the other, while holding the lock once.
+     * @param lines the lines of text to be println.
+     */
+    @Override
+    public void printlnAll(List<String> lines) {
+        outputLock.lock();
+        try
+        {
+            for (String line : lines) {
+                encode(CharBuffer.wrap(line == null ? "null" : line));
+                encode(CharBuffer.wrap(LINE_SEPARATOR));
+            }
+            if (waiting) {
+                write();
+            }
+        }
+        finally
+        {
+            outputLock.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * @return <code>false</code> once the channel has been closed, such as after writing to it has failed,<br>
+     * <code>true</code> otherwise.
+     */
+    @Override
+    public boolean isOpen() {
+        return channel.isOpen();
+    }
+
+    /**
+     * Prints the specified text, without ending the line, such as a prompt.
+     * @param text the text.
+     */
+    public void print(String text) {
+        outputLock.lock();
+        try
+        {
+            encode(CharBuffer.wrap(text));
+            if (waiting) {
+                write();
+            }
+        }
+        finally
+        {
+            outputLock.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}<br>
+     * Any buffered output is written first, unless another line has already been received, so that the output
+     * of the commands of a client which sends several lines at once is written in as few calls as possible.
+     * @return the next line of text, or <code>null</code> if the channel has been closed.
+     */
+    @Override
+    public String read()
+    {
+        try
+        {
+            while (true) {
+                String line = nextLine();
+                if (line != null) {
+                    return line;
+                }
+                setWaiting(true);
+                if (!channel.isOpen()) {
+                    return null;
+                }
+                input.compact();
+                int read;
+                try
+                {
+                    read = channel.read(input);
+                }
+                finally
+                {
+                    setWaiting(false);
+                    input.flip();
+                }
+                if (read == -1) {
+                    return null;
+                }
+            }
+        }
+        catch (IOException ex)
+        {
+            closeQuietly();
+            return null;
+        }
+    }
+
+    /**
+     * Writes any buffered output.
+     */
+    @Override
+    public void flush() {
+        outputLock.lock();
+        try
+        {
+            write();
+        }
+        finally
+        {
+            outputLock.unlock();
+        }
+    }
+
+    /**
+     * Sets whether the session thread is waiting for input, writing any buffered output first if it is.
+     */
+    private void setWaiting(boolean waiting) {
+        outputLock.lock();
+        try
+        {
+            if (waiting) {
+                write();
+            }
+            this.waiting = waiting;
+        }
+        finally
+        {
+            outputLock.unlock();
+        }
+    }
+
+    /**
+     * Writes any buffered output, while holding the lock.
+     */
+    private void write() {
+        output.flip();
+        try
+        {
+            while (output.hasRemaining()) {
+                channel.write(output);
+            }
+        }
+        catch (IOException ex)
+        {
+            closeQuietly();
+        }
+        output.clear();
+    }
+
+    /**
+     * Writes any buffered output, and closes the channel.
+     * @throws IOException in the event of the channel failing to close.
+     */
+    @Override
+    public void close() throws IOException {
+        if (channel.isOpen()) {
+            flush();
+        }
+        channel.close();
+    }
+
+    /**
+     * Returns the next complete line of the input buffer, or <code>null</code> if the buffer does not hold one,
+     * in which case a line which fills the buffer is discarded, and is returned as an empty line once it ends.
+     */
+    private String nextLine() {
+        byte[] array = input.array();
+        int from = input.position();
+
+        for (int i = from; i < input.limit(); i++) {
+            if (array[i] != '\n') {
+                continue;
+            }
+            input.position(i + 1);
+            if (discarding) {
+                discarding = false;
+                println("the line exceeds " + input.capacity() + " bytes, and was discarded.");
+                return "";
+            }
+            int to = i > from && array[i - 1] == '\r' ? i - 1 : i;
+            return new String(array, from, to - from, StandardCharsets.UTF_8);
+        }
+        if (input.position() == 0 && input.limit() == input.capacity()) {
+            discarding = true;
+            input.position(input.limit());
+        }
+        return null;
+    }
+
+    /**
+     * Encodes the specified text into the output buffer, while holding the lock, writing the buffer whenever it
+     * fills up.
+     */
+    private void encode(CharBuffer text) {
+        while (true) {
+            CoderResult result = encoder.encode(text, output, true);
+            if (result.isOverflow()) {
+                write();
+            }
+            else {
+                encoder.reset();
+                return;
+            }
+        }
+    }
+
+    private void closeQuietly() {
+        try
+        {
+            channel.close();
+        }
+        catch (IOException ex)
+        {
+            // the channel can not be used either way.
+        }
+    }
+}
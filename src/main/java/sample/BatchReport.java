@@ -0,0 +1,124 @@
+package sample;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class reports the outcome of executing a command file through a {@link BatchRunner}.
+ */
+public final class BatchReport {
+
+    private final long lines;
+
+    private final long executed;
+
+    private final long failures;
+
+    private final long unrecognized;
+
+    private final long[] unrecognizedLines;
+
+    private final long bytes;
+
+    private final long elapsedNanos;
+
+    /**
+     * Constructs a new object.
+     *
+     * @param lines the number of lines read, including blank and comment lines.
+     * @param executed the number of lines which were matched to an annotated method, and executed.
+     * @param failures the number of lines which only partially matched an annotated method, or whose
+     * execution threw.
+     * @param unrecognized the number of lines which did not match any annotated method.
+     * @param unrecognizedLines the line numbers of the first unrecognized lines.
+     * @param bytes the number of bytes read.
+     * @param elapsedNanos the time spent executing the file, in nanoseconds.
+     */
+    BatchReport(long lines, long executed, long failures, long unrecognized, long[] unrecognizedLines,
+                long bytes, long elapsedNanos) {
+        this.lines = lines;
+        this.executed = executed;
+        this.failures = failures;
+        this.unrecognized = unrecognized;
+        this.unrecognizedLines = unrecognizedLines;
+        this.bytes = bytes;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Returns this class's lines field.
+     * @return the number of lines read, including blank and comment lines.
+     */
+    public long lines() {
+        return lines;
+    }
+
+    /**
+     * Returns this class's executed field.
+     * @return the number of lines which were matched to an annotated method, and executed.
+     */
+    public long executed() {
+        return executed;
+    }
+
+    /**
+     * Returns this class's failures field.
+     * @return the number of lines which only partially matched an annotated method, or whose execution threw.
+     */
+    public long failures() {
+        return failures;
+    }
+
+    /**
+     * Returns this class's unrecognized field.
+     * @return the number of lines which did not match any annotated method.
+     */
+    public long unrecognized() {
+        return unrecognized;
+    }
+
+    /**
+     * Returns the line numbers of the first unrecognized lines, of which at most
+     * {@link BatchRunner#MAX_REPORTED_LINES} are recorded.
+     * @return the line numbers, starting at <code>1</code>.
+     */
+    public long[] unrecognizedLines() {
+        return unrecognizedLines.clone();
+    }
+
+    /**
+     * Returns this class's bytes field.
+     * @return the number of bytes read.
+     */
+    public long bytes() {
+        return bytes;
+    }
+
+    /**
+     * Returns the time spent executing the file.
+     * @param unit the unit of the returned time.
+     * @return the time, in the specified unit.
+     */
+    public long elapsedTime(TimeUnit unit) {
+        return unit.convert(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Returns the number of lines read per second.
+     * @return the throughput, in lines per second.
+     */
+    public double linesPerSecond() {
+        return elapsedNanos == 0L ? 0.0 : lines * 1e9 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        String s = String.format("executed %d of %d lines in %.1f ms (%.0f lines/s, %.1f MB/s), " +
+                        "%d failures, %d unrecognized", executed, lines, elapsedNanos / 1e6, linesPerSecond(),
+                elapsedNanos == 0L ? 0.0 : bytes * 1e3 / elapsedNanos, failures, unrecognized);
+        if (unrecognizedLines.length == 0) {
+            return s + ".";
+        }
+        return s + " (first at lines " + Arrays.toString(unrecognizedLines) + ").";
+    }
+}
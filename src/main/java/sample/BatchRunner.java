@@ -0,0 +1,207 @@
+package sample;
+
+import config.AbstractConfiguration;
+import config.FailureTracker;
+import config.Metrics;
+import config.ReflectionMap;
+import iface.IReflection;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Class executes a file of commands, one command per line, by reading the file through a {@link FileChannel} into
+ * a single reusable buffer, and dispatching each line through the configuration's {@link ReflectionMap}.<br>
+ * Only one buffer is held at a time, regardless of the size of the file, and it is only grown to fit a line which
+ * is longer than the buffer.
+ * Lines are decoded as UTF-8, and may end with either <code>\n</code> or <code>\r\n</code>.
+ * Blank lines, and lines whose first non-whitespace character is <code>#</code>, are skipped.<br>
+ * Unlike {@link StartCLI}, this class does not print a message for each unrecognized line, but counts them,
+ * and records the line numbers of the first few in the returned {@link BatchReport}.
+ */
+public class BatchRunner
+{
+    /**
+     * The maximum number of unrecognized line numbers recorded in a report.
+     */
+    public static final int MAX_REPORTED_LINES = 10;
+
+    private static final int DEFAULT_BUFFER_SIZE = 1 << 20;
+
+    private final AbstractConfiguration config;
+
+    private final int bufferSize;
+
+    /**
+     * Constructs a new object using the specified configuration, which reads files into a 1 MiB buffer.
+     * @param config the configuration to use.
+     */
+    public BatchRunner(AbstractConfiguration config) {
+        this(config, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Constructs a new object using the specified configuration, which reads files into a buffer of the specified
+     * initial size.
+     * @param config the configuration to use.
+     * @param bufferSize the initial size of the buffer, in bytes.
+     */
+    public BatchRunner(AbstractConfiguration config, int bufferSize) {
+        if (config == null) {
+            throw new IllegalArgumentException(
+                    "config must not be null."
+            );
+        }
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException(
+                    "bufferSize must be positive."
+            );
+        }
+        this.config = config;
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * Executes each line of the specified file, in order, on the calling thread.<br>
+     * A line which only partially matches an annotated method is invoked, so that the configuration may report
+     * why its arguments were not matched, and is counted as a failure, as is a line whose method throws.
+     * The stages returned by asynchronous methods are waited for once every line has been dispatched, and a line
+     * whose stage completes exceptionally is counted as a failure as well.
+     *
+     * @param file the command file.
+     * @return the report of the execution.
+     * @throws IOException in the event of the file not being readable.
+     */
+    public BatchReport run(Path file) throws IOException {
+        long start = System.nanoTime();
+        long lines = 0L, executed = 0L, failures = 0L, unrecognized = 0L, bytes = 0L;
+        long[] unrecognizedLines = new long[MAX_REPORTED_LINES];
+        ReflectionMap map = config.map();
+        Metrics metrics = config.metrics();
+        ByteBuffer buffer = ByteBuffer.allocate(bufferSize);
+        FailureTracker tracker = new FailureTracker();
+        tracker.bind();
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ))
+        {
+            while (true) {
+                int read = channel.read(buffer);
+                boolean eof = read == -1;
+                if (!eof) {
+                    bytes += read;
+                }
+                byte[] array = buffer.array();
+                int limit = buffer.position();
+                int from = 0;
+
+                for (int i = 0; i < limit || (eof && from < limit); i++) {
+                    if (i < limit && array[i] != '\n') {
+                        continue;
+                    }
+                    int to = i;
+                    if (to > from && array[to - 1] == '\r') {
+                        to--;
+                    }
+                    String line = new String(array, from, to - from, StandardCharsets.UTF_8);
+                    from = i + 1;
+                    lines++;
+
+                    if (isSkipped(line)) {
+                        continue;
+                    }
+                    long matchStart = metrics.isEnabled() ? System.nanoTime() : 0L;
+                    IReflection reflection = map.match(line);
+                    if (matchStart != 0L) {
+                        metrics.recordMatch(reflection, System.nanoTime() - matchStart);
+                    }
+                    if (reflection == null) {
+                        if (unrecognized < MAX_REPORTED_LINES) {
+                            unrecognizedLines[(int) unrecognized] = lines;
+                        }
+                        unrecognized++;
+                        continue;
+                    }
+                    try
+                    {
+                        long thrown = tracker.thrown();
+                        reflection.invoke(line);
+                        if (map.isPartialMatch(reflection) || tracker.thrown() != thrown) {
+                            failures++;
+                        }
+                        else {
+                            executed++;
+                        }
+                    }
+                    catch (RuntimeException ex)
+                    {
+                        failures++;
+                        config.console().printerr("line " + lines + ": '" + line + "' failed: " + ex);
+                    }
+                }
+                if (eof) {
+                    break;
+                }
+
+                // keeps the unterminated remainder of the buffer, and grows the buffer if the remainder fills it.
+                buffer.position(from);
+                buffer.limit(limit);
+                buffer.compact();
+                if (!buffer.hasRemaining()) {
+                    buffer.flip();
+                    buffer = ByteBuffer.allocate(buffer.capacity() * 2).put(buffer);
+                }
+            }
+        }
+        finally
+        {
+            FailureTracker.unbind();
+        }
+        awaitStages(tracker);
+        long failedStages = tracker.failedStages();
+        executed -= failedStages;
+        failures += failedStages;
+        return new BatchReport(lines, executed, failures, unrecognized,
+                Arrays.copyOf(unrecognizedLines, (int) Math.min(unrecognized, MAX_REPORTED_LINES)),
+                bytes, System.nanoTime() - start);
+    }
+
+    /**
+     * Waits for every stage counted by the specified tracker to complete.
+     */
+    private static void awaitStages(FailureTracker tracker) {
+        boolean interrupted = false;
+        while (true) {
+            try
+            {
+                tracker.awaitStages(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+                break;
+            }
+            catch (InterruptedException ex)
+            {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Returns whether the specified line is blank, or a comment.
+     */
+    private static boolean isSkipped(String line) {
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (!Character.isWhitespace(c)) {
+                return c == '#';
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,351 @@
+package sample;
+
+import config.AbstractConfiguration;
+import model.SessionConsole;
+import model.SocketConsole;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.ProtocolFamily;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.StandardSocketOptions;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Class serves a configuration to any number of clients at once over a TCP or Unix domain socket, each connection
+ * being a session with its own {@link SocketConsole}, through which the session's lines are read, and its
+ * commands' text is written.<br>
+ * The configuration needs to have been built with a {@link SessionConsole}, to which each session's console is
+ * bound while the session dispatches its commands, so that controllers print to the session which invoked them.
+ * The state of each invocation, see {@link model.AbstractController#invokeState()}, is bound to the session's
+ * thread, and is therefore never shared between sessions.<br>
+ * Each session is served by its own thread, a virtual thread on JVMs which support them, see
+ * {@link StartCLI#newDefaultExecutor()}, which blocks while the session is idle. Together with the fixed size
+ * buffers of each session's console, this lets the server hold thousands of idle sessions.<br>
+ * The server writes a prompt after connecting, and after the output of each command, so that a client knows when
+ * a command has completed, and ends a session when its client closes the connection. Blank lines are not
+ * dispatched.
+ */
+public class CLIServer implements Closeable
+{
+    /**
+     * The default prompt written before reading each line.
+     */
+    public static final String DEFAULT_PROMPT = "> ";
+
+    /**
+     * The default maximum number of concurrent sessions.
+     */
+    public static final int DEFAULT_MAX_SESSIONS = 10_000;
+
+    private static final int DEFAULT_INPUT_BUFFER_SIZE = 1 << 12;
+
+    private static final int DEFAULT_OUTPUT_BUFFER_SIZE = 1 << 14;
+
+    private final AbstractConfiguration config;
+
+    private final SessionConsole console;
+
+    private final ServerSocketChannel server;
+
+    private final Path socketFile;
+
+    private final ExecutorService executor;
+
+    private final Semaphore permits;
+
+    private final Set<SocketChannel> sessions = ConcurrentHashMap.newKeySet();
+
+    private final String prompt;
+
+    private final int inputBufferSize;
+
+    private final int outputBufferSize;
+
+    private volatile boolean pipelines;
+
+    /**
+     * Constructs a new object, which serves the specified configuration on the specified bound channel.
+     */
+    private CLIServer(AbstractConfiguration config, ServerSocketChannel server, Path socketFile,
+                      int maxSessions, String prompt, int inputBufferSize, int outputBufferSize) {
+        if (!(config.console() instanceof SessionConsole)) {
+            throw new IllegalArgumentException(
+                    "the configuration must be built with a SessionConsole."
+            );
+        }
+        this.config = config;
+        this.console = (SessionConsole) config.console();
+        this.server = server;
+        this.socketFile = socketFile;
+        this.executor = StartCLI.newDefaultExecutor();
+        this.permits = new Semaphore(maxSessions);
+        this.prompt = prompt;
+        this.inputBufferSize = inputBufferSize;
+        this.outputBufferSize = outputBufferSize;
+        executor.execute(this::accept);
+    }
+
+    /**
+     * Starts serving the specified configuration on the specified TCP address, with the default prompt,
+     * maximum number of sessions, and buffer sizes, which are 4 KiB of input and 16 KiB of output per session.
+     *
+     * @param config the configuration, which needs to have been built with a {@link SessionConsole}.
+     * @param address the address to listen on, such as <code>new InetSocketAddress("localhost", 7000)</code>.
+     * @return the server.
+     * @throws IOException in the event of the address not being bindable.
+     */
+    public static CLIServer tcp(AbstractConfiguration config, SocketAddress address) throws IOException
+    {
+        return tcp(config, address, DEFAULT_MAX_SESSIONS, DEFAULT_PROMPT,
+                DEFAULT_INPUT_BUFFER_SIZE, DEFAULT_OUTPUT_BUFFER_SIZE);
+    }
+
+    /**
+     * Starts serving the specified configuration on the specified TCP address.
+     *
+     * @param config the configuration, which needs to have been built with a {@link SessionConsole}.
+     * @param address the address to listen on.
+     * @param maxSessions the maximum number of concurrent sessions, beyond which connections are refused.
+     * @param prompt the prompt written before reading each line.
+     * @param inputBufferSize the size of each session's input buffer, which is the maximum length of a line.
+     * @param outputBufferSize the size of each session's output buffer.
+     * @return the server.
+     * @throws IOException in the event of the address not being bindable.
+     */
+    public static CLIServer tcp(AbstractConfiguration config, SocketAddress address, int maxSessions, String prompt,
+                                int inputBufferSize, int outputBufferSize) throws IOException
+    {
+        ServerSocketChannel server = ServerSocketChannel.open();
+        try
+        {
+            server.bind(address, maxSessions);
+            return new CLIServer(config, server, null, maxSessions, prompt, inputBufferSize, outputBufferSize);
+        }
+        catch (IOException | RuntimeException ex)
+        {
+            server.close();
+            throw ex;
+        }
+    }
+
+    /**
+     * Starts serving the specified configuration on a Unix domain socket at the specified path, with the default
+     * prompt, maximum number of sessions, and buffer sizes. The socket file is deleted when the server is closed.
+     *
+     * @param config the configuration, which needs to have been built with a {@link SessionConsole}.
+     * @param path the path of the socket file, which must not exist.
+     * @return the server.
+     * @throws IOException in the event of the path not being bindable.
+     * @throws UnsupportedOperationException in the event of the JVM not supporting Unix domain sockets,
+     * which requires Java 16 or later.
+     */
+    public static CLIServer unix(AbstractConfiguration config, Path path) throws IOException
+    {
+        ServerSocketChannel server = ServerSocketChannel.open(unixProtocolFamily());
+        try
+        {
+            server.bind(unixAddress(path), DEFAULT_MAX_SESSIONS);
+            return new CLIServer(config, server, path, DEFAULT_MAX_SESSIONS, DEFAULT_PROMPT,
+                    DEFAULT_INPUT_BUFFER_SIZE, DEFAULT_OUTPUT_BUFFER_SIZE);
+        }
+        catch (IOException | RuntimeException ex)
+        {
+            server.close();
+            throw ex;
+        }
+    }
+
+    /**
+     * Returns the address the server is listening on.
+     * @return the address.
+     * @throws IOException in the event of the server having been closed.
+     */
+    public SocketAddress address() throws IOException {
+        return server.getLocalAddress();
+    }
+
+    /**
+     * Sets whether the lines of sessions which connect after this call are split into pipelines, see
+     * {@link StartCLI#pipelines(boolean)}.
+     * @param enabled whether lines are to be split into pipelines, which defaults to <code>false</code>.
+     * @return this server.
+     */
+    public CLIServer pipelines(boolean enabled) {
+        this.pipelines = enabled;
+        return this;
+    }
+
+    /**
+     * Returns the number of sessions which are currently connected.
+     * @return the number of sessions.
+     */
+    public int sessions() {
+        return sessions.size();
+    }
+
+    /**
+     * Stops accepting connections, and closes every session.
+     * @throws IOException in the event of the server failing to close.
+     */
+    @Override
+    public void close() throws IOException {
+        server.close();
+        for (SocketChannel session : sessions) {
+            session.close();
+        }
+        executor.shutdown();
+        if (socketFile != null) {
+            Files.deleteIfExists(socketFile);
+        }
+    }
+
+    /**
+     * Waits for the server to be closed, and for every session to end, or for the specified timeout to elapse.
+     * @param timeout the maximum time to wait.
+     * @param unit the time unit of the timeout argument.
+     * @return <code>true</code> if the server was closed, and every session ended,<br>
+     * <code>false</code> if the timeout elapsed first.
+     * @throws InterruptedException if the current thread is interrupted while waiting.
+     */
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return executor.awaitTermination(timeout, unit);
+    }
+
+    /**
+     * Accepts connections until the server is closed, and starts a session for each.
+     */
+    private void accept() {
+        while (server.isOpen()) {
+            SocketChannel channel;
+            try
+            {
+                channel = server.accept();
+            }
+            catch (ClosedChannelException ex)
+            {
+                return;
+            }
+            catch (IOException ex)
+            {
+                console.printerr("a connection could not be accepted: " + ex.getMessage());
+                continue;
+            }
+            if (!permits.tryAcquire()) {
+                refuse(channel);
+                continue;
+            }
+            sessions.add(channel);
+            executor.execute(() -> {
+                try {
+                    serve(channel);
+                }
+                finally {
+                    sessions.remove(channel);
+                    permits.release();
+                }
+            });
+        }
+    }
+
+    /**
+     * Dispatches each line of the specified connection, with the connection's console bound to the calling thread,
+     * until the connection is closed.
+     */
+    private void serve(SocketChannel channel) {
+        SocketConsole session = new SocketConsole(channel, inputBufferSize, outputBufferSize);
+        StartCLI cli = new StartCLI(config).pipelines(pipelines);
+        console.bind(session);
+        try
+        {
+            if (socketFile == null) {
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            }
+            session.print(prompt);
+            String line;
+            while ((line = session.read()) != null) {
+                if (!line.trim().isEmpty()) {
+                    try {
+                        cli.run(line);
+                    }
+                    catch (RuntimeException ex) {
+                        session.printerr("'" + line + "' failed: " + ex);
+                    }
+                }
+                session.print(prompt);
+            }
+        }
+        catch (IOException ex)
+        {
+            // the connection was lost.
+        }
+        finally
+        {
+            console.unbind();
+            try {
+                session.close();
+            }
+            catch (IOException ex) {
+                // the connection is closed either way.
+            }
+        }
+    }
+
+    /**
+     * Tells the client of the specified connection that no more sessions are accepted, and closes it.
+     */
+    private void refuse(SocketChannel channel) {
+        try (SocketConsole session = new SocketConsole(channel, 16, 128))
+        {
+            session.printerr("the server is serving the maximum number of sessions.");
+        }
+        catch (IOException ex)
+        {
+            // the connection is closed either way.
+        }
+    }
+
+    /**
+     * Returns the Unix protocol family, which was added in Java 16.
+     */
+    private static ProtocolFamily unixProtocolFamily() {
+        try
+        {
+            return StandardProtocolFamily.valueOf("UNIX");
+        }
+        catch (IllegalArgumentException ex)
+        {
+            throw new UnsupportedOperationException(
+                    "Unix domain sockets require Java 16 or later."
+            );
+        }
+    }
+
+    /**
+     * Returns the address of a Unix domain socket at the specified path, through
+     * <code>UnixDomainSocketAddress.of(Path)</code>, which was added in Java 16.
+     */
+    static SocketAddress unixAddress(Path path) {
+        try
+        {
+            return (SocketAddress) Class.forName("java.net.UnixDomainSocketAddress")
+                    .getMethod("of", Path.class).invoke(null, path);
+        }
+        catch (ReflectiveOperationException ex)
+        {
+            throw new UnsupportedOperationException(
+                    "Unix domain sockets require Java 16 or later."
+            );
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package sample;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Class load tests a {@link CLIServer} by opening the specified number of sessions, which are all connected
+ * before any of them sends a line, and then sending the same line the specified number of times from every session
+ * at once, each session waiting for the server's prompt before sending its next line.<br>
+ * Run from the command line with
+ * <code>LoadClient &lt;host:port | unix:path&gt; &lt;sessions&gt; &lt;requests per session&gt; &lt;line&gt;</code>,
+ * which prints the throughput, and the latency percentiles, of the requests.
+ * The server is assumed to use the {@link CLIServer#DEFAULT_PROMPT}.
+ */
+public class LoadClient
+{
+    private static final byte[] PROMPT = CLIServer.DEFAULT_PROMPT.getBytes(StandardCharsets.UTF_8);
+
+    private final SocketAddress address;
+
+    private final int sessions;
+
+    private final int requests;
+
+    private final byte[] line;
+
+    /**
+     * Constructs a new object.
+     * @param address the address of the server, which is a Unix domain socket address for a Unix server.
+     * @param sessions the number of sessions.
+     * @param requests the number of requests sent by each session.
+     * @param line the line sent by each request.
+     */
+    public LoadClient(SocketAddress address, int sessions, int requests, String line) {
+        if (sessions <= 0 || requests <= 0) {
+            throw new IllegalArgumentException(
+                    "sessions and requests must be positive."
+            );
+        }
+        this.address = address;
+        this.sessions = sessions;
+        this.requests = requests;
+        this.line = (line + "\n").getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Connects every session, sends every request, and closes every session.
+     * @return a report of the throughput and latencies of the requests.
+     * @throws IOException in the event of a session failing to connect, or losing its connection.
+     * @throws InterruptedException if the current thread is interrupted while waiting for the sessions.
+     */
+    public String run() throws IOException, InterruptedException {
+        List<SocketChannel> channels = new ArrayList<>(sessions);
+        ExecutorService executor = StartCLI.newDefaultExecutor();
+        try
+        {
+            long connectStart = System.nanoTime();
+            for (int i = 0; i < sessions; i++) {
+                SocketChannel channel = open();
+                channels.add(channel);
+                awaitPrompt(channel, ByteBuffer.allocate(1 << 12));
+            }
+            long connectTime = System.nanoTime() - connectStart;
+
+            long start = System.nanoTime();
+            List<Future<long[]>> futures = new ArrayList<>(sessions);
+            for (SocketChannel channel : channels) {
+                futures.add(executor.submit(() -> send(channel)));
+            }
+            long[] latencies = new long[sessions * requests];
+            int n = 0;
+            for (Future<long[]> future : futures) {
+                long[] session;
+                try
+                {
+                    session = future.get();
+                }
+                catch (ExecutionException ex)
+                {
+                    throw new IOException("a session failed: " + ex.getCause(), ex.getCause());
+                }
+                System.arraycopy(session, 0, latencies, n, session.length);
+                n += session.length;
+            }
+            long elapsed = System.nanoTime() - start;
+            Arrays.sort(latencies);
+
+            return String.format("connected %d sessions in %.1f ms, and sent %d requests in %.1f ms " +
+                            "(%.0f requests/s), latency p50 %.1f us, p99 %.1f us, max %.1f us.",
+                    sessions, connectTime / 1e6, latencies.length, elapsed / 1e6,
+                    latencies.length / (elapsed / 1e9), percentile(latencies, 50.0) / 1e3,
+                    percentile(latencies, 99.0) / 1e3, latencies[latencies.length - 1] / 1e3);
+        }
+        finally
+        {
+            executor.shutdownNow();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+            for (SocketChannel channel : channels) {
+                channel.close();
+            }
+        }
+    }
+
+    /**
+     * Sends each request of a single session, and returns the latency of each.
+     */
+    private long[] send(SocketChannel channel) throws IOException {
+        long[] latencies = new long[requests];
+        ByteBuffer request = ByteBuffer.wrap(line);
+        ByteBuffer response = ByteBuffer.allocate(1 << 14);
+
+        for (int i = 0; i < requests; i++) {
+            long start = System.nanoTime();
+            request.rewind();
+            while (request.hasRemaining()) {
+                channel.write(request);
+            }
+            awaitPrompt(channel, response);
+            latencies[i] = System.nanoTime() - start;
+        }
+        return latencies;
+    }
+
+    /**
+     * Reads from the specified channel until the bytes read end with the server's prompt.
+     */
+    private static void awaitPrompt(SocketChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.clear();
+        while (true) {
+            if (channel.read(buffer) == -1) {
+                throw new IOException("the server closed the connection.");
+            }
+            if (endsWithPrompt(buffer)) {
+                return;
+            }
+            if (!buffer.hasRemaining()) {
+                // keeps only the bytes which could be the start of the prompt.
+                buffer.position(buffer.position() - PROMPT.length);
+                buffer.compact();
+            }
+        }
+    }
+
+    private static boolean endsWithPrompt(ByteBuffer buffer) {
+        int end = buffer.position();
+        if (end < PROMPT.length) {
+            return false;
+        }
+        for (int i = 0; i < PROMPT.length; i++) {
+            if (buffer.get(end - PROMPT.length + i) != PROMPT[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private SocketChannel open() throws IOException {
+        SocketChannel channel = address instanceof InetSocketAddress ?
+                SocketChannel.open() : SocketChannel.open(StandardProtocolFamily.valueOf("UNIX"));
+        channel.connect(address);
+        return channel;
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+
+    /**
+     * Runs a load test, see {@link LoadClient}.
+     * @param args the address of the server, the number of sessions, the number of requests per session,
+     * and the line to send.
+     * @throws Exception in the event of the load test failing.
+     */
+    public static void main(String[] args) throws Exception
+    {
+        if (args.length < 4) {
+            System.err.println("usage: LoadClient <host:port | unix:path> <sessions> <requests per session> <line>");
+            return;
+        }
+        SocketAddress address;
+        if (args[0].startsWith("unix:")) {
+            address = CLIServer.unixAddress(Paths.get(args[0].substring("unix:".length())));
+        }
+        else {
+            int index = args[0].lastIndexOf(':');
+            address = new InetSocketAddress(args[0].substring(0, index), Integer.parseInt(args[0].substring(index + 1)));
+        }
+        String line = String.join(" ", Arrays.copyOfRange(args, 3, args.length));
+        System.out.println(new LoadClient(address, Integer.parseInt(args[1]), Integer.parseInt(args[2]), line).run());
+    }
+}
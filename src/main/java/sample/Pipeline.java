@@ -0,0 +1,167 @@
+package sample;
+
+import iface.IConsole;
+import iface.IReflection;
+import model.Pipe;
+import model.PipeConsole;
+import model.SessionConsole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Class splits lines such as <code>cmd1 | cmd2 ; cmd3</code> into their pipelines, and runs the commands of a
+ * pipeline at the same time, each on its own thread, with the lines printed by each command streamed to the next
+ * through a bounded {@link Pipe}, see {@link PipeConsole}.<br>
+ * A pipe holds at most {@link #PIPE_CAPACITY} characters, so the memory held by a pipeline does not grow with the
+ * amount of text streamed through it.
+ */
+final class Pipeline
+{
+    /**
+     * The capacity, in characters, of the pipe between each two commands of a pipeline.
+     */
+    static final int PIPE_CAPACITY = 1 << 16;
+
+    /**
+     * The executor which runs each command of a pipeline but the last, which runs on the calling thread.
+     */
+    private static final ExecutorService STAGES = StartCLI.newDefaultExecutor();
+
+    private Pipeline() { }
+
+    /**
+     * Splits the specified line into the pipelines separated by <code>;</code>, and each pipeline into the commands
+     * separated by <code>|</code>. Separators enclosed in double or single quotes are not split on.
+     *
+     * @param line the line.
+     * @return the trimmed commands of each pipeline, in order, or <code>null</code> if the line holds no separators.
+     */
+    static List<List<String>> split(String line) {
+        if (line.indexOf('|') == -1 && line.indexOf(';') == -1) {
+            return null;
+        }
+        List<List<String>> pipelines = new ArrayList<>();
+        List<String> stages = new ArrayList<>();
+        char quote = 0;
+        int from = 0;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }
+            }
+            else if (c == '"' || c == '\'') {
+                quote = c;
+            }
+            else if (c == '|' || c == ';') {
+                stages.add(line.substring(from, i).trim());
+                from = i + 1;
+                if (c == ';') {
+                    pipelines.add(stages);
+                    stages = new ArrayList<>();
+                }
+            }
+        }
+        if (pipelines.isEmpty() && stages.isEmpty()) {
+            return null;
+        }
+        stages.add(line.substring(from).trim());
+        pipelines.add(stages);
+        return pipelines;
+    }
+
+    /**
+     * Runs the specified commands as a pipeline, and returns once every command has completed.
+     *
+     * @param console the configuration's console.
+     * @param reflections the matched value of each command.
+     * @param inputs the input of each command.
+     */
+    static void run(IConsole console, List<IReflection> reflections, List<String> inputs) {
+        IConsole terminal = console instanceof SessionConsole ? ((SessionConsole) console).current() : console;
+        int last = reflections.size() - 1;
+        List<Future<?>> upstream = new ArrayList<>(last);
+        Pipe in = null;
+
+        try
+        {
+            for (int i = 0; i < last; i++) {
+                Pipe out = new Pipe(PIPE_CAPACITY);
+                PipeConsole stage = new PipeConsole(terminal, in, out);
+                IReflection reflection = reflections.get(i);
+                String input = inputs.get(i);
+                upstream.add(STAGES.submit(() -> runStage(console, stage, reflection, input)));
+                in = out;
+            }
+            runStage(console, new PipeConsole(terminal, in, null), reflections.get(last), inputs.get(last));
+        }
+        finally
+        {
+            await(upstream, terminal);
+        }
+    }
+
+    /**
+     * Invokes the specified value with its command's console bound to the current thread.
+     */
+    private static void runStage(IConsole console, PipeConsole stage, IReflection reflection, String input) {
+        SessionConsole session = console instanceof SessionConsole ? (SessionConsole) console : null;
+        IConsole previous = session != null ? session.bind(stage) : null;
+        PipeConsole.bind(stage);
+        try
+        {
+            reflection.invoke(input);
+        }
+        catch (RuntimeException ex)
+        {
+            stage.printerr("'" + input + "' failed: " + ex);
+        }
+        finally
+        {
+            PipeConsole.unbind();
+            if (session != null) {
+                if (previous != null) {
+                    session.bind(previous);
+                }
+                else {
+                    session.unbind();
+                }
+            }
+            stage.close();
+        }
+    }
+
+    /**
+     * Waits for each of the specified commands to complete.
+     */
+    private static void await(List<Future<?>> upstream, IConsole terminal) {
+        boolean interrupted = false;
+        for (Future<?> future : upstream) {
+            while (true) {
+                try
+                {
+                    future.get();
+                    break;
+                }
+                catch (InterruptedException ex)
+                {
+                    interrupted = true;
+                }
+                catch (ExecutionException ex)
+                {
+                    terminal.printerr("a command of the pipeline failed: " + ex.getCause());
+                    break;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
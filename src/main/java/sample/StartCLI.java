@@ -1,27 +1,86 @@
 package sample;
 
 import config.AbstractConfiguration;
+import config.Metrics;
 import config.ReflectionMap;
 import iface.IReflection;
 
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
 /**
- * Class represents a sample way to start an application using the com.github.wnebyte.cli library.
+ * Class represents a sample way to start an application using the com.github.wnebyte.cli library.<br>
+ * If constructed with an <code>ExecutorService</code>, each matched {@link IReflection} is invoked on the executor,
+ * and {@link #run(String)} returns as soon as the input has been matched, so that a long-running command does not
+ * stall the console. Commands which are still running may be listed through {@link #inFlight()}, and waited for
+ * through {@link #awaitInFlight(long, TimeUnit)}.<br>
+ * Inputs are dispatched as a single command each, unless pipelines have been enabled through
+ * {@link #pipelines(boolean)}.
  */
 public class StartCLI
 {
     private final AbstractConfiguration config;
 
+    private final ExecutorService executor;
+
+    /**
+     * The inputs of the commands which are currently running on this class's executor,
+     * keyed on the order in which they were submitted.
+     */
+    private final ConcurrentSkipListMap<Long, InFlight> inFlight;
+
+    private final AtomicLong sequence;
+
+    /**
+     * Whether inputs are split into pipelines, see {@link #pipelines(boolean)}.
+     */
+    private boolean pipelines;
+
     /**
      * Constructs a new object using the specified configuration.
      * @param config the configuration to use.
      */
     public StartCLI(AbstractConfiguration config) {
+        this(config, null);
+    }
+
+    /**
+     * Constructs a new object using the specified configuration, which invokes each matched command on the
+     * specified executor.
+     * @param config the configuration to use.
+     * @param executor the executor to invoke commands on, or <code>null</code> if commands are to be invoked
+     * on the thread calling {@link #run(String)}.
+     */
+    public StartCLI(AbstractConfiguration config, ExecutorService executor) {
         if (config == null) {
             throw new IllegalArgumentException(
                     "config must not be null."
             );
         }
         this.config = config;
+        this.executor = executor;
+        this.inFlight = new ConcurrentSkipListMap<>();
+        this.sequence = new AtomicLong();
+    }
+
+    /**
+     * Sets whether inputs are split on the unquoted separators <code>;</code> and <code>|</code>, into commands
+     * which are run one after the other, and pipelines whose commands are run at the same time, see
+     * {@link #run(String)}.<br>
+     * While disabled, which is the default, an input is always dispatched as a single command, so that arguments
+     * such as <code>a;b</code> or <code>x|y</code> reach the command unchanged.
+     * @param enabled whether inputs are to be split into pipelines.
+     * @return this object.
+     */
+    public StartCLI pipelines(boolean enabled) {
+        this.pipelines = enabled;
+        return this;
     }
 
     /**
@@ -36,19 +95,181 @@ public class StartCLI
     /**
      * This run method fetches the {@link IReflection} value associated with the specified input through a call to the
      * {@link ReflectionMap#match(String)} method.<br>If no <code>IReflection</code> value is associated with the
-     * specified input, then a default not found message is appended to the <code>IConsole</code>.
+     * specified input, then a default not found message is appended to the <code>IConsole</code>, together with the
+     * commands nearest to the input, if any, see {@link config.SuggestionIndex#suggest(String)}.<br>
+     * If pipelines are enabled, see {@link #pipelines(boolean)}, an input may hold several commands: commands
+     * separated by <code>;</code> are run one after the other, and commands separated by <code>|</code> are run as
+     * a pipeline, at the same time, with the lines each command prints through its
+     * {@link model.AbstractController#io()} streamed to the next command as they are printed.
+     * The commands of a pipeline only run if each of them is recognized.<br>
+     * If this object was constructed with an executor, the value, or the commands of the input, are invoked on the
+     * executor, and this method returns without waiting for them to complete.<br>
+     * If the configuration's metrics are enabled, the time spent matching the input is recorded.
      * @param input the string -> <code>Pattern</code> to match against.
      */
     public void run(String input) {
-            IReflection reflection = config.map().match(input);
-            (reflection != null ? reflection : new IReflection() {
-                @Override
-                public void invoke(String input) {
-                    config.console().printerr(
-                            "'" + input + "' is not recognized as an internal command."
-                    );
+        List<List<String>> split = pipelines && input != null ? Pipeline.split(input) : null;
+        if (split == null) {
+            dispatch(input, true);
+        }
+        else if (executor != null) {
+            submit(() -> runAll(split), input);
+        }
+        else {
+            runAll(split);
+        }
+    }
+
+    /**
+     * Matches and invokes the specified input, on this class's executor if the input is recognized and
+     * <code>async</code> is <code>true</code>.
+     */
+    private void dispatch(String input, boolean async) {
+        IReflection reflection = match(input);
+        if (reflection != null && async && executor != null) {
+            submit(() -> reflection.invoke(input), input);
+            return;
+        }
+        (reflection != null ? reflection : new IReflection() {
+            @Override
+            public void invoke(String input) {
+                notRecognized(input);
+            }
+        }).invoke(input);
+    }
+
+    /**
+     * Runs each of the specified pipelines in order, on the calling thread.
+     */
+    private void runAll(List<List<String>> pipelines) {
+        for (List<String> stages : pipelines) {
+            if (stages.size() == 1) {
+                if (!stages.get(0).isEmpty()) {
+                    dispatch(stages.get(0), false);
+                }
+                continue;
+            }
+            List<IReflection> reflections = new ArrayList<>(stages.size());
+            for (String stage : stages) {
+                IReflection reflection = stage.isEmpty() ? null : match(stage);
+                if (reflection == null) {
+                    notRecognized(stage);
+                    break;
                 }
-            }).invoke(input);
+                reflections.add(reflection);
+            }
+            if (reflections.size() == stages.size()) {
+                Pipeline.run(config.console(), reflections, stages);
+            }
+        }
+    }
+
+    /**
+     * Returns the value associated with the specified input, recording the time spent matching it if the
+     * configuration's metrics are enabled.
+     */
+    private IReflection match(String input) {
+        Metrics metrics = config.metrics();
+        boolean timed = metrics.isEnabled();
+        long start = timed ? System.nanoTime() : 0L;
+        IReflection reflection = config.map().match(input);
+        if (timed) {
+            metrics.recordMatch(reflection, System.nanoTime() - start);
+        }
+        return reflection;
+    }
+
+    /**
+     * Prints the default not found message for the specified input.
+     */
+    private void notRecognized(String input) {
+        List<String> suggestions = config.suggestions().suggest(input);
+        config.console().printerr(
+                "'" + input + "' is not recognized as an internal command." +
+                        (suggestions.isEmpty() ? "" : " Did you mean '" +
+                                String.join("', '", suggestions) + "'?")
+        );
+    }
+
+    /**
+     * Submits the specified task to this class's executor, and tracks it until it completes.
+     */
+    private void submit(Runnable task, String input) {
+        long id = sequence.incrementAndGet();
+        InFlight command = new InFlight(input);
+        inFlight.put(id, command);
+        try
+        {
+            executor.execute(() -> {
+                try {
+                    task.run();
+                }
+                finally {
+                    inFlight.remove(id);
+                    command.done.countDown();
+                }
+            });
+        }
+        catch (RejectedExecutionException ex)
+        {
+            inFlight.remove(id);
+            command.done.countDown();
+            config.console().printerr(
+                    "'" + input + "' could not be executed, as the executor has been shut down."
+            );
+        }
+    }
+
+    /**
+     * Returns the inputs of the commands which are currently running on this class's executor,
+     * in the order in which they were submitted.
+     * @return the inputs of the commands in flight.
+     */
+    public List<String> inFlight() {
+        List<String> inputs = new ArrayList<>(inFlight.size());
+        for (InFlight command : inFlight.values()) {
+            inputs.add(command.input);
+        }
+        return inputs;
+    }
+
+    /**
+     * Waits for every command which is running on this class's executor when this method is called
+     * to complete, or for the specified timeout to elapse.
+     * @param timeout the maximum time to wait.
+     * @param unit the time unit of the timeout argument.
+     * @return <code>true</code> if the commands completed,<br>
+     * <code>false</code> if the timeout elapsed before the commands completed.
+     * @throws InterruptedException if the current thread is interrupted while waiting.
+     */
+    public boolean awaitInFlight(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (Map.Entry<Long, InFlight> entry : inFlight.entrySet()) {
+            if (!entry.getValue().done.await(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns an executor which starts a new virtual thread for each command, if the running JVM supports
+     * virtual threads, or otherwise an executor which runs each command on a cached daemon thread.
+     * @return the executor.
+     */
+    public static ExecutorService newDefaultExecutor() {
+        try
+        {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        }
+        catch (ReflectiveOperationException ex)
+        {
+            return Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "cli-command");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
     }
 
     /**
@@ -63,4 +284,60 @@ public class StartCLI
             startup.run(config.console().read());
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Quick launch, which invokes each command on the executor returned by {@link #newDefaultExecutor()},
+     * and reads the next input without waiting for the command to complete.
+     * @param config the configuration to use.
+     */
+    public static void launchConcurrent(AbstractConfiguration config)
+    {
+        StartCLI startup = new StartCLI(config, newDefaultExecutor());
+        while (true)
+        {
+            startup.run(config.console().read());
+        }
+    }
+
+    /**
+     * Quick launch, which executes each line of the specified command file through a {@link BatchRunner},
+     * and prints its report to the configuration's console.
+     * @param config the configuration to use.
+     * @param file the command file.
+     * @throws IOException in the event of the file not being readable.
+     */
+    public static void launchBatch(AbstractConfiguration config, Path file) throws IOException
+    {
+        config.console().println(new BatchRunner(config).run(file).toString());
+    }
+
+    /**
+     * Quick launch, which serves the configuration to any number of clients at once over the specified TCP address
+     * through a {@link CLIServer}, until the JVM exits.
+     * @param config the configuration to use, which needs to have been built with a {@link model.SessionConsole}.
+     * @param address the address to listen on.
+     * @throws IOException in the event of the address not being bindable.
+     * @throws InterruptedException if the current thread is interrupted while serving.
+     */
+    public static void launchServer(AbstractConfiguration config, SocketAddress address)
+            throws IOException, InterruptedException
+    {
+        CLIServer server = CLIServer.tcp(config, address);
+        config.console().println("listening on " + server.address());
+        server.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * A command which has been submitted to this class's executor, and has not yet completed.
+     */
+    private static final class InFlight {
+
+        private final String input;
+
+        private final CountDownLatch done = new CountDownLatch(1);
+
+        private InFlight(String input) {
+            this.input = input;
+        }
+    }
+}
@@ -10,6 +10,7 @@ import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.Parameter;
 import java.util.HashSet;
+import java.util.concurrent.CompletionStage;
 
 import static util.StringUtils.isEmptyOrNull;
 
@@ -79,6 +80,19 @@ public class AnnotationUtils {
         return method.getReturnType().equals(Void.TYPE);
     }
 
+    /**
+     * Evaluates and determines whether the specified method returns a {@link CompletionStage}, such as a
+     * {@link java.util.concurrent.CompletableFuture}.
+     *
+     * @param method the method to be evaluated.
+     * @return <code>true</code> if the return type of the specified method is a <code>CompletionStage</code>,<br>
+     * <code>false</code> if the return type of the method is not a <code>CompletionStage</code>.
+     */
+    public static boolean isAsync(Method method) {
+        assert method != null;
+        return CompletionStage.class.isAssignableFrom(method.getReturnType());
+    }
+
     /**
      * Evaluates and determines whether the specified class is annotated with the {@link annotation.Controller}
      * annotation, and has its annotation field {@link Controller#ignoreKeyword()} set to <code>true</code>.
@@ -0,0 +1,245 @@
+package util;
+
+import iface.IInvoker;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+
+/**
+ * This class declares utility methods for working with instances of the {@link java.lang.reflect.Method} class.
+ */
+public class MethodUtils {
+
+    /**
+     * The maximum number of parameters of a method which may be bound to a generated functional interface.
+     */
+    private static final int MAX_ARITY = 8;
+
+    /**
+     * The functional interfaces implemented by the generated classes, indexed by parameter count.
+     */
+    private static final Class<?>[] ARITIES = {
+            Arity0.class, Arity1.class, Arity2.class, Arity3.class, Arity4.class,
+            Arity5.class, Arity6.class, Arity7.class, Arity8.class
+    };
+
+    /**
+     * This method binds the specified method to an {@link IInvoker} whose access checks are performed once, when
+     * it is created, rather than on every invocation.<br>
+     * Void methods with at most eight parameters are bound to a class generated through the
+     * {@link LambdaMetafactory}, which invokes the method directly. Any other method is bound to a
+     * {@link MethodHandle}.<br>
+     * The specified method needs to either be accessible from its declaring class, or have had its accessible
+     * flag set.<br>
+     * Any <code>Throwable</code> thrown by the underlying method is rethrown as is, rather than being wrapped.
+     *
+     * @param method the method.
+     * @return the invoker, or <code>null</code> if a method handle could not be created for the specified method.
+     */
+    public static @Nullable IInvoker toInvoker(Method method) {
+        assert method != null;
+        MethodHandles.Lookup lookup;
+        MethodHandle handle;
+
+        try
+        {
+            lookup = MethodHandles.privateLookupIn(method.getDeclaringClass(), MethodHandles.lookup());
+            handle = lookup.unreflect(method);
+        }
+        catch (IllegalAccessException | SecurityException ex)
+        {
+            try
+            {
+                lookup = null;
+                handle = MethodHandles.lookup().unreflect(method);
+            }
+            catch (IllegalAccessException e)
+            {
+                return null;
+            }
+        }
+
+        if (lookup != null && method.getReturnType() == Void.TYPE && method.getParameterCount() <= MAX_ARITY) {
+            try
+            {
+                return toLambdaInvoker(lookup, handle);
+            }
+            catch (Throwable ex)
+            {
+                // fall through to the method handle based invoker.
+            }
+        }
+
+        int parameterCount = method.getParameterCount();
+        MethodHandle spreader = handle
+                .asType(MethodType.genericMethodType(parameterCount + 1))
+                .asSpreader(Object[].class, parameterCount);
+
+        return (object, args) -> spreader.invokeExact(object, args);
+    }
+
+    /**
+     * This method uses the {@link LambdaMetafactory} to generate an implementation of the <code>Arity</code>
+     * interface matching the parameter count of the specified void method handle, and wraps it in an
+     * {@link IInvoker}.
+     *
+     * @param lookup a lookup with private access to the declaring class of the method.
+     * @param handle a direct method handle to a void instance method.
+     * @return the invoker.
+     * @throws Throwable in the event of the lambda metafactory failing to link.
+     */
+    private static IInvoker toLambdaInvoker(MethodHandles.Lookup lookup, MethodHandle handle) throws Throwable {
+        int parameterCount = handle.type().parameterCount() - 1;
+        Class<?> arity = ARITIES[parameterCount];
+        MethodHandle factory = LambdaMetafactory.metafactory(
+                lookup,
+                "invoke",
+                MethodType.methodType(arity),
+                MethodType.genericMethodType(parameterCount + 1).changeReturnType(void.class),
+                handle,
+                handle.type().wrap().changeReturnType(void.class)
+        ).getTarget();
+
+        switch (parameterCount) {
+            case 0:
+                Arity0 arity0 = (Arity0) factory.invoke();
+                return (object, args) -> {
+                    arity0.invoke(object);
+                    return null;
+                };
+            case 1:
+                Arity1 arity1 = (Arity1) factory.invoke();
+                return (object, args) -> {
+                    arity1.invoke(object, args[0]);
+                    return null;
+                };
+            case 2:
+                Arity2 arity2 = (Arity2) factory.invoke();
+                return (object, args) -> {
+                    arity2.invoke(object, args[0], args[1]);
+                    return null;
+                };
+            case 3:
+                Arity3 arity3 = (Arity3) factory.invoke();
+                return (object, args) -> {
+                    arity3.invoke(object, args[0], args[1], args[2]);
+                    return null;
+                };
+            case 4:
+                Arity4 arity4 = (Arity4) factory.invoke();
+                return (object, args) -> {
+                    arity4.invoke(object, args[0], args[1], args[2], args[3]);
+                    return null;
+                };
+            case 5:
+                Arity5 arity5 = (Arity5) factory.invoke();
+                return (object, args) -> {
+                    arity5.invoke(object, args[0], args[1], args[2], args[3], args[4]);
+                    return null;
+                };
+            case 6:
+                Arity6 arity6 = (Arity6) factory.invoke();
+                return (object, args) -> {
+                    arity6.invoke(object, args[0], args[1], args[2], args[3], args[4], args[5]);
+                    return null;
+                };
+            case 7:
+                Arity7 arity7 = (Arity7) factory.invoke();
+                return (object, args) -> {
+                    arity7.invoke(object, args[0], args[1], args[2], args[3], args[4], args[5], args[6]);
+                    return null;
+                };
+            case 8:
+                Arity8 arity8 = (Arity8) factory.invoke();
+                return (object, args) -> {
+                    arity8.invoke(object, args[0], args[1], args[2], args[3], args[4], args[5], args[6], args[7]);
+                    return null;
+                };
+            default:
+                throw new IllegalArgumentException(
+                        "method handle has too many parameters."
+                );
+        }
+    }
+
+    /**
+     * This method binds the specified method to an {@link IInvoker} which delegates to
+     * {@link Method#invoke(Object, Object...)}.<br>
+     * Any <code>Throwable</code> thrown by the underlying method is rethrown wrapped in an
+     * {@link java.lang.reflect.InvocationTargetException}.
+     *
+     * @param method the method.
+     * @return the invoker.
+     */
+    public static IInvoker toReflectiveInvoker(Method method) {
+        assert method != null;
+        return method::invoke;
+    }
+
+    /**
+     * Functional interface implemented by the classes generated for void methods with 0 parameters.
+     */
+    public interface Arity0 {
+        void invoke(Object object);
+    }
+
+    /**
+     * Functional interface implemented by the classes generated for void methods with 1 parameter.
+     */
+    public interface Arity1 {
+        void invoke(Object object, Object arg0);
+    }
+
+    /**
+     * Functional interface implemented by the classes generated for void methods with 2 parameters.
+     */
+    public interface Arity2 {
+        void invoke(Object object, Object arg0, Object arg1);
+    }
+
+    /**
+     * Functional interface implemented by the classes generated for void methods with 3 parameters.
+     */
+    public interface Arity3 {
+        void invoke(Object object, Object arg0, Object arg1, Object arg2);
+    }
+
+    /**
+     * Functional interface implemented by the classes generated for void methods with 4 parameters.
+     */
+    public interface Arity4 {
+        void invoke(Object object, Object arg0, Object arg1, Object arg2, Object arg3);
+    }
+
+    /**
+     * Functional interface implemented by the classes generated for void methods with 5 parameters.
+     */
+    public interface Arity5 {
+        void invoke(Object object, Object arg0, Object arg1, Object arg2, Object arg3, Object arg4);
+    }
+
+    /**
+     * Functional interface implemented by the classes generated for void methods with 6 parameters.
+     */
+    public interface Arity6 {
+        void invoke(Object object, Object arg0, Object arg1, Object arg2, Object arg3, Object arg4, Object arg5);
+    }
+
+    /**
+     * Functional interface implemented by the classes generated for void methods with 7 parameters.
+     */
+    public interface Arity7 {
+        void invoke(Object object, Object arg0, Object arg1, Object arg2, Object arg3, Object arg4, Object arg5, Object arg6);
+    }
+
+    /**
+     * Functional interface implemented by the classes generated for void methods with 8 parameters.
+     */
+    public interface Arity8 {
+        void invoke(Object object, Object arg0, Object arg1, Object arg2, Object arg3, Object arg4, Object arg5, Object arg6, Object arg7);
+    }
+}
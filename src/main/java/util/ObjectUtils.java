@@ -1,6 +1,7 @@
 package util;
 
 import exception.ParseException;
+import iface.IConverter;
 
 import java.lang.reflect.Type;
 
@@ -16,8 +17,7 @@ public class ObjectUtils {
      * @param value the value.
      * @return an object.
      * @throws IllegalArgumentException in the event of a null specified value.
-     * @throws ParseException in the event of a {@link java.lang.NumberFormatException} being thrown during
-     * parsing.
+     * @throws ParseException in the event of the value not being parsable into an object of the specified type.
      */
     public static Object toObject(Type type, String value)
             throws IllegalArgumentException, ParseException
@@ -27,110 +27,82 @@ public class ObjectUtils {
                     "value must not be null."
             );
 
+        return toObject(type, value, 0, value.length());
+    }
+
+    /**
+     * This method parses the slice of the specified value which starts at the specified offset and spans the
+     * specified length into an object of the specified type.<br>
+     * Integral types are parsed directly from the slice, without creating an intermediate <code>String</code>.
+     *
+     * @param type the type.
+     * @param value the value.
+     * @param offset the offset of the slice.
+     * @param length the length of the slice.
+     * @return an object.
+     * @throws IllegalArgumentException in the event of a null specified value.
+     * @throws ParseException in the event of the slice not being parsable into an object of the specified type.
+     */
+    public static Object toObject(Type type, CharSequence value, int offset, int length)
+            throws IllegalArgumentException, ParseException
+    {
+        if (value == null)
+            throw new IllegalArgumentException(
+                    "value must not be null."
+            );
+
+        Object object = toConverter(type).convert(value, offset, length);
+
+        if (object == IConverter.FAILURE) {
+            throw new ParseException(
+                    "could not parse '" + value.subSequence(offset, offset + length) + "' into " +
+                            toDescription(type) + "."
+            );
+        }
+        return object;
+    }
+
+    /**
+     * This method resolves the {@link IConverter} which parses values into objects of the specified type.<br>
+     * Resolving a converter once, and reusing it for every value, avoids comparing the name of the type on every
+     * call to {@link #toObject(Type, CharSequence, int, int)}.<br>
+     * The returned converter reports values which can not be parsed by returning {@link IConverter#FAILURE},
+     * and does not throw or catch any exceptions while doing so.
+     *
+     * @param type the type.
+     * @return the converter.
+     * @throws IllegalArgumentException in the event of a specified type not being a primitive datatype or wrapper class.
+     */
+    public static IConverter toConverter(Type type)
+            throws IllegalArgumentException
+    {
         switch (type.getTypeName()) {
             case "java.lang.String":
-                return value;
+                return ObjectUtils::toString;
             case "char":
             case "java.lang.Character":
-                if (value.length() == 1)
-                {
-                    return value.charAt(0);
-                }
-                else
-                {
-                    throw new ParseException(
-                            "could not parse '" + value + "' into a char."
-                    );
-                }
+                return ObjectUtils::toChar;
             case "int":
             case "java.lang.Integer":
-                try
-                {
-                    return Integer.parseInt(value);
-                }
-                catch (NumberFormatException ex)
-                {
-                    throw new ParseException(
-                            "could not parse '" + value + "' into an int."
-                    );
-                }
+                return ObjectUtils::toInt;
             case "short":
             case "java.lang.Short":
-                try
-                {
-                    return Short.parseShort(value);
-                }
-                catch (NumberFormatException ex)
-                {
-                    throw new ParseException(
-                            "could not parse '" + value + "' into a short."
-                    );
-                }
+                return ObjectUtils::toShort;
             case "boolean":
             case "java.lang.Boolean":
-                if (value.toLowerCase().equals("true") ||
-                        value.toLowerCase().equals("false") ||
-                        value.toLowerCase().equals("y") ||
-                        value.toLowerCase().equals("n") ||
-                        value.toLowerCase().equals("yes") ||
-                        value.toLowerCase().equals("no"))
-                {
-                    return Boolean.parseBoolean(value);
-                }
-                else
-                {
-                    throw new ParseException(
-                            "could not parse '" + value + "' into a boolean."
-                    );
-                }
+                return ObjectUtils::toBoolean;
             case "double":
             case "java.lang.Double":
-                try
-                {
-                    return Double.parseDouble(value);
-                }
-                catch (NumberFormatException ex)
-                {
-                    throw new ParseException(
-                            "could not parse '" + value + "' into a double."
-                    );
-                }
+                return ObjectUtils::toDouble;
             case "float":
             case "java.lang.Float":
-                try
-                {
-                    return Float.parseFloat(value);
-                }
-                catch (NumberFormatException ex)
-                {
-                    throw new ParseException(
-                            "could not parse '" + value + "' into a float."
-                    );
-                }
+                return ObjectUtils::toFloat;
             case "long":
             case "java.lang.Long":
-                try
-                {
-                    return Long.parseLong(value);
-                }
-                catch (NumberFormatException ex)
-                {
-                    throw new ParseException(
-                            "could not parse '" + value + "' into a long."
-                    );
-                }
+                return ObjectUtils::toLong;
             case "byte":
             case "java.lang.Byte":
-                try
-                {
-                    return Byte.parseByte(value);
-                }
-                catch (NumberFormatException ex)
-                {
-                    throw new ParseException(
-                            "could not parse '" + value + "' into a byte."
-                    );
-                }
+                return ObjectUtils::toByte;
         }
 
         throw new IllegalArgumentException(
@@ -180,4 +152,293 @@ public class ObjectUtils {
                 "type must be a primitive or wrapper class."
         );
     }
+
+    /**
+     * This method returns a description of the specified type, as used in the message of a {@link ParseException},
+     * such as "an int" or "a boolean".
+     *
+     * @param type the type.
+     * @return the description.
+     */
+    public static String toDescription(Type type) {
+        switch (type.getTypeName()) {
+            case "java.lang.String":
+                return "a string";
+            case "char":
+            case "java.lang.Character":
+                return "a char";
+            case "int":
+            case "java.lang.Integer":
+                return "an int";
+            default:
+                String name = type.getTypeName().replace("java.lang.", "").toLowerCase();
+                return "a " + name;
+        }
+    }
+
+    /**
+     * {@link IConverter} which parses the slice of the specified value into a <code>String</code>.
+     */
+    private static Object toString(CharSequence value, int offset, int length) {
+        return value.subSequence(offset, offset + length).toString();
+    }
+
+    /**
+     * {@link IConverter} which parses the slice of the specified value into a <code>char</code>.
+     */
+    private static Object toChar(CharSequence value, int offset, int length) {
+        return length == 1 ? (Object) value.charAt(offset) : IConverter.FAILURE;
+    }
+
+    /**
+     * {@link IConverter} which parses the slice of the specified value into an <code>int</code>.
+     */
+    private static Object toInt(CharSequence value, int offset, int length) {
+        return isIntegral(value, offset, length, Integer.MIN_VALUE, Integer.MAX_VALUE) ?
+                (Object) (int) parseIntegral(value, offset, length) : IConverter.FAILURE;
+    }
+
+    /**
+     * {@link IConverter} which parses the slice of the specified value into a <code>short</code>.
+     */
+    private static Object toShort(CharSequence value, int offset, int length) {
+        return isIntegral(value, offset, length, Short.MIN_VALUE, Short.MAX_VALUE) ?
+                (Object) (short) parseIntegral(value, offset, length) : IConverter.FAILURE;
+    }
+
+    /**
+     * {@link IConverter} which parses the slice of the specified value into a <code>byte</code>.
+     */
+    private static Object toByte(CharSequence value, int offset, int length) {
+        return isIntegral(value, offset, length, Byte.MIN_VALUE, Byte.MAX_VALUE) ?
+                (Object) (byte) parseIntegral(value, offset, length) : IConverter.FAILURE;
+    }
+
+    /**
+     * {@link IConverter} which parses the slice of the specified value into a <code>long</code>.
+     */
+    private static Object toLong(CharSequence value, int offset, int length) {
+        return isIntegral(value, offset, length, Long.MIN_VALUE, Long.MAX_VALUE) ?
+                (Object) parseIntegral(value, offset, length) : IConverter.FAILURE;
+    }
+
+    /**
+     * {@link IConverter} which parses the slice of the specified value into a <code>boolean</code>,
+     * accepting true, false, y, n, yes and no in any case.
+     */
+    private static Object toBoolean(CharSequence value, int offset, int length) {
+        switch (length) {
+            case 1:
+                if (equalsIgnoreCase("y", value, offset, length) || equalsIgnoreCase("n", value, offset, length))
+                    return false;
+                break;
+            case 2:
+                if (equalsIgnoreCase("no", value, offset, length))
+                    return false;
+                break;
+            case 3:
+                if (equalsIgnoreCase("yes", value, offset, length))
+                    return false;
+                break;
+            case 4:
+                if (equalsIgnoreCase("true", value, offset, length))
+                    return true;
+                break;
+            case 5:
+                if (equalsIgnoreCase("false", value, offset, length))
+                    return false;
+                break;
+        }
+        return IConverter.FAILURE;
+    }
+
+    /**
+     * {@link IConverter} which parses the slice of the specified value into a <code>double</code>.
+     */
+    private static Object toDouble(CharSequence value, int offset, int length) {
+        String s = toFloatingPoint(value, offset, length);
+        return s != null ? (Object) Double.parseDouble(s) : IConverter.FAILURE;
+    }
+
+    /**
+     * {@link IConverter} which parses the slice of the specified value into a <code>float</code>.
+     */
+    private static Object toFloat(CharSequence value, int offset, int length) {
+        String s = toFloatingPoint(value, offset, length);
+        return s != null ? (Object) Float.parseFloat(s) : IConverter.FAILURE;
+    }
+
+    /**
+     * Evaluates and determines whether the slice of the specified value is an optionally signed sequence of decimal
+     * digits, whose value lies within the specified range.
+     *
+     * @param value the value.
+     * @param offset the offset of the slice.
+     * @param length the length of the slice.
+     * @param min the minimum value.
+     * @param max the maximum value.
+     * @return <code>true</code> if the slice is an integral within the range,<br>
+     * <code>false</code> if the slice is not an integral, or is out of the range.
+     */
+    private static boolean isIntegral(CharSequence value, int offset, int length, long min, long max) {
+        int end = offset + length;
+        int i = offset;
+        boolean negative = false;
+
+        if (i < end && (value.charAt(i) == '-' || value.charAt(i) == '+')) {
+            negative = value.charAt(i++) == '-';
+        }
+        if (i == end) {
+            return false;
+        }
+        long limit = negative ? min : -max;
+        long multiplicationLimit = limit / 10;
+        long result = 0;
+
+        // accumulates negatively, as Long.MIN_VALUE has no positive counterpart.
+        for (; i < end; i++) {
+            int digit = value.charAt(i) - '0';
+            if (digit < 0 || digit > 9 || result < multiplicationLimit) {
+                return false;
+            }
+            result *= 10;
+            if (result < limit + digit) {
+                return false;
+            }
+            result -= digit;
+        }
+        return true;
+    }
+
+    /**
+     * Parses the slice of the specified value, which needs to have been validated by
+     * {@link #isIntegral(CharSequence, int, int, long, long)}, into a <code>long</code>.
+     *
+     * @param value the value.
+     * @param offset the offset of the slice.
+     * @param length the length of the slice.
+     * @return the <code>long</code>.
+     */
+    private static long parseIntegral(CharSequence value, int offset, int length) {
+        int end = offset + length;
+        int i = offset;
+        boolean negative = false;
+
+        if (value.charAt(i) == '-' || value.charAt(i) == '+') {
+            negative = value.charAt(i++) == '-';
+        }
+        long result = 0;
+        for (; i < end; i++) {
+            result = result * 10 - (value.charAt(i) - '0');
+        }
+        return negative ? result : -result;
+    }
+
+    /**
+     * Returns the slice of the specified value as a <code>String</code>, if it is a floating point literal.<br>
+     * Literals in the common decimal form are validated without parsing them. Only literals which could still
+     * be accepted by {@link Double#parseDouble(String)} despite not being in that form, such as NaN, Infinity,
+     * hexadecimal literals and literals with a type suffix, are validated by parsing them, which is the only case
+     * in which an exception may be thrown and caught.
+     *
+     * @param value the value.
+     * @param offset the offset of the slice.
+     * @param length the length of the slice.
+     * @return the slice, or <code>null</code> if the slice is not a floating point literal.
+     */
+    private static String toFloatingPoint(CharSequence value, int offset, int length) {
+        int end = offset + length;
+        int i = offset;
+
+        if (i < end && (value.charAt(i) == '-' || value.charAt(i) == '+')) {
+            i++;
+        }
+        int digits = 0;
+        for (; i < end && isDigit(value.charAt(i)); i++) {
+            digits++;
+        }
+        if (i < end && value.charAt(i) == '.') {
+            for (i++; i < end && isDigit(value.charAt(i)); i++) {
+                digits++;
+            }
+        }
+        if (digits > 0 && i < end && (value.charAt(i) == 'e' || value.charAt(i) == 'E')) {
+            i++;
+            if (i < end && (value.charAt(i) == '-' || value.charAt(i) == '+')) {
+                i++;
+            }
+            int start = i;
+            while (i < end && isDigit(value.charAt(i))) {
+                i++;
+            }
+            if (start == i) {
+                i = -1;
+            }
+        }
+        if (digits > 0 && i == end) {
+            return value.subSequence(offset, end).toString();
+        }
+        if (!isSpecialFloatingPoint(value, offset, end)) {
+            return null;
+        }
+        String s = value.subSequence(offset, end).toString();
+        try
+        {
+            Double.parseDouble(s);
+            return s;
+        }
+        catch (NumberFormatException ex)
+        {
+            return null;
+        }
+    }
+
+    /**
+     * Evaluates and determines whether the slice of the specified value, which is not a floating point literal in
+     * the common decimal form, could still be accepted by {@link Double#parseDouble(String)}.
+     */
+    private static boolean isSpecialFloatingPoint(CharSequence value, int offset, int end) {
+        if (end == offset) {
+            return false;
+        }
+        char last = value.charAt(end - 1);
+        if (last == 'd' || last == 'D' || last == 'f' || last == 'F' ||
+                Character.isWhitespace(value.charAt(offset)) || Character.isWhitespace(last)) {
+            return true;
+        }
+        for (int i = offset; i < end; i++) {
+            char c = value.charAt(i);
+            if (c == 'N' || c == 'I' || c == 'x' || c == 'X') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * Evaluates and determines whether the slice of the specified value is equal to the specified string,
+     * ignoring case.
+     *
+     * @param s the string.
+     * @param value the value.
+     * @param offset the offset of the slice.
+     * @param length the length of the slice.
+     * @return <code>true</code> if the slice is equal to the string, ignoring case,<br>
+     * <code>false</code> if the slice is not equal to the string, ignoring case.
+     */
+    private static boolean equalsIgnoreCase(String s, CharSequence value, int offset, int length) {
+        if (s.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (Character.toLowerCase(value.charAt(offset + i)) != s.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
 }
@@ -64,6 +64,39 @@ public class StringUtils {
                 .concat(")");
     }
 
+    /**
+     * Returns the Levenshtein distance between the specified strings, which is the least number of single character
+     * insertions, deletions and substitutions needed to turn one string into the other.
+     *
+     * @param s the first string.
+     * @param t the second string.
+     * @return the edit distance between the specified strings.
+     */
+    public static int editDistance(String s, String t) {
+        if (s.length() < t.length()) {
+            String tmp = s;
+            s = t;
+            t = tmp;
+        }
+        int[] previous = new int[t.length() + 1];
+        int[] current = new int[t.length() + 1];
+        for (int j = 0; j <= t.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= s.length(); i++) {
+            current[0] = i;
+            char c = s.charAt(i - 1);
+            for (int j = 1; j <= t.length(); j++) {
+                int substitution = previous[j - 1] + (c == t.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+            }
+            int[] tmp = previous;
+            previous = current;
+            current = tmp;
+        }
+        return previous[t.length()];
+    }
+
     /**
      * This method is used by this class's permute method.
      *
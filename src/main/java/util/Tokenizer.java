@@ -0,0 +1,173 @@
+package util;
+
+import java.util.Arrays;
+
+/**
+ * This class scans an input once, and locates the value following each of a set of keywords as an
+ * (offset, length) slice of the input, rather than as a substring.<br>
+ * Tokens are separated by one or more whitespace characters, and a value may be enclosed in double or single
+ * quotes, in which case it may contain whitespace characters, and its slice excludes the quotes.
+ */
+public final class Tokenizer {
+
+    private final int skip;
+
+    private final String[] keywords;
+
+    /**
+     * Constructs a new tokenizer for the specified keywords.
+     *
+     * @param skip the number of leading tokens, such as controller and command keywords, which are never
+     * interpreted as keywords.
+     * @param keywords the keywords whose values are to be located.
+     */
+    public Tokenizer(int skip, String... keywords) {
+        this.skip = skip;
+        this.keywords = keywords;
+    }
+
+    /**
+     * Scans the specified input and returns the slices of the values which follow this tokenizer's keywords.<br>
+     * Element <code>2 * i</code> of the returned array holds the offset, and element <code>2 * i + 1</code> the
+     * length, of the value following the keyword at index <code>i</code>.
+     * If a keyword is not present in the input, or ends the input, its offset is <code>-1</code>. A keyword which is
+     * followed by whitespace only, or by an empty quoted value such as <code>""</code>, is present with an empty
+     * value, whose length is <code>0</code>.
+     * If a keyword is present more than once, the first value is located.
+     *
+     * @param input the input to be scanned.
+     * @return the slices.
+     */
+    public int[] tokenize(CharSequence input) {
+        int[] slices = new int[keywords.length * 2];
+        Arrays.fill(slices, -1);
+        int pos = 0;
+
+        for (int i = 0; i < skip; i++) {
+            pos = tokenEnd(input, skipWhitespace(input, pos));
+        }
+
+        while (true) {
+            int start = skipWhitespace(input, pos);
+            if (start == input.length()) {
+                break;
+            }
+            pos = tokenEnd(input, start);
+            int index = indexOf(input, start, pos);
+
+            if (index != -1) {
+                boolean separated = pos < input.length();
+                start = skipWhitespace(input, pos);
+                pos = tokenEnd(input, start);
+
+                if (separated && slices[2 * index] == -1) {
+                    slices[2 * index] = valueStart(input, start, pos);
+                    slices[2 * index + 1] = valueEnd(input, start, pos) - slices[2 * index];
+                }
+            }
+        }
+        return slices;
+    }
+
+    /**
+     * Returns the index of the first non-whitespace character of the specified input at or after the
+     * specified position.
+     *
+     * @param input the input.
+     * @param pos the position.
+     * @return the index, or the length of the input if only whitespace characters follow the position.
+     */
+    public static int skipWhitespace(CharSequence input, int pos) {
+        while (pos < input.length() && Character.isWhitespace(input.charAt(pos))) {
+            pos++;
+        }
+        return pos;
+    }
+
+    /**
+     * Returns the end (exclusive) of the token starting at the specified position.<br>
+     * If the token starts with a double or single quote, it ends after the matching closing quote,
+     * or at the end of the input if there is none.
+     *
+     * @param input the input.
+     * @param start the start of the token.
+     * @return the end of the token.
+     */
+    public static int tokenEnd(CharSequence input, int start) {
+        int pos = start;
+
+        if (pos < input.length() && isQuote(input.charAt(pos))) {
+            char quote = input.charAt(pos++);
+            while (pos < input.length() && input.charAt(pos) != quote) {
+                pos++;
+            }
+            return Math.min(pos + 1, input.length());
+        }
+        while (pos < input.length() && !Character.isWhitespace(input.charAt(pos))) {
+            pos++;
+        }
+        return pos;
+    }
+
+    /**
+     * Returns the start of the value held by the token spanning the specified range, excluding any opening quote.
+     *
+     * @param input the input.
+     * @param start the start of the token.
+     * @param end the end of the token.
+     * @return the start of the value.
+     */
+    public static int valueStart(CharSequence input, int start, int end) {
+        return start < end && isQuote(input.charAt(start)) ? start + 1 : start;
+    }
+
+    /**
+     * Returns the end (exclusive) of the value held by the token spanning the specified range,
+     * excluding any closing quote.
+     *
+     * @param input the input.
+     * @param start the start of the token.
+     * @param end the end of the token.
+     * @return the end of the value.
+     */
+    public static int valueEnd(CharSequence input, int start, int end) {
+        return end - start >= 2 && isQuote(input.charAt(start)) && input.charAt(end - 1) == input.charAt(start)
+                ? end - 1 : end;
+    }
+
+    /**
+     * Evaluates and determines whether the region of the specified input spanning the specified range is equal to
+     * the specified string.
+     *
+     * @param s the string.
+     * @param input the input.
+     * @param start the start of the region.
+     * @param end the end (exclusive) of the region.
+     * @return <code>true</code> if the region is equal to the string,<br>
+     * <code>false</code> if the region is not equal to the string.
+     */
+    public static boolean regionEquals(String s, CharSequence input, int start, int end) {
+        if (s.length() != end - start) {
+            return false;
+        }
+        for (int i = 0; i < s.length(); i++) {
+            if (s.charAt(i) != input.charAt(start + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int indexOf(CharSequence input, int start, int end) {
+        for (int i = 0; i < keywords.length; i++) {
+            if (regionEquals(keywords[i], input, start, end)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isQuote(char c) {
+        return c == '"' || c == '\'';
+    }
+}
@@ -1,5 +1,5 @@
 /**
  * This package declares utility methods for working with the annotations declared in the
- * {@link annotation} package, <code>Objects</code>, and <code>Strings</code>.
+ * {@link annotation} package, <code>Methods</code>, <code>Objects</code>, and <code>Strings</code>.
  */
 package util;
\ No newline at end of file
@@ -0,0 +1,346 @@
+package processor;
+
+import javax.annotation.processing.*;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.*;
+
+/**
+ * This annotation processor reads the <code>annotation.Controller</code>, <code>annotation.Command</code> and
+ * <code>annotation.Arg</code> annotations at compile time, and generates an <code>iface.IRegistry</code> implementation
+ * which <code>config.Builder</code> loads instead of scanning the class path.<br>
+ * The registry defines every command by the values of its annotations, and invokes public methods
+ * directly, rather than reflectively.<br>
+ * The rules <code>config.Configuration</code> enforces at runtime are enforced at compile time, and reported as
+ * errors on the offending elements.<br>
+ * The generated registry is named by the <code>cli.registry</code> option, and otherwise named
+ * <code>CommandRegistry</code>, in the package of the first controller.
+ * The processor refers to the annotations by name, so that it does not depend on the library itself.
+ */
+@SupportedAnnotationTypes("annotation.Controller")
+@SupportedOptions(CommandProcessor.REGISTRY_OPTION)
+public class CommandProcessor extends AbstractProcessor {
+
+    /**
+     * The option which names the generated registry.
+     */
+    static final String REGISTRY_OPTION = "cli.registry";
+
+    private static final String CONTROLLER = "annotation.Controller";
+
+    private static final String COMMAND = "annotation.Command";
+
+    private static final String ARG = "annotation.Arg";
+
+    private static final String CONSOLE = "iface.IConsole";
+
+    /**
+     * The return types, other than void, of the methods which may be annotated with <code>annotation.Command</code>.
+     */
+    private static final String[] RETURN_TYPES = {
+            "java.util.concurrent.CompletionStage", "java.util.stream.BaseStream", "java.util.Iterator",
+            "java.lang.Iterable"
+    };
+
+    private static final Set<String> WRAPPERS = new HashSet<>(Arrays.asList(
+            "java.lang.String", "java.lang.Boolean", "java.lang.Character", "java.lang.Byte", "java.lang.Short",
+            "java.lang.Integer", "java.lang.Long", "java.lang.Float", "java.lang.Double"
+    ));
+
+    private static final int MAX_ARGUMENTS = Long.SIZE;
+
+    private final Set<String> regexSet = new HashSet<>();
+
+    private final List<String> registries = new ArrayList<>();
+
+    private Elements elements;
+
+    private Types types;
+
+    private Messager messager;
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        this.elements = processingEnv.getElementUtils();
+        this.types = processingEnv.getTypeUtils();
+        this.messager = processingEnv.getMessager();
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            writeServiceFile();
+            return false;
+        }
+        TypeElement controllerAnnotation = elements.getTypeElement(CONTROLLER);
+        if (controllerAnnotation == null) {
+            return false;
+        }
+        List<TypeElement> controllers = new ArrayList<>();
+        for (Element element : roundEnv.getElementsAnnotatedWith(controllerAnnotation)) {
+            if (element.getKind() != ElementKind.CLASS) {
+                error("only classes may be annotated with @Controller.", element);
+                continue;
+            }
+            controllers.add((TypeElement) element);
+        }
+        if (controllers.isEmpty()) {
+            return false;
+        }
+        controllers.sort(Comparator.comparing(type -> type.getQualifiedName().toString()));
+
+        RegistryWriter writer = new RegistryWriter();
+        boolean valid = true;
+        for (TypeElement controller : controllers) {
+            valid &= define(controller, writer);
+        }
+        if (valid) {
+            write(controllers.get(0), writer);
+        }
+        return false;
+    }
+
+    /**
+     * Validates the specified controller, and adds the definitions of its commands to the specified writer.
+     *
+     * @param controller the controller.
+     * @param writer the writer.
+     * @return <code>true</code> if the controller is valid,<br>
+     * <code>false</code> if an error was reported.
+     */
+    private boolean define(TypeElement controller, RegistryWriter writer) {
+        boolean valid = validateConstructors(controller);
+        AnnotationMirror controllerMirror = mirror(controller, CONTROLLER);
+        String controllerKeyword = keyword(controllerMirror,
+                controller.getSimpleName().toString().toLowerCase().split("controller", 2)[0]);
+        boolean ignoreKeyword = (Boolean) value(controllerMirror, "ignoreKeyword");
+        writer.controller(controller.getQualifiedName().toString());
+
+        for (ExecutableElement method : ElementFilter.methodsIn(controller.getEnclosedElements())) {
+            if (method.getModifiers().contains(Modifier.STATIC)) {
+                valid = error("method annotated with @Command may not be static.", method);
+                continue;
+            }
+            boolean returns = method.getReturnType().getKind() != TypeKind.VOID;
+            if (returns && !isReturnable(method.getReturnType())) {
+                valid = error("method annotated with @Command must be void, or return a CompletionStage, " +
+                        "a Stream, an Iterator or an Iterable.", method);
+                continue;
+            }
+            AnnotationMirror commandMirror = mirror(method, COMMAND);
+            if (commandMirror == null) {
+                continue;
+            }
+            List<? extends VariableElement> parameters = method.getParameters();
+            String[] keywords = new String[parameters.size()];
+            boolean[] optional = new boolean[parameters.size()];
+            String[] parameterTypes = new String[parameters.size()];
+            // sorted, as the configuration matches the arguments of an input in any order.
+            Set<String> nonOptionalKeywords = new TreeSet<>();
+
+            for (int i = 0; i < parameters.size(); i++) {
+                VariableElement parameter = parameters.get(i);
+                TypeMirror type = parameter.asType();
+                if (!isPrimitive(type)) {
+                    valid = error("parameter of method annotated with @Command must be primitive.", parameter);
+                    continue;
+                }
+                AnnotationMirror argMirror = mirror(parameter, ARG);
+                keywords[i] = keyword(argMirror, parameter.getSimpleName().toString().toLowerCase());
+                optional[i] = argMirror != null && (Boolean) value(argMirror, "optional");
+                parameterTypes[i] = types.erasure(type).toString();
+                if (!optional[i]) {
+                    nonOptionalKeywords.add(keywords[i]);
+                }
+            }
+            String keyword = keyword(commandMirror, method.getSimpleName().toString().toLowerCase());
+            String prefix = (ignoreKeyword ? "" : controllerKeyword + "\\s") + keyword;
+
+            if (!regexSet.add(prefix + " " + nonOptionalKeywords)) {
+                valid = error("the final regex pattern derived from a method annotated with @Command, " +
+                        "and it's non-optional arguments must be distinct.", method);
+            }
+            if (keywords.length > MAX_ARGUMENTS) {
+                warning("method annotated with @Command may not declare more than " + MAX_ARGUMENTS +
+                        " parameters when the STRUCTURAL binding mode is used.", method);
+            }
+            else if (new HashSet<>(Arrays.asList(keywords)).size() != keywords.length) {
+                warning("the keywords of the parameters of a method annotated with @Command must be distinct " +
+                        "when the STRUCTURAL binding mode is used.", method);
+            }
+            String noMatch = (String) value(commandMirror, "noMatch");
+            writer.command(controller.getQualifiedName().toString(), ignoreKeyword ? null : controllerKeyword,
+                    keyword, noMatch.isEmpty() ? null : noMatch, method.getSimpleName().toString(),
+                    parameterTypes, keywords, optional,
+                    method.getModifiers().contains(Modifier.PUBLIC), returns);
+        }
+        return valid;
+    }
+
+    /**
+     * Validates that the specified controller can be instantiated by <code>config.Builder</code>, which requires it
+     * and its enclosing classes to be public, and to declare either a public constructor which takes an
+     * <code>iface.IConsole</code> as its only parameter, or a public default/un-parameterized constructor.
+     */
+    private boolean validateConstructors(TypeElement controller) {
+        if (!isAccessible(controller)) {
+            return error("class annotated with @Controller, and its enclosing classes, must be public.", controller);
+        }
+        if (controller.getNestingKind() == NestingKind.MEMBER &&
+                !controller.getModifiers().contains(Modifier.STATIC)) {
+            return error("class annotated with @Controller may not be an inner class.", controller);
+        }
+        TypeElement console = elements.getTypeElement(CONSOLE);
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(controller.getEnclosedElements())) {
+            if (!constructor.getModifiers().contains(Modifier.PUBLIC)) {
+                continue;
+            }
+            List<? extends VariableElement> parameters = constructor.getParameters();
+            if (parameters.isEmpty() || (parameters.size() == 1 && console != null &&
+                    types.isAssignable(parameters.get(0).asType(), console.asType()))) {
+                return true;
+            }
+        }
+        return error(controller.getSimpleName() + " could not be instantiated due to the fact it " +
+                "neither has a default/un-parameterized constructor, nor a constructor " +
+                "which takes an instance of a class which implements the IConsole interface " +
+                "as its only parameter.", controller);
+    }
+
+    /**
+     * Writes the registry of the specified writer, naming it after the {@link #REGISTRY_OPTION} option, or after
+     * the package of the specified controller.
+     */
+    private void write(TypeElement controller, RegistryWriter writer) {
+        String name = processingEnv.getOptions().get(REGISTRY_OPTION);
+        if (name == null) {
+            String packageName = elements.getPackageOf(controller).getQualifiedName().toString();
+            name = (packageName.isEmpty() ? "" : packageName + ".") + "CommandRegistry";
+        }
+        if (!registries.isEmpty()) {
+            name = name + (registries.size() + 1);
+        }
+        try (Writer out = processingEnv.getFiler().createSourceFile(name).openWriter()) {
+            writer.write(out, name);
+            registries.add(name);
+        }
+        catch (IOException ex) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "could not write " + name + ": " + ex.getMessage());
+        }
+    }
+
+    /**
+     * Lists every generated registry in a <code>META-INF/services/iface.IRegistry</code> file, through which
+     * <code>config.Builder</code> locates them.
+     */
+    private void writeServiceFile() {
+        if (registries.isEmpty()) {
+            return;
+        }
+        try {
+            FileObject file = processingEnv.getFiler()
+                    .createResource(StandardLocation.CLASS_OUTPUT, "", "META-INF/services/iface.IRegistry");
+            try (Writer out = file.openWriter()) {
+                for (String registry : registries) {
+                    out.write(registry);
+                    out.write("\n");
+                }
+            }
+        }
+        catch (IOException ex) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "could not write the registry service file: " +
+                    ex.getMessage());
+        }
+    }
+
+    /**
+     * Returns the lower case keyword of the specified annotation, or the specified default keyword if the
+     * annotation is absent or its keyword is empty.
+     */
+    private String keyword(AnnotationMirror mirror, String defaultKeyword) {
+        String keyword = mirror == null ? "" : ((String) value(mirror, "keyword")).toLowerCase();
+        return keyword.isEmpty() ? defaultKeyword : keyword;
+    }
+
+    private Object value(AnnotationMirror mirror, String name) {
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry :
+                elements.getElementValuesWithDefaults(mirror).entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(name)) {
+                return entry.getValue().getValue();
+            }
+        }
+        throw new IllegalStateException("@" + mirror.getAnnotationType() + " declares no element " + name + ".");
+    }
+
+    private static AnnotationMirror mirror(Element element, String annotation) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(annotation)) {
+                return mirror;
+            }
+        }
+        return null;
+    }
+
+    private boolean isPrimitive(TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return true;
+        }
+        return type.getKind() == TypeKind.DECLARED && WRAPPERS.contains(types.erasure(type).toString());
+    }
+
+    /**
+     * Evaluates and determines whether the specified return type is one of the {@link #RETURN_TYPES}, whose values
+     * are reported by <code>config.Configuration</code>.
+     */
+    private boolean isReturnable(TypeMirror type) {
+        if (type.getKind() != TypeKind.DECLARED) {
+            return false;
+        }
+        for (String name : RETURN_TYPES) {
+            TypeElement element = elements.getTypeElement(name);
+            if (element != null && types.isAssignable(types.erasure(type), types.erasure(element.asType()))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Evaluates and determines whether the specified type and all of its enclosing types are public.
+     */
+    private static boolean isAccessible(TypeElement type) {
+        Element element = type;
+        while (element instanceof TypeElement) {
+            if (!element.getModifiers().contains(Modifier.PUBLIC)) {
+                return false;
+            }
+            element = element.getEnclosingElement();
+        }
+        return true;
+    }
+
+    private boolean error(String message, Element element) {
+        messager.printMessage(Diagnostic.Kind.ERROR, message, element);
+        return false;
+    }
+
+    private void warning(String message, Element element) {
+        messager.printMessage(Diagnostic.Kind.WARNING, message, element);
+    }
+}
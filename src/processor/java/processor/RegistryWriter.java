@@ -0,0 +1,178 @@
+package processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class collects the controllers and command definitions found by the {@link CommandProcessor}, and writes
+ * them into the source of an <code>iface.IRegistry</code> implementation.<br>
+ * Public commands are invoked through lambdas which call the method directly, whereas other commands are looked
+ * up and invoked reflectively at runtime.
+ */
+final class RegistryWriter {
+
+    private static final String INDENT = "    ";
+
+    /**
+     * The qualified names of the controllers.
+     */
+    private final List<String> controllers = new ArrayList<>();
+
+    /**
+     * The expressions constructing each command definition.
+     */
+    private final List<String> commands = new ArrayList<>();
+
+    /**
+     * Adds the specified controller to the registry.
+     *
+     * @param qualifiedName the qualified name of the controller.
+     */
+    void controller(String qualifiedName) {
+        controllers.add(qualifiedName);
+    }
+
+    /**
+     * Adds the definition of a command to the registry.
+     *
+     * @param controller the qualified name of the controller declaring the command.
+     * @param controllerKeyword the keyword of the controller, or <code>null</code> if it is ignored.
+     * @param keyword the keyword of the command.
+     * @param noMatch the noMatch message of the command, or <code>null</code>.
+     * @param methodName the name of the method.
+     * @param parameterTypes the erased, qualified names of the types of the method's parameters.
+     * @param keywords the keywords of the method's parameters.
+     * @param optional whether each of the method's parameters is optional.
+     * @param direct whether the method may be invoked directly by the registry.
+     * @param returns whether the method returns a value, such as a <code>CompletionStage</code>, which is returned
+     * by the invoker.
+     */
+    void command(String controller, String controllerKeyword, String keyword, String noMatch, String methodName,
+                 String[] parameterTypes, String[] keywords, boolean[] optional, boolean direct, boolean returns) {
+        String indent = INDENT + INDENT + INDENT + INDENT;
+        StringBuilder command = new StringBuilder("new CommandDefinition(")
+                .append(controller).append(".class, ")
+                .append(literal(controllerKeyword)).append(", ")
+                .append(literal(keyword)).append(", ")
+                .append(literal(noMatch)).append(", ")
+                .append(literal(methodName)).append(",\n").append(indent);
+
+        command.append("new Class<?>[]{");
+        for (int i = 0; i < parameterTypes.length; i++) {
+            command.append(i == 0 ? "" : ", ").append(parameterTypes[i]).append(".class");
+        }
+        command.append("}, new String[]{");
+        for (int i = 0; i < keywords.length; i++) {
+            command.append(i == 0 ? "" : ", ").append(literal(keywords[i]));
+        }
+        command.append("}, new boolean[]{");
+        for (int i = 0; i < optional.length; i++) {
+            command.append(i == 0 ? "" : ", ").append(optional[i]);
+        }
+        command.append("},\n").append(indent);
+
+        if (direct) {
+            command.append("(object, args) -> {\n").append(indent).append(INDENT)
+                    .append(returns ? "return " : "")
+                    .append("((").append(controller).append(") object).").append(methodName).append("(");
+            for (int i = 0; i < parameterTypes.length; i++) {
+                command.append(i == 0 ? "" : ", ")
+                        .append("(").append(parameterTypes[i]).append(") args[").append(i).append("]");
+            }
+            command.append(");\n");
+            if (!returns) {
+                command.append(indent).append(INDENT).append("return null;\n");
+            }
+            command.append(indent).append("})");
+        }
+        else {
+            command.append("null)");
+        }
+        commands.add(command.toString());
+    }
+
+    /**
+     * Writes the source of the registry to the specified writer.
+     *
+     * @param out the writer.
+     * @param name the qualified name of the registry.
+     * @throws IOException in the event of the writer throwing.
+     */
+    void write(Writer out, String name) throws IOException {
+        int index = name.lastIndexOf('.');
+        String packageName = index == -1 ? "" : name.substring(0, index);
+        String simpleName = name.substring(index + 1);
+        StringBuilder source = new StringBuilder();
+
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        source.append("import iface.IRegistry;\n")
+                .append("import model.CommandDefinition;\n\n")
+                .append("import java.util.*;\n\n")
+                .append("/**\n")
+                .append(" * This class was generated by the processor.CommandProcessor annotation processor, ")
+                .append("and should not be edited.\n")
+                .append(" */\n")
+                .append("public final class ").append(simpleName).append(" implements IRegistry {\n\n");
+
+        source.append(INDENT).append("@Override\n")
+                .append(INDENT).append("public Set<Class<?>> controllers() {\n")
+                .append(INDENT).append(INDENT).append("Set<Class<?>> controllers = new LinkedHashSet<>();\n");
+        for (String controller : controllers) {
+            source.append(INDENT).append(INDENT).append("controllers.add(").append(controller).append(".class);\n");
+        }
+        source.append(INDENT).append(INDENT).append("return controllers;\n")
+                .append(INDENT).append("}\n\n");
+
+        source.append(INDENT).append("@Override\n")
+                .append(INDENT).append("public List<CommandDefinition> commands() {\n")
+                .append(INDENT).append(INDENT).append("List<CommandDefinition> commands = new ArrayList<>();\n");
+        for (String command : commands) {
+            source.append(INDENT).append(INDENT).append("commands.add(").append(command).append(");\n");
+        }
+        source.append(INDENT).append(INDENT).append("return commands;\n")
+                .append(INDENT).append("}\n")
+                .append("}\n");
+        out.write(source.toString());
+    }
+
+    /**
+     * Returns the specified string as a Java string literal, or <code>null</code> if it is <code>null</code>.
+     */
+    private static String literal(String s) {
+        if (s == null) {
+            return "null";
+        }
+        StringBuilder literal = new StringBuilder("\"");
+        for (char c : s.toCharArray()) {
+            switch (c) {
+                case '"':
+                    literal.append("\\\"");
+                    break;
+                case '\\':
+                    literal.append("\\\\");
+                    break;
+                case '\n':
+                    literal.append("\\n");
+                    break;
+                case '\r':
+                    literal.append("\\r");
+                    break;
+                case '\t':
+                    literal.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20 || c > 0x7e) {
+                        literal.append(String.format("\\u%04x", (int) c));
+                    }
+                    else {
+                        literal.append(c);
+                    }
+            }
+        }
+        return literal.append('"').toString();
+    }
+}